@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# 노드 시작 시간 비교: 기본 모드 vs fast-start 모드 (AOT + CDS)
+#  - 준비 시간: 로그의 "[startup] ready in ...ms" (JVM 시작 → ApplicationReadyEvent)
+#  - 트래픽 수신: 로그의 "[startup] accepting traffic in ...ms" (시작 워밍업 포함, /api/health/ready 가 200 이 되는 시점)
+#  - 첫 요청: 트래픽 수신 직후 FIRST_URL 한 번 호출에 걸린 시간 (curl time_total)
+#
+# 사전 준비: ./mvnw -Pfast-start -DskipTests package (DB 접속 설정 필요)
+# 사용법:   scripts/startup-bench.sh [반복 횟수=3] [포트=18080]
+#           JAVA_OPTS, FIRST_URL(기본 /api/scenarios) 로 조정 가능
+#           워밍업 없이 비교하려면 JAVA_OPTS=-Dstartup.warmup.enabled=false
+set -euo pipefail
+
+RUNS=${1:-3}
+PORT=${2:-18080}
+FIRST_URL=${FIRST_URL:-/api/scenarios}
+APP_DIR=target/application
+JAR=$(ls "$APP_DIR"/*.jar 2>/dev/null | head -1 || true)
+
+if [[ -z "$JAR" || ! -f "$APP_DIR/application.jsa" ]]; then
+  echo "target/application 이 없습니다. 먼저 ./mvnw -Pfast-start -DskipTests package 를 실행하세요." >&2
+  exit 1
+fi
+
+run_once() {
+  local mode=$1; shift
+  local log
+  log=$(mktemp)
+  java ${JAVA_OPTS:-} "$@" -Dserver.port="$PORT" -jar "$JAR" >"$log" 2>&1 &
+  local pid=$!
+
+  local ready="" serving=""
+  for _ in $(seq 1 1200); do
+    serving=$(grep -o 'accepting traffic in [0-9]*ms' "$log" | grep -o '[0-9]*' || true)
+    [[ -n "$serving" ]] && break
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "[$mode] 시작 실패, 로그: $log" >&2
+      return 1
+    fi
+    sleep 0.1
+  done
+
+  ready=$(grep -o 'ready in [0-9]*ms' "$log" | grep -o '[0-9]*' || true)
+  local first
+  first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT$FIRST_URL")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  printf '%-8s ready=%6sms  serving=%6sms  first=%6.0fms\n' "$mode" "$ready" "$serving" "$(awk "BEGIN{print $first*1000}")"
+}
+
+for i in $(seq 1 "$RUNS"); do
+  run_once default
+  run_once fast -XX:SharedArchiveFile="$APP_DIR/application.jsa" -Dspring.aot.enabled=true
+done
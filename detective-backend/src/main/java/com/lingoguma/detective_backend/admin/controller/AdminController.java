@@ -1,28 +1,67 @@
 package com.lingoguma.detective_backend.admin.controller;
 
+import com.lingoguma.detective_backend.admin.service.JsonStorageReportService;
+import com.lingoguma.detective_backend.global.datasource.ReplicaRoutingDataSource;
+import com.lingoguma.detective_backend.global.jpa.EntityCacheService;
+import com.lingoguma.detective_backend.global.security.AuthTokenService;
+import com.lingoguma.detective_backend.global.security.TokenRevocationService;
+import com.lingoguma.detective_backend.global.session.MeteredSessionRepository;
+import com.lingoguma.detective_backend.global.startup.StartupMetrics;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.user.repository.UserRepository;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.game.replay.ReplayRecorder;
+import com.lingoguma.detective_backend.game.replay.ReplayStubs;
+import com.lingoguma.detective_backend.game.repository.GameSessionArchiveRepository;
 import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import com.lingoguma.detective_backend.game.service.GameSessionArchiveJob;
+import com.lingoguma.detective_backend.game.service.DegradationController;
+import com.lingoguma.detective_backend.game.service.GameExportService;
+import com.lingoguma.detective_backend.game.service.GptClient;
+import com.lingoguma.detective_backend.game.service.GuestTranscriptService;
+import com.lingoguma.detective_backend.game.service.SessionWarmupService;
+import com.lingoguma.detective_backend.game.service.StartupWarmupService;
+import com.lingoguma.detective_backend.game.service.SuspectPromptBuilder;
+import com.lingoguma.detective_backend.game.service.TruthEmbeddingService;
+import com.lingoguma.detective_backend.game.service.UserSkillProfileBackfillJob;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
 import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioStatsRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioTruthEmbeddingRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import com.lingoguma.detective_backend.scenario.service.ScenarioSearchIndex;
 import com.lingoguma.detective_backend.scenario.service.ScenarioService;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Lazy // 요청 매핑은 시작 시 등록, 컨트롤러와 의존 빈은 첫 관리자 요청 때 생성
 @RequestMapping("/api/admin") // 관리자 전용 API
 @RequiredArgsConstructor
 public class AdminController {
@@ -30,6 +69,31 @@ public class AdminController {
     private final UserRepository userRepository;
     private final ScenarioRepository scenarioRepository;
     private final GameSessionRepository gameSessionRepository;
+    private final ScenarioTruthEmbeddingRepository truthEmbeddingRepository;
+    private final TruthEmbeddingService truthEmbeddingService;
+    private final UserSkillProfileBackfillJob skillProfileBackfillJob;
+    private final ScenarioStatsRepository scenarioStatsRepository;
+    private final ScenarioStatsService scenarioStatsService;
+    private final GameExportService exportService;
+    private final GameSessionArchiveRepository sessionArchiveRepository;
+    private final GameSessionArchiveJob sessionArchiveJob;
+    private final JsonStorageReportService jsonStorageReportService;
+    private final ScenarioCompiler scenarioCompiler;
+    private final ScenarioSearchIndex searchIndex;
+    private final MeteredSessionRepository<?> sessionRepository;
+    private final AuthTokenService authTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final EntityCacheService entityCacheService;
+    private final SessionWarmupService warmupService;
+    private final GptClient gptClient;
+    private final SuspectPromptBuilder promptBuilder;
+    private final DegradationController degradation;
+    private final ReplayRecorder replayRecorder;
+    private final ReplayStubs replayStubs;
+    private final StartupMetrics startupMetrics;
+    private final StartupWarmupService startupWarmup;
+    private final GuestTranscriptService guestTranscripts;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting; // datasource.replica.urls 설정 시에만
 
     // ==============================
     // 1. 유저 관리
@@ -59,6 +123,8 @@ public class AdminController {
             return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
         }
         userRepository.deleteById(userId);
+        entityCacheService.evictUser(userId);
+        tokenRevocationService.revokeUser(userId); // 토큰 모드: 남아 있는 토큰 무효화
         return ResponseEntity.ok("유저 삭제 완료");
     }
 
@@ -98,8 +164,27 @@ public class AdminController {
 
         Scenario scenario = scenarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("시나리오 없음"));
+
+        // 내용 검증 (통과해야 공개) 후 정규화 테이블 다시 컴파일
+        List<String> errors = scenarioCompiler.check(scenario.getContentJson());
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body("시나리오 내용 검증 실패: " + String.join(", ", errors));
+        }
         scenario.setScenStatus(ScenStatus.PUBLISHED);
         scenarioRepository.save(scenario);
+        entityCacheService.evictScenario(id);
+        CompiledScenario compiled = scenarioCompiler.compile(scenario);
+        searchIndex.update(scenario);
+
+        // 정답 임베딩 미리 계산 (NLP 서버 장애 시 첫 비교 때 계산)
+        // - 커밋 후에 방금 컴파일한 결과로 → 이 트랜잭션이 잡은 scenario_answer 잠금을 다시 기다리지 않음
+        afterCommit(() -> {
+            try {
+                truthEmbeddingService.precompute(scenario, compiled);
+            } catch (Exception e) {
+                System.err.println("정답 임베딩 사전 계산 실패: " + e.getMessage());
+            }
+        });
 
         return ResponseEntity.ok("시나리오 승인 완료");
     }
@@ -121,10 +206,40 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("시나리오 없음"));
         scenario.setScenStatus(ScenStatus.ARCHIVED);
         scenarioRepository.save(scenario);
+        entityCacheService.evictScenario(id);
+        searchIndex.remove(id);
 
         return ResponseEntity.ok("시나리오 반려 완료");
     }
 
+    /**
+     * 시나리오별 질문 난이도 모델 분리 on/off (enabled=true|false|default)
+     * - default: 설정값(game.tier.enabled) 따름
+     */
+    @PutMapping("/scenarios/{id}/model-tiering")
+    @Transactional
+    public ResponseEntity<?> setModelTiering(
+            @AuthenticationPrincipal CustomUserDetails adminDetails,
+            @PathVariable Integer id,
+            @RequestParam String enabled
+    ) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+
+        if (!List.of("true", "false", "default").contains(enabled)) {
+            return ResponseEntity.badRequest().body("enabled 는 true, false, default 중 하나여야 합니다.");
+        }
+
+        Scenario scenario = scenarioRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("시나리오 없음"));
+        scenario.setModelTiering("default".equals(enabled) ? null : Boolean.valueOf(enabled));
+        scenarioRepository.save(scenario);
+        entityCacheService.evictScenario(id);
+
+        return ResponseEntity.ok("모델 분리 설정 변경 완료");
+    }
+
     /**
      * 시나리오 삭제 (연관 세션이 있으면 먼저 삭제 필요)
      */
@@ -139,15 +254,325 @@ public class AdminController {
         }
 
         try {
-            // 1. 해당 시나리오와 연결된 모든 세션 삭제
+            // 1. 해당 시나리오와 연결된 모든 세션 삭제 (보관 세션 포함, 각각 DELETE 한 번)
             gameSessionRepository.deleteByScenario_ScenIdx(id);
+            sessionArchiveRepository.deleteAllByScenIdx(id);
+            truthEmbeddingRepository.deleteAllByScenIdx(id);
+            scenarioCompiler.delete(id);
+            scenarioStatsService.forget(id);
+            scenarioStatsRepository.deleteById(id);
 
             // 2. 시나리오 삭제
             scenarioRepository.deleteById(id);
+            entityCacheService.evictScenario(id);
+            searchIndex.remove(id);
 
             return ResponseEntity.ok("시나리오 및 관련 세션 삭제 완료");
         } catch (Exception e) {
             return ResponseEntity.status(500).body("삭제 실패: " + e.getMessage());
         }
     }
+
+    // ==============================
+    // 3. 통계
+    // ==============================
+
+    /**
+     * 기존 게임 결과로 유저 스킬 통계 재계산 (user_skill_profile 백필)
+     */
+    @PostMapping("/skill-profiles/backfill")
+    public ResponseEntity<?> backfillSkillProfiles(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        int users = skillProfileBackfillJob.run();
+        return ResponseEntity.ok("스킬 통계 백필 완료: " + users + "명");
+    }
+
+    /**
+     * 시나리오 플레이 통계 메모리 카운터를 즉시 scenario_stats 에 반영
+     */
+    @PostMapping("/scenario-stats/flush")
+    public ResponseEntity<?> flushScenarioStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        scenarioStatsService.flush();
+        return ResponseEntity.ok(scenarioStatsService.getAll());
+    }
+
+    /**
+     * 세션 보관/방치 세션 정리 즉시 실행 (평소에는 game.archive.cron 주기로 실행)
+     */
+    @PostMapping("/sessions/archive")
+    public ResponseEntity<?> archiveSessions(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        int[] done = sessionArchiveJob.run();
+        return ResponseEntity.ok("세션 보관 " + done[0] + "건, 방치 세션 삭제 " + done[1] + "건");
+    }
+
+    /**
+     * 마지막 세션 보관/정리 실행 결과
+     */
+    @GetMapping("/sessions/archive")
+    public ResponseEntity<?> archiveStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(sessionArchiveJob.stats());
+    }
+
+    /**
+     * JSON 컬럼 압축 효과 (저장 크기, 압축률, 압축/해제 시간)
+     */
+    @GetMapping("/storage/json-compression")
+    public ResponseEntity<?> jsonCompressionReport(@AuthenticationPrincipal CustomUserDetails adminDetails,
+                                                   @RequestParam(defaultValue = "200") int sample) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(jsonStorageReportService.report(Math.min(Math.max(sample, 1), 2000)));
+    }
+
+    /**
+     * 로그인 세션 저장소 측정값 (호출별 평균 시간, near-cache 적중률, DB 읽기/쓰기 수)
+     * - session.store=jdbc / memory 로 각각 띄워서 perRequestAvgMicros 비교
+     */
+    @GetMapping("/session-store/stats")
+    public ResponseEntity<?> sessionStoreStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(sessionRepository.stats());
+    }
+
+    /**
+     * 인증 필터 측정값 (auth.mode, 토큰 검증 평균 시간, 폐기 목록 크기)
+     * - 세션 모드의 요청당 인증 비용은 /session-store/stats 의 findById 로 비교
+     */
+    @GetMapping("/auth/stats")
+    public ResponseEntity<?> authStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(authTokenService.stats());
+    }
+
+    /**
+     * 2차 캐시 적중률 (scenario, user 엔티티 / 시나리오 목록 쿼리)
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> cacheStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(entityCacheService.stats());
+    }
+
+    /**
+     * GPT 호출 통계 (프롬프트 캐시 적중률, 캐시 적중/미적중 평균 응답 시간)
+     */
+    @GetMapping("/gpt/stats")
+    public ResponseEntity<?> gptStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(gptClient.stats());
+    }
+
+    /**
+     * 응답 품질 단계 (GPT 지연에 따른 자동 조절 현황)
+     */
+    @GetMapping("/degradation")
+    public ResponseEntity<?> degradationStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(degradation.stats());
+    }
+
+    /**
+     * 응답 품질 단계 고정 (level=NORMAL|SHORT_HISTORY|LOW_TOKENS|FAST_TIER|LOCAL_CACHED, auto 면 자동 조절)
+     */
+    @PutMapping("/degradation")
+    public ResponseEntity<?> overrideDegradation(
+            @AuthenticationPrincipal CustomUserDetails adminDetails,
+            @RequestParam String level
+    ) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        if ("auto".equalsIgnoreCase(level)) {
+            degradation.override(null);
+        } else {
+            try {
+                degradation.override(DegradationController.Level.valueOf(level.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("알 수 없는 단계: " + level);
+            }
+        }
+        return ResponseEntity.ok(degradation.stats());
+    }
+
+    /**
+     * 비회원 무상태 플레이 현황 (발급/연장/거부/크기 초과 수, 평균 토큰 길이)
+     */
+    @GetMapping("/guest/stats")
+    public ResponseEntity<?> guestStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(guestTranscripts.stats());
+    }
+
+    /**
+     * 읽기 복제본 라우팅 현황 (복제본별 지연, 대상별 커넥션 수, 쓰기 직후 기본 DB 로 보낸 읽기 수)
+     */
+    @GetMapping("/datasource")
+    public ResponseEntity<?> datasourceStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        return ResponseEntity.ok(routing == null ? Map.of("enabled", false) : routing.stats());
+    }
+
+    /**
+     * 노드 시작 시간 (JVM 시작 → 준비 완료/트래픽 수신, 첫 요청 처리 시간, AOT/CDS 사용 여부, 워밍업 단계별 시간)
+     */
+    @GetMapping("/startup")
+    public ResponseEntity<?> startupStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(Map.of(
+                "startup", startupMetrics.stats(),
+                "warmup", startupWarmup.stats()
+        ));
+    }
+
+    /**
+     * 트래픽 기록/재생 현황 (기록 건수, 대기열 초과로 버린 건수, 기록 응답 사용/대체 건수)
+     */
+    @GetMapping("/replay/stats")
+    public ResponseEntity<?> replayStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(Map.of(
+                "recorder", replayRecorder.stats(),
+                "stubs", replayStubs.stats()
+        ));
+    }
+
+    /**
+     * 용의자별 이전 로그 필터링 효과 (전체 로그 대비 실제로 보낸 크기)
+     */
+    @GetMapping("/prompt/stats")
+    public ResponseEntity<?> promptStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(promptBuilder.stats());
+    }
+
+    /**
+     * 세션 시작 시 용의자 준비 현황 (준비된 첫 인사 사용 수, 대기열 초과로 생략된 수)
+     */
+    @GetMapping("/warmup/stats")
+    public ResponseEntity<?> warmupStats(@AuthenticationPrincipal CustomUserDetails adminDetails) {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+        return ResponseEntity.ok(warmupService.stats());
+    }
+
+    // ==============================
+    // 4. 내보내기 (스트리밍)
+    // ==============================
+
+    /**
+     * 게임 결과 내보내기
+     * - format: ndjson(기본) | csv, gzip=true 면 .gz 로 압축
+     * - scenIdx, from/to(yyyy-MM-dd, to 포함) 필터
+     */
+    @GetMapping("/export/results")
+    public void exportResults(@AuthenticationPrincipal CustomUserDetails adminDetails,
+                              @RequestParam(required = false) Integer scenIdx,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              @RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            response.sendError(403, "관리자 권한이 필요합니다.");
+            return;
+        }
+        GameExportService.Format fmt = exportFormat(format);
+        try (OutputStream out = openExport(response, "game_results", fmt, gzip)) {
+            exportService.exportResults(scenIdx, startOf(from), endOf(to), fmt, out);
+        }
+    }
+
+    /**
+     * 세션(대화 로그) 내보내기 — 파라미터는 결과 내보내기와 동일
+     */
+    @GetMapping("/export/sessions")
+    public void exportSessions(@AuthenticationPrincipal CustomUserDetails adminDetails,
+                               @RequestParam(required = false) Integer scenIdx,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        if (adminDetails == null || adminDetails.getUser().getRole() != Role.ADMIN) {
+            response.sendError(403, "관리자 권한이 필요합니다.");
+            return;
+        }
+        GameExportService.Format fmt = exportFormat(format);
+        try (OutputStream out = openExport(response, "game_sessions", fmt, gzip)) {
+            exportService.exportSessions(scenIdx, startOf(from), endOf(to), fmt, out);
+        }
+    }
+
+    private static GameExportService.Format exportFormat(String format) {
+        return "csv".equalsIgnoreCase(format) ? GameExportService.Format.CSV : GameExportService.Format.NDJSON;
+    }
+
+    private static OutputStream openExport(HttpServletResponse response, String name,
+                                           GameExportService.Format fmt, boolean gzip) throws IOException {
+        String ext = fmt == GameExportService.Format.CSV ? ".csv" : ".ndjson";
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(fmt == GameExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip"); // 전송 압축 (클라이언트가 풀어서 저장)
+        }
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + name + ext + "\"");
+        OutputStream out = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+    }
+
+    private static LocalDateTime startOf(LocalDate d) {
+        return d == null ? null : d.atStartOfDay();
+    }
+
+    private static LocalDateTime endOf(LocalDate d) {
+        return d == null ? null : d.plusDays(1).atStartOfDay();
+    }
+
+    // 트랜잭션 커밋 후 실행 (트랜잭션 밖이면 바로)
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,104 @@
+package com.lingoguma.detective_backend.admin.service;
+
+import com.lingoguma.detective_backend.game.entity.GameSession;
+import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import com.lingoguma.detective_backend.global.jpa.CompressedJsonConverter;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON 컬럼 압축 효과 측정 (관리자용)
+ * - stored: 실제 테이블의 저장 바이트 / 이미 압축된 행 수 (LENGTH 기준)
+ * - sample: 최근 행을 원문(기존 JSON 컬럼) vs 압축 형식으로 비교, 압축/해제 평균 시간
+ */
+@Lazy // 관리자 기능에서만 사용 → 처음 쓸 때 생성
+@Service
+@RequiredArgsConstructor
+public class JsonStorageReportService {
+
+    private static final int ROUNDS = 5; // 시간 측정 반복 횟수 (첫 회는 JIT 워밍업으로 제외)
+
+    private final GameSessionRepository sessionRepository;
+    private final ScenarioRepository scenarioRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> report(int sampleSize) {
+        List<String> logs = sessionRepository
+                .findAll(PageRequest.of(0, sampleSize, Sort.by(Sort.Direction.DESC, "sessionId")))
+                .map(GameSession::getLogJson).getContent();
+        List<String> contents = scenarioRepository
+                .findAll(PageRequest.of(0, sampleSize, Sort.by(Sort.Direction.DESC, "scenIdx")))
+                .map(Scenario::getContentJson).getContent();
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("gameSessions", section(stored("game_sessions", "log_json"), measure(logs)));
+        out.put("scenarios", section(stored("scenarios", "content_json"), measure(contents)));
+        return out;
+    }
+
+    private Map<String, Object> section(Map<String, Object> stored, Map<String, Object> sample) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("stored", stored);
+        m.put("sample", sample);
+        return m;
+    }
+
+    // 테이블 전체 저장 크기 (압축 형식은 첫 바이트 0x02)
+    private Map<String, Object> stored(String table, String column) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                "SELECT COUNT(*), COALESCE(SUM(LENGTH(" + column + ")), 0), " +
+                "COALESCE(SUM(CASE WHEN SUBSTRING(" + column + ", 1, 1) = X'02' THEN 1 ELSE 0 END), 0) " +
+                "FROM " + table
+        ).getSingleResult();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("rows", ((Number) row[0]).longValue());
+        m.put("bytes", ((Number) row[1]).longValue());
+        m.put("compressedRows", ((Number) row[2]).longValue());
+        return m;
+    }
+
+    private Map<String, Object> measure(List<String> values) {
+        long rawBytes = 0, packedBytes = 0, encodeNanos = 0, decodeNanos = 0;
+        int count = 0;
+        for (String v : values) {
+            if (v == null) continue;
+            count++;
+            rawBytes += v.getBytes(StandardCharsets.UTF_8).length;
+            byte[] packed = CompressedJsonConverter.encode(v);
+            packedBytes += packed.length;
+            for (int r = 0; r < ROUNDS; r++) {
+                long t0 = System.nanoTime();
+                byte[] p = CompressedJsonConverter.encode(v);
+                long t1 = System.nanoTime();
+                CompressedJsonConverter.decode(p);
+                long t2 = System.nanoTime();
+                if (r > 0) {
+                    encodeNanos += t1 - t0;
+                    decodeNanos += t2 - t1;
+                }
+            }
+        }
+        int timed = Math.max(1, count * (ROUNDS - 1));
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("rows", count);
+        m.put("jsonBytes", rawBytes);
+        m.put("compressedBytes", packedBytes);
+        m.put("ratio", rawBytes > 0 ? (double) packedBytes / rawBytes : 1.0);
+        m.put("avgEncodeMicros", encodeNanos / 1000.0 / timed);
+        m.put("avgDecodeMicros", decodeNanos / 1000.0 / timed);
+        return m;
+    }
+}
@@ -0,0 +1,13 @@
+package com.lingoguma.detective_backend.game.chat;
+
+/**
+ * 대화 생성 옵션
+ * - tier: 모델 계층
+ * - maxTokensCap: 계층 기본값보다 더 짧게 제한할 때 (0: 추가 제한 없음)
+ */
+public record ChatOptions(ChatTier tier, int maxTokensCap) {
+
+    public static ChatOptions of(ChatTier tier) {
+        return new ChatOptions(tier, 0);
+    }
+}
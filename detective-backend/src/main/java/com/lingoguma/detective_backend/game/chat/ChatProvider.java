@@ -0,0 +1,20 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대화 생성 공급자 (OpenAI, OpenAI 호환 로컬 서버, 테스트용 가짜)
+ * - 선택과 장애 우회는 ChatRouter 가 담당
+ */
+public interface ChatProvider {
+
+    // 라우팅 설정에서 쓰는 이름 (openai, local, fake)
+    String name();
+
+    ChatResult chat(List<Map<String, String>> messages, ChatOptions options);
+
+    // 연결 미리 열기 (필요 없는 공급자는 무시)
+    default void warmUp() {
+    }
+}
@@ -0,0 +1,9 @@
+package com.lingoguma.detective_backend.game.chat;
+
+/**
+ * 대화 생성 결과 + 토큰 사용량 (알 수 없으면 0)
+ * - cachedTokens: 앞부분이 이전 요청과 같아 공급자 캐시로 처리된 입력 토큰 수
+ */
+public record ChatResult(String content, String provider,
+                         long promptTokens, long cachedTokens, long completionTokens) {
+}
@@ -0,0 +1,203 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 공급자 선택 + 장애 우회
+ * - 선호 순서(chat.route.order) 중 최근 p95 응답 시간/오류율이 기준 안인 첫 공급자 사용
+ * - 시나리오별 지정(chat.route.scenario-overrides=3:local,7:fake)이 있으면 그 공급자를 먼저 시도
+ * - 실패하면 다음 후보로 한 번 더 (chat.route.max-attempts)
+ * - 최근 기록은 window-ms 안의 것만 → 한동안 안 쓰인 공급자는 기록이 비어 다시 시도됨
+ * - chat.route.order 에 없는 공급자는 쓰지 않음 (재생 설정에서 실제 유료 공급자로 넘어가지 않게)
+ * - 재생(replay.stub.file) 중에는 replay 공급자만 사용 → 기록이 없으면 그대로 실패
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatRouter {
+
+    private static final int WINDOW_SAMPLES = 200;
+    private static final String REPLAY = "replay";
+
+    private final List<ChatProvider> providers;
+
+    @Value("${chat.route.order:openai,local,fake}")
+    private String order;
+
+    @Value("${replay.stub.file:}")
+    private String replayStubFile;
+
+    @Value("${chat.route.scenario-overrides:}")
+    private String scenarioOverrides;
+
+    @Value("${chat.route.max-p95-ms:15000}")
+    private long maxP95Ms;
+
+    @Value("${chat.route.max-error-rate:0.3}")
+    private double maxErrorRate;
+
+    @Value("${chat.route.min-samples:10}")
+    private int minSamples;
+
+    @Value("${chat.route.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${chat.route.max-attempts:2}")
+    private int maxAttempts;
+
+    private List<ChatProvider> ordered;
+    private final Map<Integer, String> overrides = new HashMap<>();
+    private final Map<String, Window> windows = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        Map<String, ChatProvider> byName = new LinkedHashMap<>();
+        for (ChatProvider p : providers) byName.put(p.name(), p);
+
+        List<ChatProvider> list = new ArrayList<>();
+        String routeOrder = replayStubFile.isBlank() ? order : REPLAY;
+        for (String name : routeOrder.split(",")) {
+            ChatProvider p = byName.remove(name.trim());
+            if (p != null) list.add(p);
+        }
+        if (list.isEmpty()) {
+            throw new IllegalStateException("사용 가능한 대화 공급자가 없습니다: chat.route.order=" + routeOrder);
+        }
+        if (!byName.isEmpty()) {
+            System.err.println("대화 공급자 제외 (chat.route.order 에 없음): " + byName.keySet());
+        }
+        ordered = List.copyOf(list);
+        for (ChatProvider p : ordered) windows.put(p.name(), new Window());
+
+        for (String entry : scenarioOverrides.split(",")) {
+            String[] kv = entry.trim().split(":");
+            if (kv.length == 2 && windows.containsKey(kv[1].trim())) {
+                overrides.put(Integer.valueOf(kv[0].trim()), kv[1].trim());
+            }
+        }
+    }
+
+    // preferred: 상태가 괜찮으면 먼저 시도할 공급자 (없으면 null, 시나리오 지정보다 우선)
+    public ChatResult chat(List<Map<String, String>> messages, Integer scenIdx, ChatOptions options, String preferred) {
+        RuntimeException last = null;
+        int attempts = 0;
+        for (ChatProvider p : candidates(scenIdx, preferred)) {
+            if (attempts++ >= maxAttempts) break;
+            long started = System.nanoTime();
+            try {
+                ChatResult result = p.chat(messages, options);
+                windows.get(p.name()).record(System.nanoTime() - started, false);
+                return result;
+            } catch (RuntimeException e) {
+                windows.get(p.name()).record(System.nanoTime() - started, true);
+                System.err.println("대화 생성 실패 (" + p.name() + "): " + e.getMessage());
+                last = e;
+            }
+        }
+        throw last != null ? last : new IllegalStateException("사용 가능한 대화 공급자가 없습니다.");
+    }
+
+    // 선호 순서대로 쓸 공급자에 연결 미리 열기
+    public void warmUp(Integer scenIdx) {
+        List<ChatProvider> c = candidates(scenIdx, null);
+        if (!c.isEmpty()) c.get(0).warmUp();
+    }
+
+    /**
+     * 시도 순서: (preferred 또는 시나리오 지정) → 상태 좋은 공급자(선호 순서) → 나머지(점수 낮은 순)
+     */
+    List<ChatProvider> candidates(Integer scenIdx, String preferred) {
+        long now = System.currentTimeMillis();
+        List<ChatProvider> healthy = new ArrayList<>();
+        List<ChatProvider> degraded = new ArrayList<>();
+        for (ChatProvider p : ordered) {
+            (windows.get(p.name()).healthy(now) ? healthy : degraded).add(p);
+        }
+        degraded.sort(Comparator.comparingDouble(p -> windows.get(p.name()).penalty(now)));
+
+        List<ChatProvider> out = new ArrayList<>(ordered.size());
+        String pinned = preferred != null ? preferred : (scenIdx == null ? null : overrides.get(scenIdx));
+        if (pinned != null) {
+            ordered.stream()
+                    .filter(p -> p.name().equals(pinned) && windows.get(pinned).healthy(now))
+                    .findFirst()
+                    .ifPresent(out::add);
+        }
+        for (ChatProvider p : healthy) if (!out.contains(p)) out.add(p);
+        for (ChatProvider p : degraded) if (!out.contains(p)) out.add(p);
+        return out;
+    }
+
+    public Map<String, Object> stats() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (ChatProvider p : ordered) {
+            Window w = windows.get(p.name());
+            Map<String, Object> s = new LinkedHashMap<>(w.snapshot(now));
+            s.put("healthy", w.healthy(now));
+            out.put(p.name(), s);
+        }
+        out.put("scenarioOverrides", overrides);
+        return out;
+    }
+
+    // ==============================
+    // 최근 호출 기록 (고정 크기 링 버퍼)
+    // ==============================
+    private final class Window {
+        private final long[] at = new long[WINDOW_SAMPLES];
+        private final long[] latencyMs = new long[WINDOW_SAMPLES];
+        private final boolean[] error = new boolean[WINDOW_SAMPLES];
+        private int next;
+        private int filled;
+
+        synchronized void record(long elapsedNanos, boolean failed) {
+            at[next] = System.currentTimeMillis();
+            latencyMs[next] = elapsedNanos / 1_000_000;
+            error[next] = failed;
+            next = (next + 1) % WINDOW_SAMPLES;
+            if (filled < WINDOW_SAMPLES) filled++;
+        }
+
+        // [샘플 수, 오류 수, p95]
+        synchronized long[] summary(long now) {
+            long[] recent = new long[filled];
+            int n = 0, errors = 0;
+            for (int i = 0; i < filled; i++) {
+                if (now - at[i] > windowMs) continue;
+                recent[n++] = latencyMs[i];
+                if (error[i]) errors++;
+            }
+            if (n == 0) return new long[]{0, 0, 0};
+            long[] sorted = Arrays.copyOf(recent, n);
+            Arrays.sort(sorted);
+            return new long[]{n, errors, sorted[Math.min(n - 1, (int) Math.ceil(n * 0.95) - 1)]};
+        }
+
+        boolean healthy(long now) {
+            long[] s = summary(now);
+            if (s[0] < minSamples) return true; // 기록이 적으면 판단 보류
+            return (double) s[1] / s[0] <= maxErrorRate && s[2] <= maxP95Ms;
+        }
+
+        // 모두 기준을 넘을 때 덜 나쁜 공급자 먼저
+        double penalty(long now) {
+            long[] s = summary(now);
+            if (s[0] == 0) return 0;
+            return (double) s[1] / s[0] * maxP95Ms + s[2];
+        }
+
+        Map<String, Object> snapshot(long now) {
+            long[] s = summary(now);
+            return Map.of(
+                    "samples", s[0],
+                    "errorRate", s[0] == 0 ? 0.0 : (double) s[1] / s[0],
+                    "p95Ms", s[2]
+            );
+        }
+    }
+}
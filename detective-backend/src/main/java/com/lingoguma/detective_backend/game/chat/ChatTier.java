@@ -0,0 +1,11 @@
+package com.lingoguma.detective_backend.game.chat;
+
+/**
+ * 질문 난이도별 모델 계층
+ * - SIMPLE: 짧은 되묻기/예·아니오 질문, 인사 → 빠르고 싼 모델 + 짧은 답변 제한
+ * - PRIMARY: 모순 추궁, 알리바이/증거 질문 등 → 기본 모델
+ */
+public enum ChatTier {
+    SIMPLE,
+    PRIMARY
+}
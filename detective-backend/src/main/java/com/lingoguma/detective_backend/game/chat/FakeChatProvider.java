@@ -0,0 +1,48 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테스트/부하 측정용 가짜 공급자 (chat.fake.enabled=true 일 때만 등록)
+ * - 같은 메시지에는 항상 같은 답변 (메시지 해시로 선택), 외부 호출 없음
+ * - chat.fake.latency-ms 로 응답 지연 흉내
+ */
+@Component
+@ConditionalOnProperty(name = "chat.fake.enabled", havingValue = "true")
+public class FakeChatProvider implements ChatProvider {
+
+    private static final List<String> LINES = List.of(
+            "그 시간에는 집에 있었어요. 정말이에요.",
+            "글쎄요, 잘 기억이 나지 않네요.",
+            "저는 아무것도 몰라요. 다른 사람한테 물어보세요.",
+            "그날 밤 이상한 소리를 들은 것 같기도 해요.",
+            "왜 자꾸 저한테만 물어보시는 거죠?"
+    );
+
+    @Value("${chat.fake.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public String name() {
+        return "fake";
+    }
+
+    @Override
+    public ChatResult chat(List<Map<String, String>> messages, ChatOptions options) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int h = messages.hashCode();
+        String line = LINES.get(Math.floorMod(h, LINES.size()));
+        return new ChatResult(line, name(), 0, 0, 0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 호환 로컬/사내 모델 서버 (vLLM, Ollama 등) — chat.local.url 이 있을 때만 등록
+ * 예) chat.local.url=http://localhost:11434/v1/chat/completions, chat.local.model=qwen2.5:7b
+ */
+@Component
+@ConditionalOnProperty(name = "chat.local.url")
+public class LocalChatProvider extends OpenAiCompatibleChatProvider {
+
+    @Value("${chat.local.url}")
+    private String url;
+
+    @Value("${chat.local.model:local}")
+    private String model;
+
+    // 쉬운 질문(ChatTier.SIMPLE)용 모델
+    @Value("${chat.local.simple-model:${chat.local.model:local}}")
+    private String simpleModel;
+
+    @Value("${chat.local.temperature:0.7}")
+    private double temperature;
+
+    @Value("${chat.local.api-key:}")
+    private String apiKey;
+
+    public LocalChatProvider(RestTemplateBuilder builder,
+                             @Value("${chat.local.timeout-ms:30000}") long timeoutMs) {
+        super(builder, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    protected String url() {
+        return url;
+    }
+
+    @Override
+    protected String model(ChatTier tier) {
+        return tier == ChatTier.SIMPLE ? simpleModel : model;
+    }
+
+    @Override
+    protected double temperature() {
+        return temperature;
+    }
+
+    @Override
+    protected String apiKey() {
+        return apiKey;
+    }
+}
@@ -0,0 +1,55 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OpenAiChatProvider extends OpenAiCompatibleChatProvider {
+
+    @Value("${chat.openai.url:https://api.openai.com/v1/chat/completions}")
+    private String url;
+
+    @Value("${chat.openai.model:gpt-4o-mini}")
+    private String model;
+
+    // 쉬운 질문(ChatTier.SIMPLE)용 모델
+    @Value("${chat.openai.simple-model:gpt-4.1-nano}")
+    private String simpleModel;
+
+    @Value("${chat.openai.temperature:0.7}")
+    private double temperature;
+
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    public OpenAiChatProvider(RestTemplateBuilder builder,
+                              @Value("${chat.openai.timeout-ms:60000}") long timeoutMs) {
+        super(builder, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    @Override
+    protected String url() {
+        return url;
+    }
+
+    @Override
+    protected String model(ChatTier tier) {
+        return tier == ChatTier.SIMPLE ? simpleModel : model;
+    }
+
+    @Override
+    protected double temperature() {
+        return temperature;
+    }
+
+    @Override
+    protected String apiKey() {
+        return apiKey;
+    }
+}
@@ -0,0 +1,121 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI chat/completions 형식 공급자 공통 구현 (OpenAI, vLLM/Ollama 등 호환 서버)
+ */
+public abstract class OpenAiCompatibleChatProvider implements ChatProvider {
+
+    private static final long WARM_INTERVAL_MS = 60_000;
+
+    private final RestTemplate restTemplate;
+    private volatile long lastWarmMs;
+
+    // 계층별 답변 길이 제한 (0: 제한 없음)
+    @Value("${chat.tier.simple-max-tokens:150}")
+    private int simpleMaxTokens;
+
+    @Value("${chat.tier.primary-max-tokens:0}")
+    private int primaryMaxTokens;
+
+    // 공급자마다 따로 시간 제한 (느려진 공급자가 요청 스레드를 무한정 붙잡지 않게 → 실패로 기록되고 다음 공급자로)
+    protected OpenAiCompatibleChatProvider(RestTemplateBuilder builder, long timeoutMs) {
+        this.restTemplate = builder
+                .connectTimeout(Duration.ofSeconds(5))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+    }
+
+    protected abstract String url();
+
+    protected abstract String model(ChatTier tier);
+
+    protected abstract double temperature();
+
+    // 없으면 Authorization 헤더 생략
+    protected abstract String apiKey();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChatResult chat(List<Map<String, String>> messages, ChatOptions options) {
+        ChatTier tier = options.tier();
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model(tier));
+        body.put("messages", messages);
+        body.put("temperature", temperature());
+        int maxTokens = tier == ChatTier.SIMPLE ? simpleMaxTokens : primaryMaxTokens;
+        if (options.maxTokensCap() > 0) {
+            maxTokens = maxTokens > 0 ? Math.min(maxTokens, options.maxTokensCap()) : options.maxTokensCap();
+        }
+        if (maxTokens > 0) {
+            body.put("max_tokens", maxTokens);
+        }
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers());
+
+        // Map<String,Object>로 타입 지정
+        Map<String, Object> resp = restTemplate.postForObject(url(), entity, Map.class);
+
+        if (resp == null) {
+            throw new RuntimeException(name() + " 응답이 null입니다.");
+        }
+
+        // 제네릭 타입 안전하게 캐스팅
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) resp.get("choices");
+        if (choices == null || choices.isEmpty()) {
+            throw new RuntimeException(name() + " 응답에 choices가 없습니다: " + resp);
+        }
+
+        Map<String, Object> first = choices.get(0);
+        Map<String, Object> msg = (Map<String, Object>) first.get("message");
+        String content = (String) msg.get("content");
+
+        // usage.prompt_tokens_details.cached_tokens (지원하지 않는 서버는 없음)
+        Map<String, Object> usage = (Map<String, Object>) resp.get("usage");
+        if (usage == null) {
+            return new ChatResult(content, name(), 0, 0, 0);
+        }
+        Map<String, Object> details = (Map<String, Object>) usage.get("prompt_tokens_details");
+        return new ChatResult(content, name(),
+                toLong(usage.get("prompt_tokens")),
+                details == null ? 0 : toLong(details.get("cached_tokens")),
+                toLong(usage.get("completion_tokens")));
+    }
+
+    // HTTP 연결(TLS) 미리 열기 — 가벼운 GET 한 번, 최근에 했으면 생략, 실패는 무시
+    @Override
+    public void warmUp() {
+        long now = System.currentTimeMillis();
+        if (now - lastWarmMs < WARM_INTERVAL_MS) return;
+        lastWarmMs = now;
+        try {
+            String modelsUrl = url().replaceFirst("/chat/completions$", "/models");
+            restTemplate.exchange(modelsUrl, HttpMethod.GET, new HttpEntity<>(headers()), String.class);
+        } catch (Exception e) {
+            System.err.println(name() + " 연결 예열 실패: " + e.getMessage());
+        }
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String key = apiKey();
+        if (key != null && !key.isBlank()) {
+            headers.setBearerAuth(key);
+        }
+        return headers;
+    }
+
+    private static long toLong(Object o) {
+        return o instanceof Number n ? n.longValue() : 0;
+    }
+}
@@ -2,19 +2,32 @@ package com.lingoguma.detective_backend.game.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.chat.ChatTier;
 import com.lingoguma.detective_backend.game.dto.*;
 import com.lingoguma.detective_backend.game.service.*;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenAccess;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioCharacter;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioEvidence;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioTimeline;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.LinkedHashMap;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/game")
@@ -26,6 +39,19 @@ public class GameController {
     private final ObjectMapper mapper;
     private final GameResultService resultService;
     private final GameNlpClient nlpClient;
+    private final TruthEmbeddingService truthEmbeddingService;
+    private final SessionTurnSequencer turnSequencer;
+    private final ScenarioCompiler scenarioCompiler;
+    private final IdempotencyService idempotencyService;
+    private final SessionWarmupService warmupService;
+    private final SuspectPromptBuilder promptBuilder;
+    private final SuspectBroadcastService broadcastService;
+    private final QuestionTierClassifier tierClassifier;
+    private final DegradationController degradation;
+    private final GuestTranscriptService guestTranscripts;
+
+    // 다른 노드와 같은 세션을 동시에 저장해 @Version 충돌 시 재시도 횟수
+    private static final int APPEND_LOG_RETRIES = 3;
 
     // ==============================
     // 세션 시작
@@ -36,151 +62,215 @@ public class GameController {
             @RequestParam(required = false) Integer userIdx
     ) {
         Integer sessionId = sessionService.startSession(scenIdx, userIdx);
+        warmupService.warmUp(sessionId, scenIdx); // 용의자 프롬프트/첫 인사 백그라운드 준비 (비활성화면 무시)
         return ResponseEntity.ok(sessionId);
     }
 
+    // ==============================
+    // 비회원 무상태 플레이 시작 (game.guest.stateless=true, 공개된 FREE 시나리오만)
+    // 세션 행 없이 기록 토큰만 발급 → 이후 /ask, /result 에 transcript 로 전달
+    // ==============================
+    @PostMapping("/guest/start")
+    public ResponseEntity<Map<String, String>> startGuest(@RequestParam Integer scenIdx) {
+        if (!guestTranscripts.enabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        Scenario scenario;
+        try {
+            scenario = sessionService.findScenario(scenIdx);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (scenario.getScenStatus() != ScenStatus.PUBLISHED || scenario.getScenAccess() != ScenAccess.FREE) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(Map.of("transcript", guestTranscripts.start(scenIdx)));
+    }
+
     // ==============================
     // 질문하기 (GPT 호출 + 로그 저장)
     // ==============================
     @PostMapping("/ask")
-    public ResponseEntity<NlpAskResponse> ask(@RequestBody NlpAskRequest req) {
-        // 1. 직전 로그 불러오기
-        Map<String, Object> logMap;
+    public ResponseEntity<NlpAskResponse> ask(
+            @RequestBody NlpAskRequest req,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        if (req.getTranscript() != null) {
+            return askAsGuest(req);
+        }
+
+        // 같은 Idempotency-Key 재요청(더블 클릭, 재시도)은 GPT 를 다시 부르지 않고 같은 답변 반환
+        // 같은 세션의 질문은 도착 순서대로 하나씩 (이전 답변까지 포함된 로그로 다음 질문 처리)
         try {
-            logMap = mapper.readValue(
-                    sessionService.getLogJson(req.getSessionId()),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-        } catch (Exception e) {
-            logMap = Map.of("logs", List.of());
+            NlpAskResponse resp = idempotencyService.execute(
+                    "ask:" + req.getSessionId(), idempotencyKey,
+                    List.of(String.valueOf(req.getSuspectName()), String.valueOf(req.getUserText())),
+                    () -> turnSequencer.inOrder(req.getSessionId(), () -> askInOrder(req)));
+            return ResponseEntity.ok(resp);
+        } catch (SessionTurnSequencer.TurnBusyException e) {
+            return ResponseEntity.status(429).build();
+        } catch (IdempotencyService.IdempotencyConflictException e) {
+            return ResponseEntity.status(422).build();
+        } catch (IdempotencyService.InvalidKeyException e) {
+            return ResponseEntity.badRequest().build();
         }
+    }
 
-        // 2. 시나리오 content_json 읽기
-        Scenario scenario = sessionService.getScenario(req.getSessionId());
-        Map<String, Object> content;
+    private NlpAskResponse askInOrder(NlpAskRequest req) {
+        // 1. 직전 로그 불러오기 (세션이 없거나 로그가 깨졌으면 빈 기록으로 이어가지 않고 실패)
+        Map<String, Object> logMap;
+        String logJson = sessionService.getLogJson(req.getSessionId());
         try {
-            content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
+            logMap = mapper.readValue(logJson, new TypeReference<Map<String, Object>>() {});
         } catch (Exception e) {
-            content = Map.of();
+            throw new IllegalStateException("세션 로그를 읽을 수 없습니다: " + req.getSessionId(), e);
         }
-
-        // prompt + characters
         @SuppressWarnings("unchecked")
-        Map<String, Object> promptConfig = (Map<String, Object>) content.getOrDefault("prompt", Map.of());
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> characters = (List<Map<String, Object>>) content.getOrDefault("characters", List.of());
-
-        // 캐릭터 찾기
-        Map<String, Object> suspect = characters.stream()
-                .filter(c -> req.getSuspectName().equals(c.get("name")))
-                .findFirst()
-                .orElse(Map.of());
+        List<Map<String, Object>> logs = (List<Map<String, Object>>) logMap.getOrDefault("logs", List.of());
 
-        // system 프롬프트 구성
-        String mission = (String) promptConfig.getOrDefault("mission", "너는 사건 속 등장인물 중 하나다.");
-        @SuppressWarnings("unchecked")
-        //List<String> rules = (List<String>) promptConfig.getOrDefault("rules", List.of());
-        List<String> rulesInScenario = (List<String>) promptConfig.get("rules");
-        List<String> rules = (rulesInScenario != null && !rulesInScenario.isEmpty())
-        ? rulesInScenario
-        : List.of(
-            // 공통
-            "플레이어는 탐정이다. 반드시 플레이어의 질문과 요청에 집중한다.",
-            "사건과 무관한 잡담은 하지 않는다.",
-            "항상 캐릭터 설정(신상, 성격, 말투)을 유지한다.",
-            "초등학생도 이해할 수 있게 쉬운 단어를 사용할 것",
-            // 용의자
-            "용의자는 자신의 알리바이를 일관성 있게 유지한다.",
-            "용의자는 증거와 명백히 모순되는 발언은 피한다.",
-            // "거짓말은 가능하지만 들키면 안 된다.",
-            "용의자는 플레이어의 추리에 도움을 주지 않고, 자신의 시점에서만 대답한다.",
-            // 액션
-            "액션은 객관적 사실과 증거만 제시한다.",
-            "액션은 추측이나 의견은 하지 않는다.",
-            "액션은 플레이어가 요청할 때만 정보를 제공한다.",
-            "액션은 증거를 원본 그대로 전달하며 변형하지 않는다.",
-            "액션은 사건의 결과나 정답을 직접 말하지 않고, 단서만 보여준다.",
-            "액션은 현장 조사, CCTV 확인, 물건 검색, 기록 조회, 목격자 증언 수집 등을 수행합니다.",
-            "액션은 나의 행동이다."
-            // 소문
-            
-
-            
-        );
-
-        StringBuilder systemPrompt = new StringBuilder();
-        systemPrompt.append(mission).append("\n");
-        if (!rules.isEmpty()) {
-            systemPrompt.append("규칙:\n");
-            for (String r : rules) {
-                systemPrompt.append("- ").append(r).append("\n");
+        // 1-1. 이 용의자에게 처음 건네는 인사면 미리 만들어 둔 인사로 바로 응답
+        if (SessionWarmupService.isIntroQuestion(req.getUserText())
+                && logs.stream().noneMatch(l -> req.getSuspectName().equals(l.get("suspect")))) {
+            String greeting = warmupService.takeGreeting(req.getSessionId(), req.getSuspectName());
+            if (greeting != null) {
+                appendLogWithRetry(req.getSessionId(), req.getSuspectName(), req.getUserText(), greeting);
+                NlpAskResponse resp = new NlpAskResponse();
+                resp.setAnswer(greeting);
+                return resp;
             }
         }
 
-        // [ADD] 소문 전용 규칙 추가 (프롬프트만으로 제어)
-        systemPrompt.append("\n[소문 규칙]\n");
-        systemPrompt.append("- 사용자가 \"소문을 조사한다\"라고 입력하면, 아래 [rumors] 목록만 줄바꿈으로 그대로 출력한다.\n");
-        systemPrompt.append("- 부가 설명, 요약, 분석, 감정 표현은 금지한다.\n");
-
-        // 추가 설정
-        systemPrompt.append("[additional_setting]을 읽고 시나리오에 반영해라\n");
-        systemPrompt.append("플레이들의 각자의 역할은 [additional_setting]에 명시되어 있고 그들은 자신의 역할에 대해 플레이어에게 말할 수 있다");
-
-        // 게임 설명
-        systemPrompt.append("게임 설명:\n");
-        systemPrompt.append("용의자의 신상 및 성격, 관련 단서 등을 바탕으로 그 용의자가 되어서 플레이어와 대화하는 방식의 추리게임이다 (플레이어는 탐정이다)\n");
-        systemPrompt.append("액션 버튼은 조수이다\n");
-
-        // 캐릭터 상세 정보
-        systemPrompt.append("\n### 너의 캐릭터 정보 ###\n");
-        systemPrompt.append("이름: ").append(suspect.getOrDefault("name", "알 수 없는 인물")).append("\n");
-        systemPrompt.append("직업: ").append(suspect.getOrDefault("job", "알 수 없음")).append("\n");
-        systemPrompt.append("나이: ").append(suspect.getOrDefault("age", "알 수 없음")).append("\n");
-        systemPrompt.append("성별: ").append(suspect.getOrDefault("gender", "알 수 없음")).append("\n");
-        systemPrompt.append("성격: ").append(suspect.getOrDefault("personality", "알 수 없음")).append("\n");
-        systemPrompt.append("말투: ").append(suspect.getOrDefault("speaking_style", "알 수 없음")).append("\n");
-        systemPrompt.append("옷차림: ").append(suspect.getOrDefault("outfit", "알 수 없음")).append("\n");
-        systemPrompt.append("알리바이: ").append(
-                suspect.containsKey("alibi") ? suspect.get("alibi").toString() : "알 수 없음"
-        ).append("\n");
-        systemPrompt.append("임무: ").append(suspect.getOrDefault("mission", "알 수 없음")).append("\n");
-        systemPrompt.append("샘플 대사: ").append(suspect.getOrDefault("sample_line", "없음")).append("\n");
-
-        systemPrompt.append("\n반드시 위 캐릭터 설정과 말투를 유지해서 대답하라.\n");
-
-        List<Map<String, String>> messages = new java.util.ArrayList<>();
-        messages.add(Map.of("role", "system", "content", systemPrompt.toString()));
-
-        // 3. 이전 로그 이어붙임
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> logs = (List<Map<String, Object>>) logMap.getOrDefault("logs", List.of());
-        for (Map<String, Object> l : logs) {
-            String role = "PLAYER".equals(l.get("speaker")) ? "user" : "assistant";
-            String contentMsg = (String) l.getOrDefault("message", "");
-            if (contentMsg != null && !contentMsg.isBlank()) {
-                messages.add(Map.of("role", role, "content", contentMsg));
-            }
+        // 2. system 프롬프트 (세션 시작 때 미리 만들어 둔 것이 있으면 그대로 사용)
+        SuspectPromptBuilder.SuspectPrompt prompt = warmupService.preparedPrompt(req.getSessionId(), req.getSuspectName());
+        if (prompt == null) {
+            Scenario scenario = sessionService.getScenario(req.getSessionId());
+            prompt = promptBuilder.systemPrompt(scenario, promptBuilder.parseContent(scenario), req.getSuspectName());
         }
 
-        // 4. 현재 질문 추가
-        messages.add(Map.of(
-                "role", "user",
-                "content", "[용의자:" + req.getSuspectName() + "] 플레이어 질문: " + req.getUserText()
-        ));
+        // 3~4. 이전 로그 + 현재 질문 → GPT 호출
+        String answer = generateAnswer(prompt, logs, req.getSuspectName(), req.getUserText());
 
-        // 5. GPT 호출
-        String answer = gptClient.chat(messages);
+        // 5. DB 로그 저장
+        appendLogWithRetry(req.getSessionId(), req.getSuspectName(), req.getUserText(), answer);
 
-        // 6. DB 로그 저장
-        sessionService.appendLog(req.getSessionId(), req.getSuspectName(), req.getUserText(), answer);
-
-        // 7. 응답 반환
+        // 6. 응답 반환
         NlpAskResponse resp = new NlpAskResponse();
         resp.setAnswer(answer);
-        return ResponseEntity.ok(resp);
+        return resp;
+    }
+
+    // 비회원 무상태 플레이: 기록 토큰 검증 → 답변 생성 → 한 턴 추가한 새 토큰 (DB 쓰기 없음)
+    private ResponseEntity<NlpAskResponse> askAsGuest(NlpAskRequest req) {
+        if (!guestTranscripts.enabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            GuestTranscriptService.Transcript t = guestTranscripts.open(req.getTranscript());
+            guestTranscripts.checkCanAsk(t, req.getUserText());
+            guestTranscripts.reserveAsk(t);
+
+            Scenario scenario = sessionService.findScenario(t.scenIdx());
+            SuspectPromptBuilder.SuspectPrompt prompt =
+                    promptBuilder.systemPrompt(scenario, promptBuilder.parseContent(scenario), req.getSuspectName());
+            String answer = generateAnswer(prompt, t.logs(), req.getSuspectName(), req.getUserText());
+
+            NlpAskResponse resp = new NlpAskResponse();
+            resp.setAnswer(answer);
+            resp.setTranscript(guestTranscripts.append(t, req.getSuspectName(), req.getUserText(), answer));
+            return ResponseEntity.ok(resp);
+        } catch (GuestTranscriptService.TranscriptTooLargeException e) {
+            return ResponseEntity.status(413).build();
+        } catch (GuestTranscriptService.AskLimitException e) {
+            return ResponseEntity.status(429).build();
+        } catch (GuestTranscriptService.InvalidTranscriptException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 짧은 되묻기/예·아니오 질문은 빠른 모델로, 응답 지연이 심하면 같은 질문의 최근 답변 재사용
+    private String generateAnswer(SuspectPromptBuilder.SuspectPrompt prompt, List<Map<String, Object>> logs,
+                                  String suspectName, String userText) {
+        List<Map<String, String>> messages = promptBuilder.messages(prompt, logs, suspectName, userText);
+
+        String answer = degradation.cachedAnswer(prompt.scenIdx(), suspectName, userText);
+        if (answer == null) {
+            ChatTier tier = tierClassifier.classify(prompt.scenIdx(), userText);
+            answer = gptClient.chat(messages, prompt.scenIdx(), tier);
+            degradation.remember(prompt.scenIdx(), suspectName, userText, answer);
+        }
+        return answer;
+    }
+
+    // ==============================
+    // 여러 용의자에게 같은 질문 (병렬 호출, 끝나는 순서대로 NDJSON 한 줄씩)
+    // {"suspectName":"..","answer":".."} / {"suspectName":"..","error":"timeout"} ... {"done":true,"logged":n}
+    // ==============================
+    @PostMapping("/ask-all")
+    public void askAll(@RequestBody SuspectBroadcastRequest req, HttpServletResponse response) throws IOException {
+        List<String> suspects;
+        try {
+            suspects = broadcastService.resolveSuspects(req.getSessionId(), req.getSuspectNames());
+        } catch (IllegalArgumentException e) {
+            response.sendError(400, e.getMessage());
+            return;
+        }
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            turnSequencer.inOrder(req.getSessionId(), () -> {
+                List<SuspectBroadcastService.Answer> answers = broadcastService.broadcast(
+                        req.getSessionId(), suspects, req.getUserText(), a -> writeLine(response, a.ok()
+                                ? Map.of("suspectName", a.suspectName(), "answer", a.answer())
+                                : Map.of("suspectName", a.suspectName(), "error", a.error())));
+
+                // 로그는 요청한 용의자 순서대로 한 번에 저장 (응답이 끝난 순서와 무관)
+                Map<String, String> logged = new LinkedHashMap<>();
+                for (SuspectBroadcastService.Answer a : answers) {
+                    if (a.ok()) logged.put(a.suspectName(), a.answer());
+                }
+                if (!logged.isEmpty()) appendLogsWithRetry(req.getSessionId(), req.getUserText(), logged);
+                writeLine(response, Map.of("done", true, "logged", logged.size()));
+                return null;
+            });
+        } catch (SessionTurnSequencer.TurnBusyException e) {
+            if (!response.isCommitted()) response.sendError(429);
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // 클라이언트 연결 끊김
+        }
+    }
+
+    private void writeLine(HttpServletResponse response, Map<String, Object> line) {
+        try {
+            response.getOutputStream().write(mapper.writeValueAsBytes(line));
+            response.getOutputStream().write('\n');
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendLogsWithRetry(Integer sessionId, String userText, Map<String, String> answers) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sessionService.appendLogs(sessionId, userText, answers);
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= APPEND_LOG_RETRIES) throw e;
+            }
+        }
+    }
+
+    // appendLog 는 매번 최신 로그를 다시 읽으므로 @Version 충돌 시 그대로 재시도하면 턴이 유실되지 않음
+    private void appendLogWithRetry(Integer sessionId, String suspectName, String userText, String answer) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sessionService.appendLog(sessionId, suspectName, userText, answer);
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= APPEND_LOG_RETRIES) throw e;
+            }
+        }
     }
 
     // ==============================
@@ -188,195 +278,212 @@ public class GameController {
     // ==============================
     @PostMapping("/result")
     public ResponseEntity<Map<String, Integer>> finish(@RequestBody GameFinishRequest req) {
+        if (req.getTranscript() != null) {
+            return finishAsGuest(req);
+        }
+        try {
+            // 같은 세션의 결과 요청은 하나로 합침 (재시도/더블 클릭 → 같은 resultId, 세션당 결과 1건)
+            Integer resultId = idempotencyService.execute(
+                    "result", String.valueOf(req.getSessionId()), null, () -> finishOnce(req));
+            return ResponseEntity.ok(Map.of("resultId", resultId));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", -1));
+        }
+    }
+
+    // 비회원 무상태 플레이: 이때 처음으로 세션 행을 만들고(기록 토큰의 로그) 평소 종료 처리
+    // 같은 게임(gid)은 세션 행 하나 (game_sessions.guest_gid 유니크) → 토큰 만료 전 어느 노드로 다시 보내도 같은 resultId
+    // 노드 안의 동시 재요청은 idempotency 로 하나로 합침
+    private ResponseEntity<Map<String, Integer>> finishAsGuest(GameFinishRequest req) {
+        if (!guestTranscripts.enabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        GuestTranscriptService.Transcript t;
+        try {
+            t = guestTranscripts.open(req.getTranscript());
+        } catch (GuestTranscriptService.TranscriptTooLargeException e) {
+            return ResponseEntity.status(413).body(Map.of("error", -1));
+        } catch (GuestTranscriptService.InvalidTranscriptException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", -1));
+        }
+        try {
+            Integer resultId = idempotencyService.execute("guest-result", t.gid(), null, () -> {
+                req.setSessionId(guestSessionId(t));
+                req.setScenIdx(t.scenIdx()); // 클라이언트 값이 아니라 토큰의 시나리오
+                req.setUserIdx(null);
+                return finishOnce(req);
+            });
+            return ResponseEntity.ok(Map.of("resultId", resultId));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", -1));
+        }
+    }
+
+    private Integer guestSessionId(GuestTranscriptService.Transcript t) {
         try {
-            // 1. 세션 로그
-            String logJsonStr = sessionService.getLogJson(req.getSessionId());
+            return sessionService.saveGuestSession(t.scenIdx(), t.gid(), guestTranscripts.logJson(t));
+        } catch (DataIntegrityViolationException e) {
+            return sessionService.findGuestSessionId(t.gid()).orElseThrow(() -> e);
+        }
+    }
 
-            // 2. NLP 요청 DTO 준비
-            NlpAnalyzeRequest analyzeReq = new NlpAnalyzeRequest();
-            analyzeReq.setSessionId(req.getSessionId());
-            analyzeReq.setLogJson(safeToMap(logJsonStr));
+    private Integer finishOnce(GameFinishRequest req) {
+        // 0. 이미 결과가 저장된 세션 (다른 노드에서 처리했거나 보관 시간이 지난 재요청) → 기존 결과 반환
+        Optional<Integer> existing = resultService.findResultId(req.getSessionId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
 
-            Scenario scenario = sessionService.getScenario(req.getSessionId());
-            Map<String, Object> content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> scenMeta = (Map<String, Object>) content.getOrDefault("scenario", Map.of());
-            String caseTitle = (String) scenMeta.getOrDefault("title", scenario.getScenTitle());
-            String caseSummary = (String) scenMeta.getOrDefault("summary", scenario.getScenSummary());
-
-            java.util.List<String> facts = new java.util.ArrayList<>();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> characters =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("characters", java.util.List.of());
-            for (Map<String, Object> ch : characters) {
-                Object alibi = ch.get("alibi");
-                if (alibi != null) {
-                    facts.add(ch.getOrDefault("name", "") + " 알리바이: " + alibi.toString());
-                }
-            }
+        // 1. 세션 로그
+        String logJsonStr = sessionService.getLogJson(req.getSessionId());
 
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> evidence =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("evidence", java.util.List.of());
-            for (Map<String, Object> ev : evidence) {
-                String name = String.valueOf(ev.getOrDefault("name", ""));
-                String desc = String.valueOf(ev.getOrDefault("desc", ""));
-                if (!name.isBlank()) {
-                    facts.add("증거: " + name + (desc.isBlank() ? "" : " - " + desc));
-                }
+        // 2. NLP 요청 DTO 준비
+        NlpAnalyzeRequest analyzeReq = new NlpAnalyzeRequest();
+        analyzeReq.setSessionId(req.getSessionId());
+        analyzeReq.setLogJson(safeToMap(logJsonStr));
+
+        // 컴파일된 시나리오 (scenario_characters / evidence / timeline / answer)
+        Scenario scenario = sessionService.getScenario(req.getSessionId());
+        CompiledScenario compiled = scenarioCompiler.load(scenario);
+        String caseTitle = compiled.getAnswer().getCaseTitle();
+        String caseSummary = compiled.getAnswer().getCaseSummary();
+
+        java.util.List<String> facts = new java.util.ArrayList<>();
+        for (ScenarioCharacter ch : compiled.getCharacters()) {
+            if (ch.getAlibi() != null) {
+                facts.add(ch.getName() + " 알리바이: " + ch.getAlibi());
             }
+        }
 
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> timeline =
-                    (java.util.List<Map<String, Object>>) content.getOrDefault("timeline", java.util.List.of());
-            for (Map<String, Object> t : timeline) {
-                String time = String.valueOf(t.getOrDefault("time", ""));
-                String event = String.valueOf(t.getOrDefault("event", ""));
-                if (!time.isBlank() && !event.isBlank()) {
-                    facts.add("타임라인 " + time + ": " + event);
-                }
+        for (ScenarioEvidence ev : compiled.getEvidence()) {
+            String name = ev.getName();
+            String desc = ev.getDescription();
+            if (!name.isBlank()) {
+                facts.add("증거: " + name + (desc.isBlank() ? "" : " - " + desc));
             }
+        }
 
-            if (facts.size() > 12) {
-                facts = facts.subList(0, 12);
+        for (ScenarioTimeline t : compiled.getTimeline()) {
+            if (!t.getTime().isBlank() && !t.getEvent().isBlank()) {
+                facts.add("타임라인 " + t.getTime() + ": " + t.getEvent());
             }
+        }
+
+        if (facts.size() > 12) {
+            facts = facts.subList(0, 12);
+        }
 
-            analyzeReq.setCaseTitle(caseTitle);
-            analyzeReq.setCaseSummary(caseSummary);
-            analyzeReq.setFacts(facts);
-            analyzeReq.setFinalAnswer(req.getAnswerJson());
-            analyzeReq.setTimings(req.getTimings());
-            analyzeReq.setEngine("hf");
+        analyzeReq.setCaseTitle(caseTitle);
+        analyzeReq.setCaseSummary(caseSummary);
+        analyzeReq.setFacts(facts);
+        analyzeReq.setFinalAnswer(req.getAnswerJson());
+        analyzeReq.setTimings(req.getTimings());
+        analyzeReq.setEngine("hf");
 
-            // 3. FastAPI 호출
-            NlpAnalyzeResponse analyzeResp = null;
+        // 3. FastAPI 호출
+        NlpAnalyzeResponse analyzeResp = null;
+        try {
+            analyzeResp = nlpClient.analyze(analyzeReq);
+        } catch (Exception e) {
+            System.err.println("NLP 분석 서버 호출 실패(hf): " + e.getMessage());
+        }
+        if (analyzeResp == null) {
+            // hf 실패 시 dummy 재시도
             try {
+                analyzeReq.setEngine("dummy");
                 analyzeResp = nlpClient.analyze(analyzeReq);
+                System.err.println("hf 실패 → dummy 엔진으로 대체 성공");
             } catch (Exception e) {
-                System.err.println("NLP 분석 서버 호출 실패(hf): " + e.getMessage());
-            }
-            if (analyzeResp == null) {
-                // hf 실패 시 dummy 재시도
-                try {
-                    analyzeReq.setEngine("dummy");
-                    analyzeResp = nlpClient.analyze(analyzeReq);
-                    System.err.println("hf 실패 → dummy 엔진으로 대체 성공");
-                } catch (Exception e) {
-                    System.err.println("dummy 엔진도 실패: " + e.getMessage());
-                }
+                System.err.println("dummy 엔진도 실패: " + e.getMessage());
             }
+        }
 
-            // 4. skills 결정 (기존 5개 점수)
-            Map<String, ?> chosen;
-            if (req.getSkills() != null) {
-                chosen = req.getSkills();
-            } else if (analyzeResp != null && analyzeResp.getSkills() != null) {
-                chosen = analyzeResp.getSkills();
-            } else {
-                chosen = Map.of();
-            }
-            Map<String, Integer> skillsToSave = coerceSkillInts(chosen);
-
-            // [ADD] 4-1. 정답 유사도 계산 → skillsJson에 함께 저장
-            Map<String, Object> answerTruth = (Map<String, Object>) content.getOrDefault("answer", Map.of());
-            String truthMotive = str(answerTruth.get("motive"));
-            String truthMethod = str(answerTruth.get("method"));
-            // key_evidence: ["e1","e3"] → 이름으로 치환해 비교문자열 구성
-            @SuppressWarnings("unchecked")
-            List<Object> keyEvIds = (List<Object>) answerTruth.getOrDefault("key_evidence", List.of());
-            Map<String, String> evIdToName = evidence.stream().collect(
-                    Collectors.toMap(
-                            ev -> String.valueOf(ev.getOrDefault("id", "")),
-                            ev -> String.valueOf(ev.getOrDefault("name", "")),
-                            (a, b) -> a,
-                            LinkedHashMap::new
-                    )
-            );
-            String truthEvidence = keyEvIds.stream()
-                    .map(id -> evIdToName.getOrDefault(String.valueOf(id), String.valueOf(id)))
-                    .collect(Collectors.joining(", "));
-
-            Map<String, Object> ans = req.getAnswerJson() != null ? req.getAnswerJson() : Map.of();
-            String playerMotive   = !str(ans.get("motive")).isEmpty()   ? str(ans.get("motive"))   : str(ans.get("why"));
-            String playerMethod   = !str(ans.get("method")).isEmpty()   ? str(ans.get("method"))   : str(ans.get("how"));
-            String playerEvidence = !str(ans.get("evidence")).isEmpty() ? str(ans.get("evidence")) : str(ans.get("evidenceText"));
-            String playerTime     = !str(ans.get("time")).isEmpty()     ? str(ans.get("time"))     : str(ans.get("when"));
-            String truthTime      = ""; // 필요시 content.answer.time 으로 확장
-
-            Map<String, Object> simPayload = new HashMap<>();
-            simPayload.put("motive_player",   playerMotive);
-            simPayload.put("motive_truth",    truthMotive);
-            simPayload.put("method_player",   playerMethod);
-            simPayload.put("method_truth",    truthMethod);
-            simPayload.put("evidence_player", playerEvidence);
-            simPayload.put("evidence_truth",  truthEvidence);
-            simPayload.put("time_player",     playerTime);
-            simPayload.put("time_truth",      truthTime);
-
-            Map<String, Object> simRes = null;
+        // 4. skills 결정 (기존 5개 점수)
+        Map<String, ?> chosen;
+        if (req.getSkills() != null) {
+            chosen = req.getSkills();
+        } else if (analyzeResp != null && analyzeResp.getSkills() != null) {
+            chosen = analyzeResp.getSkills();
+        } else {
+            chosen = Map.of();
+        }
+        Map<String, Integer> skillsToSave = coerceSkillInts(chosen);
+
+        // [ADD] 4-1. 정답 유사도 계산 → skillsJson에 함께 저장
+        String truthMotive = compiled.getAnswer().getMotive();
+        String truthMethod = compiled.getAnswer().getMethod();
+        // key_evidence: ["e1","e3"] → 이름으로 치환해 비교문자열 구성
+        String truthEvidence = compiled.keyEvidenceText();
+
+        Map<String, Object> ans = req.getAnswerJson() != null ? req.getAnswerJson() : Map.of();
+        String playerMotive   = !str(ans.get("motive")).isEmpty()   ? str(ans.get("motive"))   : str(ans.get("why"));
+        String playerMethod   = !str(ans.get("method")).isEmpty()   ? str(ans.get("method"))   : str(ans.get("how"));
+        String playerEvidence = !str(ans.get("evidence")).isEmpty() ? str(ans.get("evidence")) : str(ans.get("evidenceText"));
+        String playerTime     = !str(ans.get("time")).isEmpty()     ? str(ans.get("time"))     : str(ans.get("when"));
+        String truthTime      = ""; // 필요시 content.answer.time 으로 확장
+
+        Map<String, Object> simPayload = new HashMap<>();
+        simPayload.put("motive_player",   playerMotive);
+        simPayload.put("motive_truth",    truthMotive);
+        simPayload.put("method_player",   playerMethod);
+        simPayload.put("method_truth",    truthMethod);
+        simPayload.put("evidence_player", playerEvidence);
+        simPayload.put("evidence_truth",  truthEvidence);
+        simPayload.put("time_player",     playerTime);
+        simPayload.put("time_truth",      truthTime);
+
+        // 저장된 정답 임베딩과 비교 (플레이어 문장만 임베딩), 실패 시 FastAPI 유사도로 대체
+        Map<String, Object> simRes = null;
+        try {
+            simRes = truthEmbeddingService.similarity(scenario, playerMotive, playerMethod, playerEvidence);
+        } catch (Exception e) {
+            System.err.println("정답 임베딩 비교 실패 → /nlp/similarity 대체: " + e.getMessage());
             try {
-                simRes = nlpClient.similarity(simPayload); // ★ GameNlpClient에 메서드 추가 필요
-            } catch (Exception e) {
-                System.err.println("유사도 계산 실패: " + e.getMessage());
+                simRes = nlpClient.similarity(simPayload);
+            } catch (Exception e2) {
+                System.err.println("유사도 계산 실패: " + e2.getMessage());
             }
+        }
 
-            Map<String, Object> skillsJsonObj = new LinkedHashMap<>(skillsToSave);
-            if (simRes != null) {
-                Double sMot = asDouble(simRes.get("sim_motive"));
-                Double sMet = asDouble(simRes.get("sim_method"));
-                Double sEvd = asDouble(simRes.get("sim_evidence"));
-                Double sTim = asDouble(simRes.get("sim_time"));
-                if (sMot != null) skillsJsonObj.put("sim_motive", sMot);
-                if (sMet != null) skillsJsonObj.put("sim_method", sMet);
-                if (sEvd != null) skillsJsonObj.put("sim_evidence", sEvd);
-                if (sTim != null) skillsJsonObj.put("sim_time", sTim);
-                skillsJsonObj.put("sim_threshold", 0.75); // 프론트에서 O/X 임계값으로 사용
-            }
-            String skillsJsonStr = toJson(skillsJsonObj);
+        Map<String, Object> skillsJsonObj = new LinkedHashMap<>(skillsToSave);
+        if (simRes != null) {
+            Double sMot = asDouble(simRes.get("sim_motive"));
+            Double sMet = asDouble(simRes.get("sim_method"));
+            Double sEvd = asDouble(simRes.get("sim_evidence"));
+            Double sTim = asDouble(simRes.get("sim_time"));
+            if (sMot != null) skillsJsonObj.put("sim_motive", sMot);
+            if (sMet != null) skillsJsonObj.put("sim_method", sMet);
+            if (sEvd != null) skillsJsonObj.put("sim_evidence", sEvd);
+            if (sTim != null) skillsJsonObj.put("sim_time", sTim);
+            skillsJsonObj.put("sim_threshold", 0.75); // 프론트에서 O/X 임계값으로 사용
+        }
+        String skillsJsonStr = toJson(skillsJsonObj);
 
-            // 5. 정답 여부 계산
-            boolean isCorrect = checkCorrect(req);
+        // 5. 정답 여부 계산
+        boolean isCorrect = checkCorrect(req, compiled);
 
-            // 6. DB 저장
-            Integer resultId = resultService.saveResult(req, skillsJsonStr, isCorrect);
+        // 6. DB 저장 (game_results.session_id 유니크: 다른 노드가 먼저 저장했으면 그 결과 반환)
+        Integer resultId;
+        try {
+            resultId = resultService.saveResult(req, skillsJsonStr, isCorrect);
+        } catch (DataIntegrityViolationException e) {
+            return resultService.findSavedResultId(req.getSessionId()).orElseThrow(() -> e);
+        }
 
-            // 7. 세션 종료
-            sessionService.finishSession(req.getSessionId());
+        // 7. 세션 종료
+        sessionService.finishSession(req.getSessionId());
+        warmupService.discard(req.getSessionId());
 
-            return ResponseEntity.ok(Map.of("resultId", resultId));
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of("error", -1));
-        }
+        return resultId;
     }
 
-    private boolean checkCorrect(GameFinishRequest req) {
+    private boolean checkCorrect(GameFinishRequest req, CompiledScenario compiled) {
         try {
-            Scenario scenario = sessionService.getScenario(req.getSessionId());
-            Map<String, Object> content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> characters = (List<Map<String, Object>>) content.getOrDefault("characters", List.of());
-
             // ID/이름 모두 허용
-            String realCulpritId = characters.stream()
-                    .filter(c -> "범인".equals(c.get("role")))
-                    .map(c -> (String) c.get("id"))
-                    .findFirst()
-                    .orElse(null);
-
-            String realCulpritName = characters.stream()
-                    .filter(c -> "범인".equals(c.get("role")))
-                    .map(c -> (String) c.get("name"))
-                    .findFirst()
-                    .orElse(null);
+            String realCulpritId = compiled.getAnswer().getCulpritKey();
+            String realCulpritName = compiled.getAnswer().getCulpritName();
 
             if (req.getAnswerJson() != null) {
                 String chosen = str(req.getAnswerJson().get("culprit"));
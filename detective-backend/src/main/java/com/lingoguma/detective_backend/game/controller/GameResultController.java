@@ -3,11 +3,16 @@ package com.lingoguma.detective_backend.game.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.dto.GameResultResponse;
+import com.lingoguma.detective_backend.game.dto.UserSkillStatsResponse;
 import com.lingoguma.detective_backend.game.entity.GameResult;
 import com.lingoguma.detective_backend.game.repository.GameResultRepository;
 import com.lingoguma.detective_backend.game.service.GameNlpClient;
 import com.lingoguma.detective_backend.game.service.GameSessionService;
+import com.lingoguma.detective_backend.game.service.TruthEmbeddingService;
+import com.lingoguma.detective_backend.game.service.UserSkillProfileService;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +34,9 @@ public class GameResultController {
     // ⬇️ 유사도 계산에 필요 (추가)
     private final GameSessionService sessionService;
     private final GameNlpClient nlpClient;
+    private final TruthEmbeddingService truthEmbeddingService;
+    private final UserSkillProfileService skillProfileService;
+    private final ScenarioCompiler scenarioCompiler;
 
     // ==============================
     // 로그인한 사용자의 게임 기록 조회
@@ -50,6 +58,19 @@ public class GameResultController {
         return ResponseEntity.ok(results);
     }
 
+    // ==============================
+    // 로그인한 사용자의 스킬 통계 (user_skill_profile 한 행 조회)
+    // ==============================
+    @GetMapping("/me/stats")
+    public ResponseEntity<UserSkillStatsResponse> getMyStats(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(skillProfileService.getStats(userDetails.getUser().getUserIdx()));
+    }
+
     // ==============================
     // 단일 결과 조회 (본인만 / ADMIN은 다른 유저 것도 가능)
     // ==============================
@@ -169,57 +190,31 @@ public class GameResultController {
             String playerMethod  = firstNonEmpty(str(ans.get("how")), str(ans.get("method")));
             String playerEvidenceText = str(ans.get("evidenceText"));
 
-            // 시나리오 정답
+            // 시나리오 정답 (컴파일된 scenario_answer / characters / evidence 조회)
             Scenario scenario = sessionService.getScenario(gr.getSessionId());
-            Map<String, Object> content = mapper.readValue(
-                    scenario.getContentJson(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> answer = (Map<String, Object>) content.getOrDefault("answer", Map.of());
-
-            String truthCulpritId = str(answer.get("culprit"));
-            String truthMotive    = str(answer.get("motive"));
-            String truthMethod    = str(answer.get("method"));
-
-            @SuppressWarnings("unchecked")
-            List<Object> keyEvIdsRaw = (List<Object>) answer.getOrDefault("key_evidence", List.of());
-            List<String> keyEvIds = keyEvIdsRaw.stream().map(String::valueOf).collect(Collectors.toList());
-
-            // 캐릭터(id→name)
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> characters =
-                    (List<Map<String, Object>>) content.getOrDefault("characters", List.of());
-            Map<String, String> charIdToName = new HashMap<>();
-            for (Map<String, Object> c : characters) {
-                String cid = str(c.get("id"));
-                String cnm = str(c.get("name"));
-                if (!cid.isBlank() && !cnm.isBlank()) charIdToName.put(cid, cnm);
-            }
-            String truthCulpritName = charIdToName.getOrDefault(truthCulpritId, truthCulpritId);
-
-            // 증거(id→name)
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> evList =
-                    (List<Map<String, Object>>) content.getOrDefault("evidence", List.of());
-            Map<String, String> evIdToName = new HashMap<>();
-            for (Map<String, Object> ev : evList) {
-                String id = str(ev.get("id"));
-                String nm = str(ev.get("name"));
-                if (!id.isBlank() && !nm.isBlank()) evIdToName.put(id, nm);
-            }
+            CompiledScenario compiled = scenarioCompiler.load(scenario);
 
-            // ------ 동기/수법 유사도 (FastAPI 1회 호출)
-            Map<String, Object> req = new HashMap<>();
-            req.put("motive_player",  playerMotive);
-            req.put("motive_truth",   truthMotive);
-            req.put("method_player",  playerMethod);
-            req.put("method_truth",   truthMethod);
+            String truthCulpritId   = str(compiled.getAnswer().getCulpritKey());
+            String truthMotive      = str(compiled.getAnswer().getMotive());
+            String truthMethod      = str(compiled.getAnswer().getMethod());
+            List<String> keyEvIds   = compiled.keyEvidenceIds();
+            String truthCulpritName = compiled.charIdToName().getOrDefault(truthCulpritId, truthCulpritId);
+            Map<String, String> evIdToName = compiled.evIdToName();
+
+            // ------ 동기/수법 유사도 (저장된 정답 임베딩과 비교, 실패 시 FastAPI 1회 호출)
             Map<String, Object> sim = Map.of();
             try {
-                sim = nlpClient.similarity(req);
-            } catch (Exception ignore) { /* 서버 장애 시 0 처리 */ }
+                sim = truthEmbeddingService.similarity(scenario, playerMotive, playerMethod, "");
+            } catch (Exception e) {
+                Map<String, Object> req = new HashMap<>();
+                req.put("motive_player",  playerMotive);
+                req.put("motive_truth",   truthMotive);
+                req.put("method_player",  playerMethod);
+                req.put("method_truth",   truthMethod);
+                try {
+                    sim = nlpClient.similarity(req);
+                } catch (Exception ignore) { /* 서버 장애 시 0 처리 */ }
+            }
 
             double sMotive = toDouble(sim.get("sim_motive"), 0.0);
             double sMethod = toDouble(sim.get("sim_method"), 0.0);
@@ -234,7 +229,14 @@ public class GameResultController {
             List<PlayerEvidenceDTO> breakdown = new ArrayList<>();
             List<Double> pieceScores = new ArrayList<>();
 
-            for (String p : pieces) {
+            // 조각 전체를 한 번에 임베딩해서 저장된 증거 벡터와 비교 (실패 시 조각×증거 개별 호출)
+            List<Map<String, Double>> precomputed = null;
+            try {
+                precomputed = truthEmbeddingService.evidenceScores(scenario, pieces);
+            } catch (Exception ignore) { /* 아래 scoreEvidence 로 대체 */ }
+
+            for (int pi = 0; pi < pieces.size(); pi++) {
+                String p = pieces.get(pi);
                 if (p.isBlank()) continue;
 
                 String bestIdTmp = null;
@@ -244,7 +246,9 @@ public class GameResultController {
                 for (Map.Entry<String, String> entry : evIdToName.entrySet()) {
                     String id = entry.getKey();
                     String nm = entry.getValue();
-                    double score = scoreEvidence(p, nm);
+                    double score = precomputed != null
+                            ? (containsStrict(p, nm) ? 1.0 : precomputed.get(pi).getOrDefault(id, 0.0))
+                            : scoreEvidence(p, nm);
 
                     if (score > best) {
                         best = score;
@@ -12,4 +12,5 @@ public class GameFinishRequest {
     private Map<String, Object> answerJson; // 최종 답변/근거
     private Map<String, Object> skills;     // nlp 점수
     private Map<String,Object> timings;     // 타이머 정보
+    private String transcript;              // 비회원 무상태 플레이 기록 토큰 (있으면 sessionId 대신 사용)
 }
@@ -0,0 +1,23 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import com.lingoguma.detective_backend.game.entity.GameStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세션 내보내기용 행 (JPQL 생성자 projection)
+ * - 엔티티 대신 값만 읽어서 scenario/user 연관 로딩 없이 스트리밍
+ */
+@Getter
+@AllArgsConstructor
+public class GameSessionExportRow {
+    private Integer sessionId;
+    private Integer scenIdx;
+    private Integer userIdx;
+    private GameStatus status;
+    private String logJson;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -7,4 +7,5 @@ public class NlpAskRequest {
     private Integer sessionId;
     private String suspectName;
     private String userText;
+    private String transcript; // 비회원 무상태 플레이: sessionId 대신 기록 토큰 (game.guest.stateless=true)
 }
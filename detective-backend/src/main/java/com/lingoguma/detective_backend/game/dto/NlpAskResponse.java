@@ -1,8 +1,12 @@
 package com.lingoguma.detective_backend.game.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
 public class NlpAskResponse {
     private String answer;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String transcript; // 비회원 무상태 플레이: 이번 턴까지 담긴 새 기록 토큰
 }
@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FastAPI /nlp/embed 요청 DTO
+ * - 임베딩할 문장 목록 (빈 문장은 호출 측에서 미리 걸러서 보냄)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NlpEmbedRequest {
+    private List<String> texts;
+}
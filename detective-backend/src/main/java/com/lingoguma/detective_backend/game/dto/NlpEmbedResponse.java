@@ -0,0 +1,17 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * FastAPI /nlp/embed 응답 DTO
+ * - model: 임베딩 모델 이름 (저장된 정답 벡터와 모델이 다르면 재계산 필요)
+ * - vectors: 정규화된 임베딩 (요청 texts 순서와 동일)
+ */
+@Data
+public class NlpEmbedResponse {
+    private String model;
+    private Integer dim;
+    private List<List<Float>> vectors;
+}
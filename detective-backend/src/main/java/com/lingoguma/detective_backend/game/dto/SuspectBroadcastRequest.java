@@ -0,0 +1,12 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SuspectBroadcastRequest {
+    private Integer sessionId;
+    private List<String> suspectNames;
+    private String userText;
+}
@@ -0,0 +1,47 @@
+package com.lingoguma.detective_backend.game.dto;
+
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile;
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile.ScenarioBest;
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile.SkillStat;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /api/game-results/me/stats 응답
+ * - skills: 스킬별 {count, mean, variance, stddev}
+ * - scenarioBest: 시나리오ID → {best, solved, plays}
+ */
+@Data
+public class UserSkillStatsResponse {
+    private Integer userIdx;
+    private int gamesPlayed;
+    private int gamesCorrect;
+    private double winRate;
+    private Map<String, Map<String, Object>> skills;
+    private Map<String, ScenarioBest> scenarioBest;
+
+    public static UserSkillStatsResponse from(UserSkillProfile p, Map<String, SkillStat> skills,
+                                              Map<String, ScenarioBest> bests) {
+        UserSkillStatsResponse dto = new UserSkillStatsResponse();
+        dto.setUserIdx(p.getUserIdx());
+        dto.setGamesPlayed(p.getGamesPlayed());
+        dto.setGamesCorrect(p.getGamesCorrect());
+        dto.setWinRate(p.getGamesPlayed() > 0 ? (double) p.getGamesCorrect() / p.getGamesPlayed() : 0.0);
+
+        Map<String, Map<String, Object>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, SkillStat> e : skills.entrySet()) {
+            SkillStat s = e.getValue();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", s.getCount());
+            m.put("mean", s.getMean());
+            m.put("variance", s.variance());
+            m.put("stddev", Math.sqrt(s.variance()));
+            out.put(e.getKey(), m);
+        }
+        dto.setSkills(out);
+        dto.setScenarioBest(bests);
+        return dto;
+    }
+}
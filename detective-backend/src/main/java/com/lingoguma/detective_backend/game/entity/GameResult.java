@@ -5,8 +5,12 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * 게임 결과 (세션당 1건: session_id 유니크, 여러 노드의 동시 결과 요청도 한 건만 저장)
+ */
 @Entity
-@Table(name = "game_results")
+@Table(name = "game_results",
+        uniqueConstraints = @UniqueConstraint(name = "uk_game_results_session", columnNames = "session_id"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class GameResult {
@@ -1,5 +1,6 @@
 package com.lingoguma.detective_backend.game.entity;
 
+import com.lingoguma.detective_backend.global.jpa.CompressedJsonConverter;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import com.lingoguma.detective_backend.user.entity.User;
 import jakarta.persistence.*;
@@ -8,7 +9,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "game_sessions")
+@Table(name = "game_sessions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_game_sessions_guest_gid", columnNames = "guest_gid"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class GameSession {
@@ -29,8 +31,17 @@ public class GameSession {
     @Column(length = 20, nullable = false)
     private GameStatus status;   // PLAYING, FINISHED
 
-    @Column(columnDefinition = "JSON")
-    private String logJson;      // 세션 로그 JSON 한 줄 저장
+    @Convert(converter = CompressedJsonConverter.class)
+    @Column(columnDefinition = "LONGBLOB")
+    private String logJson;      // 세션 로그 JSON (압축 저장, db/json-compression.sql 참고)
+
+    @Column(name = "guest_gid", length = 32)
+    private String guestGid;     // 비회원 무상태 플레이의 게임 id (결과 저장 중복 방지, 그 외 세션은 null)
+
+    // 낙관적 잠금 (노드 간 동시 appendLog 시 한쪽 실패 → 재시도). 기존 행은 DEFAULT 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
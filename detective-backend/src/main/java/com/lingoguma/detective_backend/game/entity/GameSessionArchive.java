@@ -0,0 +1,71 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래된 종료 세션 보관용 (game_sessions 에서 옮겨옴)
+ * - sessionId 는 원래 세션 ID 그대로 (game_results.session_id 로 찾을 수 있게)
+ * - logGzip: logJson 을 gzip 압축한 값, logBytes: 압축 전 크기
+ * - ID 를 직접 넣으므로 Persistable 로 새 행임을 알림 → saveAll 이 행마다 SELECT(merge) 없이 persist (일괄 INSERT)
+ */
+@Entity
+@Table(
+        name = "game_session_archives",
+        indexes = @Index(name = "idx_session_archive_scen", columnList = "scen_idx")
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class GameSessionArchive implements Persistable<Integer> {
+
+    @Id
+    private Integer sessionId;
+
+    @Column(name = "scen_idx", nullable = false)
+    private Integer scenIdx;
+
+    private Integer userIdx;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private GameStatus status;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] logGzip;
+
+    private int logBytes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;   // 원래 세션의 마지막 갱신 시각
+    private LocalDateTime archivedAt;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean newEntity = true; // 조회/저장된 뒤에는 false
+
+    @Override
+    public Integer getId() {
+        return sessionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        this.newEntity = false;
+    }
+}
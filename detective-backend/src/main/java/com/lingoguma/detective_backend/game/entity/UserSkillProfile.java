@@ -0,0 +1,76 @@
+package com.lingoguma.detective_backend.game.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저별 스킬 통계 집계 (게임 결과 저장 시 같은 트랜잭션에서 갱신)
+ * - skillStatsJson: {"logic": {"count":3,"mean":71.3,"m2":120.6}, ...}  (Welford 누적값)
+ * - scenarioBestJson: {"12": {"best":82.4,"solved":true,"plays":2}, ...}
+ */
+@Entity
+@Table(name = "user_skill_profile")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class UserSkillProfile {
+
+    @Id
+    @Column(name = "user_idx")
+    private Integer userIdx;     // users.user_idx (1:1)
+
+    private int gamesPlayed;
+    private int gamesCorrect;
+
+    @Column(columnDefinition = "JSON")
+    private String skillStatsJson;
+
+    @Column(columnDefinition = "JSON")
+    private String scenarioBestJson;
+
+    private Integer lastResultId; // 마지막으로 반영한 결과 (백필/중복 반영 확인용)
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 스킬 하나의 누적 통계 (평균/분산은 Welford 방식으로 갱신)
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class SkillStat {
+        private long count;
+        private double mean;
+        private double m2;
+
+        public void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+        }
+
+        public double variance() {
+            return count > 0 ? m2 / count : 0.0;
+        }
+    }
+
+    // 시나리오별 최고 기록
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    public static class ScenarioBest {
+        private double best;
+        private boolean solved;
+        private int plays;
+    }
+}
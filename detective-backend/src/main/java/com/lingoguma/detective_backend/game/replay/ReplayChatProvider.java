@@ -0,0 +1,33 @@
+package com.lingoguma.detective_backend.game.replay;
+
+import com.lingoguma.detective_backend.game.chat.ChatOptions;
+import com.lingoguma.detective_backend.game.chat.ChatProvider;
+import com.lingoguma.detective_backend.game.chat.ChatResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기록된 GPT 답변으로 응답하는 공급자 (replay.stub.file 이 있을 때만 등록)
+ * - 재생 중에는 ChatRouter 가 이 공급자만 사용 → 외부 호출 없이 기록된 응답 시간대로 동작
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "replay.stub.file")
+public class ReplayChatProvider implements ChatProvider {
+
+    private final ReplayStubs stubs;
+
+    @Override
+    public String name() {
+        return "replay";
+    }
+
+    @Override
+    public ChatResult chat(List<Map<String, String>> messages, ChatOptions options) {
+        return new ChatResult(stubs.chat(messages), name(), 0, 0, 0);
+    }
+}
@@ -0,0 +1,213 @@
+package com.lingoguma.detective_backend.game.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 운영 트래픽 기록 (replay.record.enabled=true 일 때만)
+ * - api : 게임 API 요청 (method, path, query, body, status, 응답 시간) — ReplayRecordingFilter
+ * - chat: GptClient.chat 에 보낸 messages 와 답변, 응답 시간
+ * - nlp : NLP 서버 analyze/similarity/embed 요청과 응답, 응답 시간
+ * 한 줄에 이벤트 하나(NDJSON), 시작 시각 기준 오프셋(t, ms) 포함 → ReplayRunner/ReplayStubs 가 읽음
+ *
+ * - 파일 쓰기는 별도 스레드 (요청 처리 지연 없음), 대기열이 차면 버리고 dropped 로 집계
+ * - replay.record.redact=true 면 이메일/전화번호를 가리고 userIdx 를 지움 (모든 문자열에 같은 규칙 → 재생 시 일관됨)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplayRecorder {
+
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+    private static final Pattern PHONE = Pattern.compile("01[016789][- .]?\\d{3,4}[- .]?\\d{4}");
+    private static final Set<String> USER_FIELDS = Set.of("userIdx", "user_idx");
+
+    private final ObjectMapper mapper;
+
+    @Value("${replay.record.enabled:false}")
+    private boolean enabled;
+
+    @Value("${replay.record.dir:./replay}")
+    private String dir;
+
+    @Value("${replay.record.redact:false}")
+    private boolean redact;
+
+    @Value("${replay.record.queue-size:10000}")
+    private int queueSize;
+
+    private BlockingQueue<Map<String, Object>> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    private long startedAt;
+    private Path file;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) return;
+        Files.createDirectories(Path.of(dir));
+        file = Path.of(dir, "replay-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".ndjson");
+        queue = new ArrayBlockingQueue<>(queueSize);
+        startedAt = System.currentTimeMillis();
+        running = true;
+        writerThread = new Thread(this::drain, "replay-recorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        System.err.println("트래픽 기록 시작: " + file.toAbsolutePath() + (redact ? " (가림 처리)" : ""));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        writerThread.join(5_000);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // ==============================
+    // 기록
+    // ==============================
+    public void recordApi(String method, String path, String query, String body, Integer sessionId,
+                          int status, long startedAtMs, long latencyMs) {
+        if (!enabled) return;
+        Map<String, Object> e = event("api", startedAtMs, latencyMs);
+        e.put("method", method);
+        e.put("path", path);
+        e.put("query", redactQuery(query));
+        e.put("body", redactJson(body));
+        e.put("sessionId", sessionId);
+        e.put("status", status);
+        offer(e);
+    }
+
+    public void recordChat(List<Map<String, String>> messages, Integer scenIdx, String tier,
+                           String answer, long startedAtMs, long latencyMs) {
+        if (!enabled) return;
+        Map<String, Object> e = event("chat", startedAtMs, latencyMs);
+        e.put("scenIdx", scenIdx);
+        e.put("tier", tier);
+        e.put("messages", redactValue(messages));
+        e.put("answer", redactText(answer));
+        offer(e);
+    }
+
+    public void recordNlp(String endpoint, Object request, Object response, long startedAtMs, long latencyMs) {
+        if (!enabled) return;
+        Map<String, Object> e = event("nlp", startedAtMs, latencyMs);
+        e.put("endpoint", endpoint);
+        e.put("request", redactValue(mapper.convertValue(request, Object.class)));
+        e.put("response", redactValue(mapper.convertValue(response, Object.class)));
+        offer(e);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("file", file == null ? null : file.toAbsolutePath().toString());
+        out.put("redact", redact);
+        out.put("recorded", recorded.sum());
+        out.put("dropped", dropped.sum());
+        return out;
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+    private Map<String, Object> event(String kind, long startedAtMs, long latencyMs) {
+        Map<String, Object> e = new LinkedHashMap<>();
+        e.put("kind", kind);
+        e.put("t", startedAtMs - startedAt);
+        e.put("latencyMs", latencyMs);
+        return e;
+    }
+
+    private void offer(Map<String, Object> e) {
+        if (!queue.offer(e)) dropped.increment();
+    }
+
+    private void drain() {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (running || !queue.isEmpty()) {
+                Map<String, Object> e = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (e == null) {
+                    w.flush();
+                    continue;
+                }
+                w.write(mapper.writeValueAsString(e));
+                w.newLine();
+                recorded.increment();
+            }
+        } catch (IOException e) {
+            System.err.println("트래픽 기록 실패: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String redactText(String s) {
+        if (!redact || s == null) return s;
+        return PHONE.matcher(EMAIL.matcher(s).replaceAll("[이메일]")).replaceAll("[전화번호]");
+    }
+
+    // JSON 본문은 구조를 살려서 가림 (파싱 실패 시 문자열 그대로 가림)
+    private Object redactJson(String body) {
+        if (body == null || body.isEmpty()) return null;
+        try {
+            return redactValue(mapper.readValue(body, Object.class));
+        } catch (Exception e) {
+            return redactText(body);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object redactValue(Object v) {
+        if (!redact || v == null) return v;
+        if (v instanceof String s) return redactText(s);
+        if (v instanceof Map<?, ?> m) {
+            Map<String, Object> out = new LinkedHashMap<>();
+            ((Map<String, Object>) m).forEach((k, val) -> {
+                if (!USER_FIELDS.contains(k)) out.put(k, redactValue(val));
+            });
+            return out;
+        }
+        if (v instanceof List<?> l) {
+            List<Object> out = new ArrayList<>(l.size());
+            for (Object o : l) out.add(redactValue(o));
+            return out;
+        }
+        return v;
+    }
+
+    private String redactQuery(String query) {
+        if (!redact || query == null) return query;
+        StringJoiner out = new StringJoiner("&");
+        for (String kv : query.split("&")) {
+            String key = kv.split("=", 2)[0];
+            if (!USER_FIELDS.contains(key)) out.add(redactText(kv));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.lingoguma.detective_backend.game.replay;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 게임 API 요청 기록 (ReplayRecorder 가 켜져 있을 때만 동작)
+ * - 요청 본문은 컨트롤러가 읽은 만큼 복사해 둠, 응답 본문은 세션 시작(새 sessionId)만 복사
+ *   (/ask-all 처럼 스트리밍하는 응답은 감싸지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplayRecordingFilter extends OncePerRequestFilter {
+
+    private static final String START_PATH = "/api/game/session/start";
+    private static final int MAX_BODY_BYTES = 256 * 1024;
+    private static final Pattern SESSION_ID = Pattern.compile("\"sessionId\"\\s*:\\s*(\\d+)");
+
+    private final ReplayRecorder recorder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !recorder.enabled() || !request.getRequestURI().startsWith("/api/game/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingRequestWrapper req = new ContentCachingRequestWrapper(request, MAX_BODY_BYTES);
+        boolean start = START_PATH.equals(request.getRequestURI());
+        ContentCachingResponseWrapper startResp = start ? new ContentCachingResponseWrapper(response) : null;
+
+        long started = System.currentTimeMillis();
+        try {
+            chain.doFilter(req, start ? startResp : response);
+        } finally {
+            long latency = System.currentTimeMillis() - started;
+            String body = new String(req.getContentAsByteArray(), StandardCharsets.UTF_8);
+            Integer sessionId;
+            if (start) {
+                sessionId = parseInt(new String(startResp.getContentAsByteArray(), StandardCharsets.UTF_8).trim());
+                startResp.copyBodyToResponse();
+            } else {
+                sessionId = sessionId(req, body);
+            }
+            recorder.recordApi(request.getMethod(), request.getRequestURI(), request.getQueryString(), body,
+                    sessionId, start ? startResp.getStatus() : response.getStatus(), started, latency);
+        }
+    }
+
+    private static Integer sessionId(HttpServletRequest req, String body) {
+        Matcher m = SESSION_ID.matcher(body);
+        if (m.find()) return parseInt(m.group(1));
+        return parseInt(req.getParameter("sessionId"));
+    }
+
+    private static Integer parseInt(String s) {
+        try {
+            return s == null ? null : Integer.valueOf(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.lingoguma.detective_backend.game.replay;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기록 파일(ReplayRecorder)의 게임 API 요청을 백엔드에 다시 보내는 도구 (스프링 없이 실행)
+ * - 세션마다 기록된 순서와 간격대로 보냄 (speed 배 빠르게, 0 이면 기다리지 않음), 세션끼리는 동시에
+ * - 세션 시작 응답의 새 sessionId 로 이후 요청의 sessionId 를 바꿔서 보냄
+ * - 끝나면 경로별 요청 수/오류/p50/p95/p99 를 기록 당시 값과 나란히 출력
+ *
+ * 재생 대상 백엔드는 외부 호출을 기록으로 대신하도록 띄움:
+ *   --replay.stub.file=replay/replay-xxx.ndjson [--replay.stub.speed=1]  (stub 파일이 있으면 replay 공급자만 사용)
+ * 실행:
+ *   java -cp target/detective-backend-*.jar -Dloader.main=com.lingoguma.detective_backend.game.replay.ReplayRunner \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher replay/replay-xxx.ndjson http://localhost:8080 1.0
+ */
+public class ReplayRunner {
+
+    private static final String START_PATH = "/api/game/session/start";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final double speed;
+
+    private final ConcurrentHashMap<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Queue<Long>> recordedLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    ReplayRunner(String baseUrl, double speed) {
+        this.baseUrl = baseUrl.replaceAll("/+$", "");
+        this.speed = speed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("사용법: ReplayRunner <기록 파일> [baseUrl=http://localhost:8080] [speed=1.0] [동시 세션 수=256]");
+            System.exit(1);
+        }
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:8080";
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        new ReplayRunner(baseUrl, speed).run(Path.of(args[0]), concurrency);
+    }
+
+    void run(Path file, int concurrency) throws Exception {
+        // 1. 세션별로 묶기 (sessionId 없는 요청은 각자 따로)
+        Map<Object, List<Map<String, Object>>> sessions = new LinkedHashMap<>();
+        int n = 0;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                Map<String, Object> e = mapper.readValue(line, new TypeReference<Map<String, Object>>() {});
+                if (!"api".equals(e.get("kind"))) continue;
+                Object key = e.get("sessionId") != null ? e.get("sessionId") : "single-" + n;
+                sessions.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+                recordedLatencies.computeIfAbsent(label(e), k -> new ConcurrentLinkedQueue<>())
+                        .add(((Number) e.get("latencyMs")).longValue());
+                n++;
+            }
+        }
+        System.out.println("재생: 요청 " + n + "건, 세션 " + sessions.size() + "개, speed=" + speed + " → " + baseUrl);
+
+        // 2. 세션별 순서대로, 세션끼리는 동시에
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, sessions.size())));
+        long t0 = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<Map<String, Object>> events : sessions.values()) {
+            events.sort(Comparator.comparingLong(e -> ((Number) e.get("t")).longValue()));
+            futures.add(pool.submit(() -> replaySession(events, t0)));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        double elapsedSec = (System.nanoTime() - t0) / 1e9;
+
+        // 3. 요약
+        long total = latencies.values().stream().mapToLong(Queue::size).sum();
+        System.out.printf("완료: %d건, %.1f초, %.1f req/s%n", total, elapsedSec, total / elapsedSec);
+        System.out.printf("%-32s %6s %6s %8s %8s %8s %8s | %8s %8s%n",
+                "경로", "요청", "오류", "p50", "p95", "p99", "max", "기록p50", "기록p95");
+        for (String label : new TreeSet<>(recordedLatencies.keySet())) {
+            long[] now = sorted(latencies.get(label));
+            long[] rec = sorted(recordedLatencies.get(label));
+            System.out.printf("%-32s %6d %6d %8d %8d %8d %8d | %8d %8d%n",
+                    label, now.length, errors.containsKey(label) ? errors.get(label).sum() : 0,
+                    pct(now, 0.50), pct(now, 0.95), pct(now, 0.99), now.length == 0 ? 0 : now[now.length - 1],
+                    pct(rec, 0.50), pct(rec, 0.95));
+        }
+    }
+
+    private void replaySession(List<Map<String, Object>> events, long t0) {
+        Integer newSessionId = null;
+        for (Map<String, Object> e : events) {
+            // 기록된 시각까지 대기
+            if (speed > 0) {
+                long dueNanos = t0 + (long) (((Number) e.get("t")).longValue() / speed * 1_000_000);
+                long waitMs = (dueNanos - System.nanoTime()) / 1_000_000;
+                if (waitMs > 0) {
+                    try {
+                        Thread.sleep(waitMs);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+
+            String label = label(e);
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> resp = http.send(request(e, newSessionId), HttpResponse.BodyHandlers.ofString());
+                latencies.computeIfAbsent(label, k -> new ConcurrentLinkedQueue<>())
+                        .add((System.nanoTime() - started) / 1_000_000);
+                if (resp.statusCode() >= 400) {
+                    errors.computeIfAbsent(label, k -> new LongAdder()).increment();
+                } else if (START_PATH.equals(e.get("path"))) {
+                    newSessionId = Integer.valueOf(resp.body().trim());
+                }
+            } catch (Exception ex) {
+                errors.computeIfAbsent(label, k -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpRequest request(Map<String, Object> e, Integer sessionId) throws Exception {
+        String path = (String) e.get("path");
+        String query = (String) e.get("query");
+        if (query != null && sessionId != null) {
+            query = query.replaceAll("(^|&)sessionId=\\d+", "$1sessionId=" + sessionId);
+        }
+        URI uri = URI.create(baseUrl + path + (query == null || query.isEmpty() ? "" : "?" + query));
+
+        Object body = e.get("body");
+        if (body instanceof Map<?, ?> m && sessionId != null && m.containsKey("sessionId")) {
+            Map<String, Object> copy = new LinkedHashMap<>((Map<String, Object>) m);
+            copy.put("sessionId", sessionId);
+            body = copy;
+        }
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(
+                        body instanceof String s ? s : mapper.writeValueAsString(body), StandardCharsets.UTF_8);
+
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMinutes(2))
+                .header("Content-Type", "application/json")
+                .method((String) e.get("method"), publisher)
+                .build();
+    }
+
+    private static String label(Map<String, Object> e) {
+        return e.get("method") + " " + e.get("path");
+    }
+
+    private static long[] sorted(Queue<Long> q) {
+        if (q == null) return new long[0];
+        long[] a = q.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(a);
+        return a;
+    }
+
+    private static long pct(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * p) - 1)];
+    }
+}
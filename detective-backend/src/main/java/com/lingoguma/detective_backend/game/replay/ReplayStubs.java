@@ -0,0 +1,187 @@
+package com.lingoguma.detective_backend.game.replay;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.NlpEmbedResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기록 파일로 외부 호출(GPT, NLP)을 대신 응답 (replay.stub.file 이 있을 때만 동작)
+ * - 재생 중에는 백엔드만 실제로 돌고, GPT/NLP 는 기록된 답변을 기록된 응답 시간만큼 기다렸다가 돌려줌
+ *   (replay.stub.speed: 1 = 기록 그대로, 2 = 절반, 0 = 기다리지 않음)
+ * - GPT: 마지막 질문(용의자 + 질문 내용) 기준으로 찾음 → 프롬프트 구성이 바뀌어도 같은 답변
+ *   같은 질문이 여러 번이면 기록 순서대로 돌아가며, 없으면 같은 종류 기록 중 하나
+ * - NLP: 요청 본문(sessionId 제외) 기준, 없으면 같은 엔드포인트 기록 중 하나
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplayStubs {
+
+    private final ObjectMapper mapper;
+
+    @Value("${replay.stub.file:}")
+    private String stubFile;
+
+    @Value("${replay.stub.speed:1.0}")
+    private double speed;
+
+    private final Map<String, List<Recorded>> chatByQuestion = new HashMap<>();
+    private final List<Recorded> chatAll = new ArrayList<>();
+    private final Map<String, Map<String, List<Recorded>>> nlpByRequest = new HashMap<>();
+    private final Map<String, List<Recorded>> nlpAll = new HashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private record Recorded(Object value, long latencyMs) {}
+
+    @PostConstruct
+    void load() throws IOException {
+        if (!active()) return;
+        try (BufferedReader r = Files.newBufferedReader(Path.of(stubFile), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                Map<String, Object> e = mapper.readValue(line, new TypeReference<Map<String, Object>>() {});
+                long latency = ((Number) e.getOrDefault("latencyMs", 0)).longValue();
+                if ("chat".equals(e.get("kind"))) {
+                    Recorded rec = new Recorded(e.get("answer"), latency);
+                    chatAll.add(rec);
+                    chatByQuestion.computeIfAbsent(lastUserMessage(e.get("messages")), k -> new ArrayList<>()).add(rec);
+                } else if ("nlp".equals(e.get("kind"))) {
+                    String endpoint = String.valueOf(e.get("endpoint"));
+                    Recorded rec = new Recorded(e.get("response"), latency);
+                    nlpAll.computeIfAbsent(endpoint, k -> new ArrayList<>()).add(rec);
+                    nlpByRequest.computeIfAbsent(endpoint, k -> new HashMap<>())
+                            .computeIfAbsent(requestKey(e.get("request")), k -> new ArrayList<>()).add(rec);
+                }
+            }
+        }
+        System.err.println("재생용 응답 로드: GPT " + chatAll.size() + "건, NLP "
+                + nlpAll.values().stream().mapToInt(List::size).sum() + "건 (" + stubFile + ")");
+    }
+
+    public boolean active() {
+        return stubFile != null && !stubFile.isBlank();
+    }
+
+    public String chat(List<Map<String, String>> messages) {
+        String key = lastUserMessage(messages);
+        Recorded rec = pick("chat", key, chatByQuestion.get(key), chatAll);
+        if (rec == null) {
+            throw new IllegalStateException("재생용 GPT 응답이 없습니다: " + stubFile);
+        }
+        pause(rec.latencyMs());
+        return String.valueOf(rec.value());
+    }
+
+    public <T> T nlp(String endpoint, Object request, Class<T> type) {
+        String key = requestKey(mapper.convertValue(request, Object.class));
+        Recorded rec = pick("nlp:" + endpoint, key,
+                nlpByRequest.getOrDefault(endpoint, Map.of()).get(key), nlpAll.get(endpoint));
+        if (rec == null) {
+            throw new IllegalStateException("재생용 NLP 응답이 없습니다: " + endpoint);
+        }
+        pause(rec.latencyMs());
+        return mapper.convertValue(rec.value(), type);
+    }
+
+    // 임베딩은 문장 수가 맞아야 하므로, 기록이 없거나 개수가 다르면 문장 해시로 만든 정규화 벡터
+    public NlpEmbedResponse embed(List<String> texts) {
+        NlpEmbedResponse rec = nlp("embed", Map.of("texts", texts), NlpEmbedResponse.class);
+        if (rec.getVectors() != null && rec.getVectors().size() == texts.size()) return rec;
+
+        int dim = rec.getDim() != null ? rec.getDim() : 384;
+        List<List<Float>> vectors = new ArrayList<>();
+        for (String t : texts) {
+            Random rnd = new Random(t.hashCode());
+            float[] v = new float[dim];
+            double norm = 0;
+            for (int i = 0; i < dim; i++) {
+                v[i] = (float) rnd.nextGaussian();
+                norm += v[i] * v[i];
+            }
+            List<Float> out = new ArrayList<>(dim);
+            for (float x : v) out.add((float) (x / Math.sqrt(norm)));
+            vectors.add(out);
+        }
+        rec.setVectors(vectors);
+        return rec;
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "active", active(),
+                "hits", hits.sum(),
+                "fallbacks", fallbacks.sum()
+        );
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+    // 같은 키의 기록을 순서대로 돌아가며 사용 (없으면 같은 종류 전체에서)
+    private Recorded pick(String kind, String key, List<Recorded> exact, List<Recorded> any) {
+        List<Recorded> from = exact;
+        String cursorKey = kind + "|" + key;
+        if (from == null || from.isEmpty()) {
+            from = any;
+            cursorKey = kind;
+            fallbacks.increment();
+        } else {
+            hits.increment();
+        }
+        if (from == null || from.isEmpty()) return null;
+        int i = cursors.computeIfAbsent(cursorKey, k -> new AtomicInteger()).getAndIncrement();
+        return from.get(Math.floorMod(i, from.size()));
+    }
+
+    private void pause(long latencyMs) {
+        if (speed <= 0 || latencyMs <= 0) return;
+        try {
+            Thread.sleep((long) (latencyMs / speed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String lastUserMessage(Object messages) {
+        if (!(messages instanceof List<?> list)) return "";
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) instanceof Map<?, ?> m && "user".equals(m.get("role"))) {
+                return String.valueOf(m.get("content"));
+            }
+        }
+        return "";
+    }
+
+    // sessionId 는 재생할 때마다 달라지므로 제외
+    @SuppressWarnings("unchecked")
+    private String requestKey(Object request) {
+        try {
+            if (request instanceof Map<?, ?> m) {
+                Map<String, Object> copy = new TreeMap<>((Map<String, Object>) m);
+                copy.remove("sessionId");
+                return mapper.writeValueAsString(copy);
+            }
+            return mapper.writeValueAsString(request);
+        } catch (Exception e) {
+            return String.valueOf(request);
+        }
+    }
+}
@@ -1,19 +1,43 @@
 package com.lingoguma.detective_backend.game.repository;
 
 import com.lingoguma.detective_backend.game.entity.GameResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface GameResultRepository extends JpaRepository<GameResult, Integer> {
     // 특정 유저의 모든 게임 조회
     List<GameResult> findByUserIdx(Integer userIdx);
+    List<GameResult> findByUserIdxOrderByResultIdAsc(Integer userIdx);
+
+    // 결과가 있는 회원 목록 (스킬 통계 백필용)
+    @Query("select distinct g.userIdx from GameResult g where g.userIdx is not null")
+    List<Integer> findDistinctUserIdx();
 
     // 세션 ID 기반 단일 결과 조회
     Optional<GameResult> findBySessionId(Integer sessionId);
     Optional<GameResult> findTopBySessionIdOrderByResultIdDesc(Integer sessionId);
+
+    // 관리자 내보내기: 한 행씩 스트리밍 (fetch size = Integer.MIN_VALUE → MySQL 드라이버 row streaming)
+    // - 트랜잭션 안에서만 사용, 사용 후 반드시 close
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select g from GameResult g " +
+           "where (:scenIdx is null or g.scenIdx = :scenIdx) " +
+           "and (:from is null or g.createdAt >= :from) " +
+           "and (:to is null or g.createdAt < :to) " +
+           "order by g.resultId")
+    Stream<GameResult> streamForExport(@Param("scenIdx") Integer scenIdx,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
 }
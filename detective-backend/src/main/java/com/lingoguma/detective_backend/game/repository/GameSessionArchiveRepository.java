@@ -0,0 +1,15 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.GameSessionArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface GameSessionArchiveRepository extends JpaRepository<GameSessionArchive, Integer> {
+
+    // 시나리오 삭제 시 보관 세션도 한 번에 삭제
+    @Modifying
+    @Query("delete from GameSessionArchive a where a.scenIdx = :scenIdx")
+    int deleteAllByScenIdx(@Param("scenIdx") Integer scenIdx);
+}
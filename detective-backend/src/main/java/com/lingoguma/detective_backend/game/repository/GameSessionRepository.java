@@ -1,11 +1,23 @@
 package com.lingoguma.detective_backend.game.repository;
 
+import com.lingoguma.detective_backend.game.dto.GameSessionExportRow;
 import com.lingoguma.detective_backend.game.entity.GameSession;
+import com.lingoguma.detective_backend.game.entity.GameStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GameSessionRepository extends JpaRepository<GameSession, Integer> {
 
@@ -13,6 +25,57 @@ public interface GameSessionRepository extends JpaRepository<GameSession, Intege
 
     List<GameSession> findByScenario(Scenario scenario);
 
-    // 특정 시나리오에 연결된 모든 세션 삭제
-    void deleteByScenario_ScenIdx(Integer scenIdx);
+    // 비회원 무상태 플레이: 같은 게임(gid)으로 이미 만든 세션
+    @Query("select s.sessionId from GameSession s where s.guestGid = :gid")
+    Optional<Integer> findIdByGuestGid(@Param("gid") String gid);
+
+    // 특정 시나리오에 연결된 모든 세션 삭제 (엔티티 로딩 없이 DELETE 한 번)
+    @Modifying
+    @Query("delete from GameSession s where s.scenario.scenIdx = :scenIdx")
+    int deleteByScenario_ScenIdx(@Param("scenIdx") Integer scenIdx);
+
+    // 보관 대상 세션 (sessionId 기준 keyset, 한 번에 pageable 크기만큼)
+    @Query("select new com.lingoguma.detective_backend.game.dto.GameSessionExportRow(" +
+           "s.sessionId, s.scenario.scenIdx, u.userIdx, s.status, s.logJson, s.createdAt, s.updatedAt) " +
+           "from GameSession s left join s.user u " +
+           "where s.status = :status and coalesce(s.updatedAt, s.createdAt) < :cutoff " +
+           "and s.sessionId > :afterId order by s.sessionId")
+    List<GameSessionExportRow> findArchiveBatch(@Param("status") GameStatus status,
+                                                @Param("cutoff") LocalDateTime cutoff,
+                                                @Param("afterId") Integer afterId,
+                                                Pageable pageable);
+
+    // 오래 방치된 세션 ID (sessionId 기준 keyset)
+    @Query("select s.sessionId from GameSession s " +
+           "where s.status = :status and coalesce(s.updatedAt, s.createdAt) < :cutoff " +
+           "and s.sessionId > :afterId order by s.sessionId")
+    List<Integer> findStaleIds(@Param("status") GameStatus status,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               @Param("afterId") Integer afterId,
+                               Pageable pageable);
+
+    @Modifying
+    @Query("delete from GameSession s where s.sessionId in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Integer> ids);
+
+    // 조회 후 다시 갱신된 세션은 건너뛰도록 조건을 한 번 더 확인하며 삭제
+    @Modifying
+    @Query("delete from GameSession s where s.sessionId in :ids " +
+           "and s.status = :status and coalesce(s.updatedAt, s.createdAt) < :cutoff")
+    int deleteStaleByIdIn(@Param("ids") List<Integer> ids,
+                          @Param("status") GameStatus status,
+                          @Param("cutoff") LocalDateTime cutoff);
+
+    // 관리자 내보내기: 세션 로그 스트리밍 (GameResultRepository.streamForExport 와 동일 방식)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select new com.lingoguma.detective_backend.game.dto.GameSessionExportRow(" +
+           "s.sessionId, s.scenario.scenIdx, u.userIdx, s.status, s.logJson, s.createdAt, s.updatedAt) " +
+           "from GameSession s left join s.user u " +
+           "where (:scenIdx is null or s.scenario.scenIdx = :scenIdx) " +
+           "and (:from is null or s.createdAt >= :from) " +
+           "and (:to is null or s.createdAt < :to) " +
+           "order by s.sessionId")
+    Stream<GameSessionExportRow> streamForExport(@Param("scenIdx") Integer scenIdx,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,25 @@
+package com.lingoguma.detective_backend.game.repository;
+
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserSkillProfileRepository extends JpaRepository<UserSkillProfile, Integer> {
+
+    // 결과 반영 시 같은 유저의 동시 갱신을 막기 위해 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from UserSkillProfile p where p.userIdx = :userIdx")
+    Optional<UserSkillProfile> findForUpdate(@Param("userIdx") Integer userIdx);
+
+    // 첫 결과가 동시에 두 건 들어와도 행은 하나만 생기도록 (이미 있으면 아무것도 안 함)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_skill_profile (user_idx, games_played, games_correct, created_at, updated_at) "
+            + "VALUES (:userIdx, 0, 0, NOW(), NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("userIdx") Integer userIdx);
+}
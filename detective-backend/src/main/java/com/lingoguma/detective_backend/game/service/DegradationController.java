@@ -0,0 +1,225 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GPT 응답 지연에 따른 단계별 품질 낮추기 (노드별)
+ * - 최근 window-ms 동안의 대화 생성 p95 와 동시 호출 수를 eval-ms 마다 확인
+ * - 기준을 넘으면 step-up-ms 마다 한 단계씩 올리고, 충분히 낮은 상태가 step-down-ms 이어지면 한 단계씩 내림
+ *
+ * 단계 (위 단계는 아래 단계 조치를 모두 포함)
+ * 0 NORMAL        : 평소대로
+ * 1 SHORT_HISTORY : 이전 로그를 최근 몇 턴만
+ * 2 LOW_TOKENS    : 답변 길이 제한
+ * 3 FAST_TIER     : 모든 질문을 빠른 모델(SIMPLE)로
+ * 4 LOCAL_CACHED  : 로컬 공급자 우선 + 같은 용의자에게 같은 질문이면 최근 답변 재사용
+ *
+ * 관리자가 단계를 고정할 수 있음 (override), auto 로 되돌리면 다시 자동 조절
+ */
+@Component
+public class DegradationController {
+
+    public enum Level { NORMAL, SHORT_HISTORY, LOW_TOKENS, FAST_TIER, LOCAL_CACHED }
+
+    private static final int WINDOW_SAMPLES = 500;
+
+    @Value("${game.degrade.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.degrade.window-ms:30000}")
+    private long windowMs;
+
+    @Value("${game.degrade.p95-high-ms:8000}")
+    private long p95HighMs;
+
+    @Value("${game.degrade.p95-low-ms:4000}")
+    private long p95LowMs;
+
+    @Value("${game.degrade.inflight-high:40}")
+    private int inflightHigh;
+
+    @Value("${game.degrade.inflight-low:15}")
+    private int inflightLow;
+
+    @Value("${game.degrade.step-up-ms:10000}")
+    private long stepUpMs;
+
+    @Value("${game.degrade.step-down-ms:30000}")
+    private long stepDownMs;
+
+    // SHORT_HISTORY 이상에서 보낼 이 용의자와의 최근 턴 수 / 다른 인물 요약 턴 수
+    @Value("${game.degrade.history-turns:6}")
+    private int historyTurns;
+
+    @Value("${game.degrade.digest-turns:3}")
+    private int digestTurns;
+
+    // LOW_TOKENS 이상에서 답변 길이 제한
+    @Value("${game.degrade.max-tokens:200}")
+    private int maxTokens;
+
+    // 최근 답변 재사용 (LOCAL_CACHED 에서만 사용, 평소에도 저장은 함)
+    private final Cache<String, String> answers = Caffeine.newBuilder()
+            .maximumSize(5_000)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .build();
+
+    private final long[] at = new long[WINDOW_SAMPLES];
+    private final long[] latencyMs = new long[WINDOW_SAMPLES];
+    private int next;
+    private int filled;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder cachedServed = new LongAdder();
+    private final LongAdder levelChanges = new LongAdder();
+
+    private volatile Level level = Level.NORMAL;
+    private volatile Level override; // null 이면 자동
+    private long lastChangeMs = System.currentTimeMillis();
+    private long calmSinceMs = -1;
+
+    // ==============================
+    // 상태 조회 (요청 처리 중)
+    // ==============================
+    public Level level() {
+        Level o = override;
+        return o != null ? o : level;
+    }
+
+    public boolean atLeast(Level l) {
+        return level().ordinal() >= l.ordinal();
+    }
+
+    // 이 용의자와의 턴을 최근 몇 개만 보낼지 (0: 전부)
+    public int historyTurnLimit() {
+        return atLeast(Level.SHORT_HISTORY) ? historyTurns : 0;
+    }
+
+    public int digestTurnLimit(int normal) {
+        return atLeast(Level.SHORT_HISTORY) ? Math.min(normal, digestTurns) : normal;
+    }
+
+    // 답변 길이 제한 (0: 제한 없음)
+    public int maxTokensCap() {
+        return atLeast(Level.LOW_TOKENS) ? maxTokens : 0;
+    }
+
+    // ==============================
+    // 관측 (GptClient 에서 호출)
+    // ==============================
+    public void callStarted() {
+        inflight.incrementAndGet();
+    }
+
+    public void callFinished(long elapsedMs) {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            at[next] = System.currentTimeMillis();
+            latencyMs[next] = elapsedMs;
+            next = (next + 1) % WINDOW_SAMPLES;
+            if (filled < WINDOW_SAMPLES) filled++;
+        }
+    }
+
+    // ==============================
+    // 최근 답변 재사용
+    // ==============================
+    public void remember(Integer scenIdx, String suspectName, String userText, String answer) {
+        if (scenIdx == null || answer == null) return;
+        answers.put(answerKey(scenIdx, suspectName, userText), answer);
+    }
+
+    // LOCAL_CACHED 단계에서만 재사용 (없으면 null)
+    public String cachedAnswer(Integer scenIdx, String suspectName, String userText) {
+        if (scenIdx == null || !atLeast(Level.LOCAL_CACHED)) return null;
+        String a = answers.getIfPresent(answerKey(scenIdx, suspectName, userText));
+        if (a != null) cachedServed.increment();
+        return a;
+    }
+
+    private static String answerKey(Integer scenIdx, String suspectName, String userText) {
+        String q = userText == null ? "" : userText.toLowerCase(Locale.ROOT).replaceAll("[\\s\\p{Punct}]+", "");
+        return scenIdx + "|" + suspectName + "|" + q;
+    }
+
+    // ==============================
+    // 단계 조절
+    // ==============================
+    @Scheduled(fixedDelayString = "${game.degrade.eval-ms:2000}")
+    public synchronized void evaluate() {
+        if (!enabled) {
+            level = Level.NORMAL;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long p95 = p95(now);
+        int q = inflight.get();
+
+        boolean pressure = p95 > p95HighMs || q > inflightHigh;
+        boolean calm = p95 < p95LowMs && q < inflightLow;
+
+        if (pressure) {
+            calmSinceMs = -1;
+            if (level != Level.LOCAL_CACHED && now - lastChangeMs >= stepUpMs) {
+                change(Level.values()[level.ordinal() + 1], now, p95, q);
+            }
+        } else if (calm) {
+            if (calmSinceMs < 0) calmSinceMs = now;
+            if (level != Level.NORMAL && now - calmSinceMs >= stepDownMs && now - lastChangeMs >= stepDownMs) {
+                change(Level.values()[level.ordinal() - 1], now, p95, q);
+            }
+        } else {
+            calmSinceMs = -1;
+        }
+    }
+
+    private void change(Level to, long now, long p95, int q) {
+        System.err.println("응답 품질 단계 변경: " + level + " → " + to + " (p95=" + p95 + "ms, 동시 호출=" + q + ")");
+        level = to;
+        lastChangeMs = now;
+        levelChanges.increment();
+    }
+
+    private synchronized long p95(long now) {
+        long[] recent = new long[filled];
+        int n = 0;
+        for (int i = 0; i < filled; i++) {
+            if (now - at[i] <= windowMs) recent[n++] = latencyMs[i];
+        }
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(recent, n);
+        Arrays.sort(sorted);
+        return sorted[Math.min(n - 1, (int) Math.ceil(n * 0.95) - 1)];
+    }
+
+    // 관리자 고정 (null: 자동)
+    public void override(Level l) {
+        override = l;
+        System.err.println("응답 품질 단계 " + (l == null ? "자동 조절로 전환" : "고정: " + l));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("level", level().name());
+        out.put("levelNumber", level().ordinal());
+        out.put("mode", override != null ? "override" : (enabled ? "auto" : "disabled"));
+        out.put("autoLevel", level.name());
+        out.put("p95Ms", p95(System.currentTimeMillis()));
+        out.put("inflight", inflight.get());
+        out.put("levelChanges", levelChanges.sum());
+        out.put("cachedAnswersServed", cachedServed.sum());
+        return out;
+    }
+}
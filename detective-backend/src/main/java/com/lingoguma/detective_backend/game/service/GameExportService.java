@@ -0,0 +1,170 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.GameSessionExportRow;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 관리자용 게임 결과/세션 내보내기 (NDJSON 또는 CSV)
+ * - DB 커서를 한 행씩 읽어서 바로 out 에 씀 → 테이블 크기와 무관하게 메모리 일정
+ * - 결과 엔티티는 쓰고 나서 바로 detach (영속성 컨텍스트에 쌓이지 않게)
+ * - gzip 여부/응답 헤더는 호출 측(AdminController)에서 처리
+ */
+@Lazy // 관리자 기능에서만 사용 → 처음 쓸 때 생성
+@Service
+@RequiredArgsConstructor
+public class GameExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] RESULT_COLUMNS =
+            {"resultId", "sessionId", "scenIdx", "userIdx", "correct", "answerJson", "skillsJson", "createdAt"};
+    private static final String[] SESSION_COLUMNS =
+            {"sessionId", "scenIdx", "userIdx", "status", "logJson", "createdAt", "updatedAt"};
+
+    private final GameResultRepository resultRepository;
+    private final GameSessionRepository sessionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+
+    // 게임 결과 내보내기 (반환: 행 수)
+    @Transactional(readOnly = true)
+    public long exportResults(Integer scenIdx, LocalDateTime from, LocalDateTime to,
+                              Format format, OutputStream out) throws IOException {
+        RowWriter writer = new RowWriter(format, RESULT_COLUMNS, out);
+        try (Stream<GameResult> rows = resultRepository.streamForExport(scenIdx, from, to)) {
+            rows.forEach(gr -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("resultId", gr.getResultId());
+                row.put("sessionId", gr.getSessionId());
+                row.put("scenIdx", gr.getScenIdx());
+                row.put("userIdx", gr.getUserIdx());
+                row.put("correct", gr.isCorrect());
+                row.put("answerJson", gr.getAnswerJson());
+                row.put("skillsJson", gr.getSkillsJson());
+                row.put("createdAt", gr.getCreatedAt());
+                writer.write(row);
+                entityManager.detach(gr);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.finish();
+    }
+
+    // 세션(대화 로그) 내보내기 (반환: 행 수)
+    @Transactional(readOnly = true)
+    public long exportSessions(Integer scenIdx, LocalDateTime from, LocalDateTime to,
+                               Format format, OutputStream out) throws IOException {
+        RowWriter writer = new RowWriter(format, SESSION_COLUMNS, out);
+        try (Stream<GameSessionExportRow> rows = sessionRepository.streamForExport(scenIdx, from, to)) {
+            rows.forEach(s -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("sessionId", s.getSessionId());
+                row.put("scenIdx", s.getScenIdx());
+                row.put("userIdx", s.getUserIdx());
+                row.put("status", s.getStatus() != null ? s.getStatus().name() : null);
+                row.put("logJson", s.getLogJson());
+                row.put("createdAt", s.getCreatedAt());
+                row.put("updatedAt", s.getUpdatedAt());
+                writer.write(row);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.finish();
+    }
+
+    // ==============================
+    // 행 단위 출력
+    // ==============================
+    private class RowWriter {
+        private final Format format;
+        private final String[] columns;
+        private final OutputStream out;
+        private long count;
+
+        RowWriter(Format format, String[] columns, OutputStream out) throws IOException {
+            this.format = format;
+            this.columns = columns;
+            this.out = out;
+            if (format == Format.CSV) {
+                out.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}); // 엑셀 한글 깨짐 방지 BOM
+                out.write((String.join(",", columns) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void write(Map<String, Object> row) {
+            try {
+                if (format == Format.NDJSON) {
+                    writeJsonLine(row);
+                } else {
+                    writeCsvLine(row);
+                }
+                if (++count % 500 == 0) out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long finish() throws IOException {
+            out.flush();
+            return count;
+        }
+
+        private void writeJsonLine(Map<String, Object> row) throws IOException {
+            // JSON 컬럼은 문자열이 아니라 객체 그대로 내보냄
+            Map<String, Object> obj = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> e : row.entrySet()) {
+                Object v = e.getValue();
+                obj.put(e.getKey(), e.getKey().endsWith("Json") ? rawJson((String) v) : v);
+            }
+            out.write(mapper.writeValueAsBytes(obj));
+            out.write('\n');
+        }
+
+        private void writeCsvLine(Map<String, Object> row) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) sb.append(',');
+                Object v = row.get(columns[i]);
+                sb.append(csv(v == null ? "" : String.valueOf(v)));
+            }
+            sb.append('\n');
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private JsonNode rawJson(String json) {
+        if (json == null) return null;
+        try {
+            return mapper.readTree(json);
+        } catch (Exception e) {
+            return mapper.getNodeFactory().textNode(json);
+        }
+    }
+
+    private static String csv(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
@@ -2,6 +2,10 @@ package com.lingoguma.detective_backend.game.service;
 
 import com.lingoguma.detective_backend.game.dto.NlpAnalyzeRequest;
 import com.lingoguma.detective_backend.game.dto.NlpAnalyzeResponse;
+import com.lingoguma.detective_backend.game.dto.NlpEmbedRequest;
+import com.lingoguma.detective_backend.game.dto.NlpEmbedResponse;
+import com.lingoguma.detective_backend.game.replay.ReplayRecorder;
+import com.lingoguma.detective_backend.game.replay.ReplayStubs;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -11,6 +15,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,6 +29,8 @@ import java.util.Map;
 public class GameNlpClient {
 
     private final RestTemplate restTemplate;
+    private final ReplayRecorder recorder;
+    private final ReplayStubs replayStubs;
 
     @Value("${nlp.base-url}")
     private String nlpBaseUrl;          // 예: http://localhost:8000
@@ -32,6 +39,11 @@ public class GameNlpClient {
     private String defaultEngine;       // 예: hf 또는 dummy (기본 hf)
 
     public NlpAnalyzeResponse analyze(NlpAnalyzeRequest req) {
+        // 재생 모드: 기록된 응답 사용
+        if (replayStubs.active()) {
+            return replayStubs.nlp("analyze", req, NlpAnalyzeResponse.class);
+        }
+
         // 1) 사용할 엔진 결정: 요청 값 > 기본값
         final String engine = (req.getEngine() != null && !req.getEngine().isBlank())
                 ? req.getEngine() : defaultEngine;
@@ -58,9 +70,11 @@ public class GameNlpClient {
         HttpEntity<NlpAnalyzeRequest> entity = new HttpEntity<>(req, headers);
 
         try {
+            long started = System.currentTimeMillis();
             ResponseEntity<NlpAnalyzeResponse> resp = restTemplate.exchange(
                     uri, HttpMethod.POST, entity, NlpAnalyzeResponse.class
             );
+            recorder.recordNlp("analyze", req, resp.getBody(), started, System.currentTimeMillis() - started);
             return resp.getBody();
         } catch (RestClientException e) {
             // 호출 실패 시 상위에서 처리할 수 있게 런타임 예외로 래핑하거나 null 반환
@@ -72,13 +86,38 @@ public class GameNlpClient {
 
     // FastAPI: POST /nlp/similarity
     // payload 예: { motive_player, motive_truth, method_player, method_truth, evidence_player, evidence_truth, time_player, time_truth }
+    @SuppressWarnings("unchecked")
     public Map<String, Object> similarity(Map<String, Object> payload) {
+    if (replayStubs.active()) {
+        return replayStubs.nlp("similarity", payload, Map.class);
+    }
     String url = nlpBaseUrl + "/nlp/similarity"; // baseUrl은 기존 analyze와 동일한 프리픽스
+    long started = System.currentTimeMillis();
     ResponseEntity<Map> res = restTemplate.postForEntity(url, payload, Map.class);
-    @SuppressWarnings("unchecked")
     Map<String, Object> body = (Map<String, Object>) res.getBody();
+    recorder.recordNlp("similarity", payload, body, started, System.currentTimeMillis() - started);
     return body != null ? body : Map.of();
 }
 
-    
+    // FastAPI: POST /nlp/embed
+    // payload 예: { texts: ["...", "..."] } → { model, dim, vectors: [[...], [...]] }
+    // - /nlp/similarity 와 같은 모델의 정규화 임베딩 (TruthEmbeddingService 에서 코사인 직접 계산)
+    public NlpEmbedResponse embed(List<String> texts) {
+        if (replayStubs.active()) {
+            return replayStubs.embed(texts);
+        }
+        String url = nlpBaseUrl + "/nlp/embed";
+        try {
+            long started = System.currentTimeMillis();
+            NlpEmbedRequest req = new NlpEmbedRequest(texts);
+            NlpEmbedResponse body = restTemplate.postForObject(url, req, NlpEmbedResponse.class);
+            recorder.recordNlp("embed", req, body, started, System.currentTimeMillis() - started);
+            if (body == null || body.getVectors() == null || body.getVectors().size() != texts.size()) {
+                throw new RuntimeException("NLP 임베딩 응답이 올바르지 않습니다.");
+            }
+            return body;
+        } catch (RestClientException e) {
+            throw new RuntimeException("NLP 임베딩 호출 실패: " + e.getMessage(), e);
+        }
+    }
 }
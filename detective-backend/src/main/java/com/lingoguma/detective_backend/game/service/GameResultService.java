@@ -5,11 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.dto.GameFinishRequest;
 import com.lingoguma.detective_backend.game.entity.GameResult;
 import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -17,7 +20,22 @@ public class GameResultService {
 
     private final GameResultRepository repo;
     private final ObjectMapper mapper; // Bean 주입
+    private final UserSkillProfileService skillProfileService;
+    private final ScenarioStatsService statsService;
 
+    // 세션에 이미 저장된 결과 (결과 요청 재시도 시 새로 저장하지 않기 위해)
+    @Transactional(readOnly = true)
+    public Optional<Integer> findResultId(Integer sessionId) {
+        return repo.findTopBySessionIdOrderByResultIdDesc(sessionId).map(GameResult::getResultId);
+    }
+
+    // 유니크 키 충돌 직후 조회: 다른 요청이 방금 커밋한 행이므로 복제본이 아닌 기본 DB 에서 읽음
+    @Transactional
+    public Optional<Integer> findSavedResultId(Integer sessionId) {
+        return repo.findTopBySessionIdOrderByResultIdDesc(sessionId).map(GameResult::getResultId);
+    }
+
+    // 같은 세션 결과가 이미 있으면 DataIntegrityViolationException (game_results.session_id 유니크)
     @Transactional
     public Integer saveResult(GameFinishRequest req, String skillsJsonStr, boolean isCorrect) {
         try {
@@ -37,7 +55,15 @@ public class GameResultService {
                     .isCorrect(isCorrect) // 서버 계산 correct 반영
                     .build();
 
-            return repo.save(gr).getResultId();
+            GameResult saved = repo.save(gr);
+
+            // 유저 스킬 통계 누적 (같은 트랜잭션)
+            skillProfileService.apply(saved);
+            statsService.recordResult(saved.getScenIdx(), isCorrect);
+
+            return saved.getResultId();
+        } catch (DataIntegrityViolationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("결과 저장 실패", e);
         }
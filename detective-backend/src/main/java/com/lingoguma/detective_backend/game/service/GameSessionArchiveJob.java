@@ -0,0 +1,108 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.GameSessionExportRow;
+import com.lingoguma.detective_backend.game.entity.GameStatus;
+import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 보관/정리 스케줄러
+ * - FINISHED 후 archive-after-days 가 지난 세션 → game_session_archives 로 이동 (로그 gzip)
+ * - PLAYING 상태로 playing-ttl-hours 이상 갱신 없는 세션(주로 이탈한 게스트) → 삭제
+ * - sessionId keyset 으로 batch-size 씩, 한 번 실행에 max-batches 까지만 처리
+ * - 마지막 실행 결과: GET /api/admin/sessions/archive
+ */
+@Component
+@RequiredArgsConstructor
+public class GameSessionArchiveJob {
+
+    private final GameSessionRepository sessionRepository;
+    private final GameSessionArchiveWriter writer;
+
+    @Value("${game.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.archive.archive-after-days:30}")
+    private int archiveAfterDays;
+
+    @Value("${game.archive.playing-ttl-hours:24}")
+    private int playingTtlHours;
+
+    @Value("${game.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${game.archive.max-batches:100}")
+    private int maxBatches;
+
+    private volatile LocalDateTime lastRunAt;
+    private volatile int lastArchived;
+    private volatile int lastReaped;
+
+    @Scheduled(cron = "${game.archive.cron:0 30 4 * * *}")
+    public void scheduled() {
+        if (!enabled) return;
+        run();
+    }
+
+    // 반환: {보관 수, 삭제 수}
+    public synchronized int[] run() {
+        int archived = archiveFinished(LocalDateTime.now().minusDays(archiveAfterDays));
+        int reaped = reapPlaying(LocalDateTime.now().minusHours(playingTtlHours));
+        lastRunAt = LocalDateTime.now();
+        lastArchived = archived;
+        lastReaped = reaped;
+        return new int[]{archived, reaped};
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("lastRunAt", lastRunAt);
+        out.put("lastArchived", lastArchived);
+        out.put("lastReaped", lastReaped);
+        return out;
+    }
+
+    private int archiveFinished(LocalDateTime cutoff) {
+        int total = 0;
+        int afterId = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<GameSessionExportRow> rows = sessionRepository.findArchiveBatch(
+                    GameStatus.FINISHED, cutoff, afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) break;
+            afterId = rows.get(rows.size() - 1).getSessionId();
+            try {
+                total += writer.archiveBatch(rows);
+            } catch (Exception e) {
+                System.err.println("세션 보관 실패(~" + afterId + "): " + e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    private int reapPlaying(LocalDateTime cutoff) {
+        int total = 0;
+        int afterId = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<Integer> ids = sessionRepository.findStaleIds(
+                    GameStatus.PLAYING, cutoff, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) break;
+            afterId = ids.get(ids.size() - 1);
+            try {
+                total += writer.reapBatch(ids, cutoff);
+            } catch (Exception e) {
+                System.err.println("방치 세션 정리 실패(~" + afterId + "): " + e.getMessage());
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,81 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.GameSessionExportRow;
+import com.lingoguma.detective_backend.game.entity.GameSessionArchive;
+import com.lingoguma.detective_backend.game.entity.GameStatus;
+import com.lingoguma.detective_backend.game.repository.GameSessionArchiveRepository;
+import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 세션 보관/정리 배치 1회분 (배치마다 트랜잭션 하나)
+ * - archiveBatch: 보관 테이블에 압축 저장 후 game_sessions 에서 삭제
+ * - reapBatch: 방치된 PLAYING 세션 삭제
+ */
+@Component
+@RequiredArgsConstructor
+public class GameSessionArchiveWriter {
+
+    private final GameSessionRepository sessionRepository;
+    private final GameSessionArchiveRepository archiveRepository;
+
+    @Transactional
+    public int archiveBatch(List<GameSessionExportRow> rows) {
+        List<GameSessionArchive> archives = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (GameSessionExportRow r : rows) {
+            byte[] raw = (r.getLogJson() == null ? "{\"logs\":[]}" : r.getLogJson()).getBytes(StandardCharsets.UTF_8);
+            archives.add(GameSessionArchive.builder()
+                    .sessionId(r.getSessionId())
+                    .scenIdx(r.getScenIdx())
+                    .userIdx(r.getUserIdx())
+                    .status(r.getStatus())
+                    .logGzip(gzip(raw))
+                    .logBytes(raw.length)
+                    .createdAt(r.getCreatedAt())
+                    .updatedAt(r.getUpdatedAt())
+                    .build());
+            ids.add(r.getSessionId());
+        }
+        archiveRepository.saveAll(archives);
+        return sessionRepository.deleteAllByIdIn(ids);
+    }
+
+    @Transactional
+    public int reapBatch(List<Integer> ids, LocalDateTime cutoff) {
+        return sessionRepository.deleteStaleByIdIn(ids, GameStatus.PLAYING, cutoff);
+    }
+
+    // 보관된 로그 복원
+    public static String readLog(GameSessionArchive archive) {
+        if (archive.getLogGzip() == null) return "{\"logs\":[]}";
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(archive.getLogGzip()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 세션 로그 압축 해제 실패: " + archive.getSessionId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+}
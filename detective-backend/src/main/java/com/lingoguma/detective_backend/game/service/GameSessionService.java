@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lingoguma.detective_backend.game.entity.GameSession;
 import com.lingoguma.detective_backend.game.entity.GameStatus;
+import com.lingoguma.detective_backend.game.repository.GameSessionArchiveRepository;
 import com.lingoguma.detective_backend.game.repository.GameSessionRepository;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,15 +17,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class GameSessionService {
 
     private final GameSessionRepository repo;
+    private final GameSessionArchiveRepository archiveRepository;
     private final ScenarioRepository scenarioRepository;
     private final UserRepository userRepository;
     private final ObjectMapper mapper;
+    private final ScenarioStatsService statsService;
 
     // 세션 시작
     @Transactional
@@ -45,22 +50,65 @@ public class GameSessionService {
                 .build();
 
         GameSession saved = repo.save(session);
+        statsService.recordSessionStart(scenIdx, userIdx);
         return saved.getSessionId();
     }
 
-    // 세션에 연결된 시나리오 조회
+    // 비회원 무상태 플레이 결과 저장 시 세션 행 생성 (기록 토큰의 로그 그대로, 종료 상태로 한 번에)
+    // 같은 gid 의 세션이 이미 있으면 그 세션 (guest_gid 유니크 → 동시에 만들면 한쪽은 DataIntegrityViolationException)
+    @Transactional
+    public Integer saveGuestSession(Integer scenIdx, String guestGid, String logJson) {
+        Optional<Integer> existing = repo.findIdByGuestGid(guestGid);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Scenario scenario = scenarioRepository.findById(scenIdx)
+                .orElseThrow(() -> new RuntimeException("시나리오 없음"));
+
+        GameSession session = GameSession.builder()
+                .scenario(scenario)
+                .status(GameStatus.FINISHED)
+                .logJson(logJson)
+                .guestGid(guestGid)
+                .build();
+        return repo.saveAndFlush(session).getSessionId();
+    }
+
+    // 동시에 저장된 같은 gid 의 세션 (방금 커밋된 행이므로 기본 DB 에서 읽도록 readOnly 아님)
+    @Transactional
+    public Optional<Integer> findGuestSessionId(String guestGid) {
+        return repo.findIdByGuestGid(guestGid);
+    }
+
+    // 시나리오 조회 (비회원 무상태 플레이: 세션 없이 시나리오만)
+    @Transactional(readOnly = true)
+    public Scenario findScenario(Integer scenIdx) {
+        return scenarioRepository.findById(scenIdx)
+                .orElseThrow(() -> new RuntimeException("시나리오 없음"));
+    }
+
+    // 세션에 연결된 시나리오 조회 (보관된 세션도 조회)
     @Transactional(readOnly = true)
     public Scenario getScenario(Integer sessionId) {
-        GameSession s = repo.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("세션 없음"));
-        return s.getScenario();
+        GameSession s = repo.findById(sessionId).orElse(null);
+        if (s != null) {
+            return s.getScenario();
+        }
+        Integer scenIdx = archiveRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("세션 없음"))
+                .getScenIdx();
+        return scenarioRepository.findById(scenIdx)
+                .orElseThrow(() -> new RuntimeException("시나리오 없음"));
     }
 
-    // 세션 로그 가져오기
+    // 세션 로그 가져오기 (보관된 세션은 압축 해제)
     @Transactional(readOnly = true)
     public String getLogJson(Integer sessionId) {
-        GameSession s = repo.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("세션 없음"));
+        GameSession s = repo.findById(sessionId).orElse(null);
+        if (s == null) {
+            return GameSessionArchiveWriter.readLog(archiveRepository.findById(sessionId)
+                    .orElseThrow(() -> new RuntimeException("세션 없음")));
+        }
         return (s.getLogJson() == null || s.getLogJson().isBlank())
                 ? "{\"logs\":[]}" : s.getLogJson();
     }
@@ -68,6 +116,12 @@ public class GameSessionService {
     // 세션 로그 업데이트 (질문/답변 추가)
     @Transactional
     public void appendLog(Integer sessionId, String suspectName, String userText, String aiAnswer) {
+        appendLogs(sessionId, userText, Map.of(suspectName, aiAnswer));
+    }
+
+    // 같은 질문에 대한 여러 용의자 답변을 한 번에 추가 (answers 순서대로, 용의자마다 질문/답변 한 쌍)
+    @Transactional
+    public void appendLogs(Integer sessionId, String userText, Map<String, String> answers) {
         GameSession s = repo.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("세션 없음"));
 
@@ -82,24 +136,29 @@ public class GameSessionService {
                     new TypeReference<List<Map<String, Object>>>() {}
             );
 
-            int turn = logs.size() / 2 + 1;
+            for (Map.Entry<String, String> a : answers.entrySet()) {
+                int turn = logs.size() / 2 + 1;
 
-            logs.add(Map.of(
-                    "turn", turn,
-                    "speaker", "PLAYER",
-                    "message", userText
-            ));
+                logs.add(Map.of(
+                        "turn", turn,
+                        "speaker", "PLAYER",
+                        "message", userText
+                ));
 
-            logs.add(Map.of(
-                    "turn", turn,
-                    "speaker", "AI",
-                    "suspect", suspectName,
-                    "message", aiAnswer
-            ));
+                logs.add(Map.of(
+                        "turn", turn,
+                        "speaker", "AI",
+                        "suspect", a.getKey(),
+                        "message", a.getValue()
+                ));
+            }
 
             root.put("logs", logs);
             s.setLogJson(mapper.writeValueAsString(root));
             repo.save(s);
+            for (int i = 0; i < answers.size(); i++) {
+                statsService.recordTurn(s.getScenario().getScenIdx());
+            }
 
         } catch (Exception e) {
             throw new RuntimeException("세션 로그 업데이트 실패", e);
@@ -1,54 +1,162 @@
 package com.lingoguma.detective_backend.game.service;
 
+import com.lingoguma.detective_backend.game.chat.ChatOptions;
+import com.lingoguma.detective_backend.game.chat.ChatProvider;
+import com.lingoguma.detective_backend.game.chat.ChatResult;
+import com.lingoguma.detective_backend.game.chat.ChatRouter;
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.game.replay.ReplayRecorder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
+/**
+ * 게임에서 쓰는 대화 생성 창구
+ * - 실제 호출은 ChatRouter 가 공급자(OpenAI, 로컬, 가짜)를 골라서 처리
+ * - 여기서는 토큰 사용량/프롬프트 캐시 적중률만 집계
+ */
 @Component
 @RequiredArgsConstructor
 public class GptClient {
 
-    private final RestTemplate restTemplate;
+    private final ChatRouter router;
+    private final DegradationController degradation;
+    private final ReplayRecorder recorder;
 
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    // 캐시된 입력 토큰 요금 비율 (gpt-4o-mini: 일반 입력의 50%)
+    @Value("${openai.cached-input-ratio:0.5}")
+    private double cachedInputRatio;
 
-    public String chat(List<Map<String, String>> messages) {
-        String url = "https://api.openai.com/v1/chat/completions";
+    // 호출 통계 (프롬프트 캐시 적중률, 캐시 적중/미적중 응답 시간)
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder cachedTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+    private final LongAdder cachedCalls = new LongAdder();
+    private final LongAdder cachedLatencyMs = new LongAdder();
+    private final LongAdder uncachedLatencyMs = new LongAdder();
 
-        Map<String, Object> body = Map.of(
-                "model", "gpt-4o-mini",
-                "messages", messages,
-                "temperature", 0.7
-        );
+    // 모델 계층별 호출 수/응답 시간/토큰
+    private final Map<ChatTier, TierCounters> tiers = tierCounters();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openaiApiKey);
+    // 시작 워밍업 중인 스레드의 공급자 (있으면 라우터 대신 사용)
+    private final ThreadLocal<ChatProvider> inProcess = new ThreadLocal<>();
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+    /**
+     * body 안에서 이 스레드의 대화 생성을 provider 로만 처리 (시작 워밍업의 가짜 공급자용)
+     * - 호출 통계, 재생 기록, 응답 지연 단계 계산에 넣지 않음
+     */
+    public <T> T withProvider(ChatProvider provider, Supplier<T> body) {
+        inProcess.set(provider);
+        try {
+            return body.get();
+        } finally {
+            inProcess.remove();
+        }
+    }
 
-        // Map<String,Object>로 타입 지정
-        Map<String, Object> resp = restTemplate.postForObject(url, entity, Map.class);
+    // 먼저 쓰일 공급자 연결 미리 열기
+    public void warmUp(Integer scenIdx) {
+        router.warmUp(scenIdx);
+    }
 
-        if (resp == null) {
-            throw new RuntimeException("GPT 응답이 null입니다.");
+    // scenIdx: 시나리오별 공급자 지정용 (없으면 null), tier: 질문 난이도별 모델 계층
+    // 응답 지연이 심하면 DegradationController 단계에 따라 빠른 모델/짧은 답변/로컬 공급자로
+    public String chat(List<Map<String, String>> messages, Integer scenIdx, ChatTier tier) {
+        ChatTier effective = degradation.atLeast(DegradationController.Level.FAST_TIER) ? ChatTier.SIMPLE : tier;
+        ChatOptions options = new ChatOptions(effective, degradation.maxTokensCap());
+        String preferred = degradation.atLeast(DegradationController.Level.LOCAL_CACHED) ? "local" : null;
+        ChatProvider pinned = inProcess.get();
+        if (pinned != null) {
+            return pinned.chat(messages, options).content();
         }
 
-        // 제네릭 타입 안전하게 캐스팅
-        List<Map<String, Object>> choices = (List<Map<String, Object>>) resp.get("choices");
-        if (choices == null || choices.isEmpty()) {
-            throw new RuntimeException("GPT 응답에 choices가 없습니다: " + resp);
+        long started = System.currentTimeMillis();
+        degradation.callStarted();
+        ChatResult result;
+        try {
+            result = router.chat(messages, scenIdx, options, preferred);
+        } finally {
+            degradation.callFinished(System.currentTimeMillis() - started);
         }
+        long latency = System.currentTimeMillis() - started;
+        recordUsage(result, effective, latency);
+        recorder.recordChat(messages, scenIdx, effective.name(), result.content(), started, latency);
+        return result.content();
+    }
+
+    private void recordUsage(ChatResult result, ChatTier tier, long latencyMs) {
+        tiers.get(tier).record(result, latencyMs);
+        calls.increment();
+        promptTokens.add(result.promptTokens());
+        completionTokens.add(result.completionTokens());
+        cachedTokens.add(result.cachedTokens());
+        if (result.cachedTokens() > 0) {
+            cachedCalls.increment();
+            cachedLatencyMs.add(latencyMs);
+        } else {
+            uncachedLatencyMs.add(latencyMs);
+        }
+    }
 
-        Map<String, Object> first = choices.get(0);
-        Map<String, Object> msg = (Map<String, Object>) first.get("message");
+    public Map<String, Object> stats() {
+        long total = calls.sum();
+        long hits = cachedCalls.sum();
+        long prompt = promptTokens.sum();
+        long cached = cachedTokens.sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("calls", total);
+        out.put("cachedCalls", hits);
+        out.put("promptTokens", prompt);
+        out.put("cachedTokens", cached);
+        out.put("completionTokens", completionTokens.sum());
+        out.put("cachedTokenRatio", prompt == 0 ? 0.0 : (double) cached / prompt);
+        out.put("avgLatencyMsCached", hits == 0 ? 0.0 : (double) cachedLatencyMs.sum() / hits);
+        out.put("avgLatencyMsUncached", total == hits ? 0.0 : (double) uncachedLatencyMs.sum() / (total - hits));
+        // 캐시 덕분에 덜 낸 입력 토큰 (일반 입력 토큰 기준 환산)
+        out.put("savedInputTokens", Math.round(cached * (1 - cachedInputRatio)));
+        Map<String, Object> byTier = new LinkedHashMap<>();
+        tiers.forEach((t, c) -> byTier.put(t.name(), c.snapshot()));
+        out.put("tiers", byTier);
+        // 공급자별 최근 p95/오류율
+        out.put("providers", router.stats());
+        return out;
+    }
+
+    private static Map<ChatTier, TierCounters> tierCounters() {
+        Map<ChatTier, TierCounters> m = new EnumMap<>(ChatTier.class);
+        for (ChatTier t : ChatTier.values()) m.put(t, new TierCounters());
+        return m;
+    }
+
+    private static final class TierCounters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder latencyMs = new LongAdder();
+        final LongAdder promptTokens = new LongAdder();
+        final LongAdder completionTokens = new LongAdder();
 
-        return (String) msg.get("content");
+        void record(ChatResult r, long latency) {
+            calls.increment();
+            latencyMs.add(latency);
+            promptTokens.add(r.promptTokens());
+            completionTokens.add(r.completionTokens());
+        }
+
+        Map<String, Object> snapshot() {
+            long n = calls.sum();
+            return Map.of(
+                    "calls", n,
+                    "avgLatencyMs", n == 0 ? 0.0 : (double) latencyMs.sum() / n,
+                    "promptTokens", promptTokens.sum(),
+                    "completionTokens", completionTokens.sum()
+            );
+        }
     }
 }
@@ -0,0 +1,285 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lingoguma.detective_backend.global.jpa.CompressedJsonConverter;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비회원 무상태 플레이 (game.guest.stateless=true 일 때)
+ * - 대화 기록을 서버 DB 대신 클라이언트가 들고 다니는 토큰(transcript)에 담음
+ * - 토큰: "g1." + base64url(IV 12바이트 + AES-256-GCM(압축된 JSON))
+ *   GCM 인증 태그가 서명 역할 → 한 글자라도 바뀌면 복호화 실패, 내용은 클라이언트가 읽을 수 없음
+ * - 압축은 세션 로그 컬럼과 같은 방식(CompressedJsonConverter, 로그용 사전)
+ * - 질문마다 검증 → 한 턴 추가 → 새 토큰 발급 (DB 접근 없음), 결과 저장 때만 세션 행 생성
+ * - 크기 제한: 토큰 길이(max-token-chars), 턴 수(max-turns), 질문 길이(max-question-chars)
+ * - 이전 토큰을 다시 보내면 그 시점부터 이어짐 (비회원 본인 기록이므로 허용)
+ *   대신 게임(gid)당 질문 수를 서버에서 셈(max-asks, 토큰 만료 시간 동안 보관) → 빈 토큰 재사용으로 GPT 를 무제한 호출하지 못함
+ *   (노드마다 따로 세므로 노드 수 × max-asks 가 상한)
+ * - 결과는 gid 당 한 번만 저장 (game_sessions.guest_gid 유니크, db/guest-gid-unique.sql)
+ * - game.guest.secret 필수 (모든 노드에 같은 값, MIN_SECRET_BYTES 이상), 없으면 시작하지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class GuestTranscriptService {
+
+    private static final String PREFIX = "g1.";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    static final int MIN_SECRET_BYTES = 32;
+
+    private final ObjectMapper mapper;
+    private final ScenarioStatsService statsService;
+
+    @Value("${game.guest.stateless:false}")
+    private boolean enabled;
+
+    @Value("${game.guest.secret:}")
+    private String secret;
+
+    @Value("${game.guest.ttl-minutes:180}")
+    private long ttlMinutes;
+
+    @Value("${game.guest.max-token-chars:65536}")
+    private int maxTokenChars;
+
+    @Value("${game.guest.max-turns:60}")
+    private int maxTurns;
+
+    @Value("${game.guest.max-question-chars:500}")
+    private int maxQuestionChars;
+
+    @Value("${game.guest.max-asks:120}")
+    private int maxAsks;
+
+    private SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private Cache<String, AtomicInteger> asksByGid; // gid → 이 노드에서 받은 질문 수
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder extended = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+    private final LongAdder askLimited = new LongAdder();
+    private final LongAdder tokenChars = new LongAdder();
+
+    // 토큰 안의 내용 (gid: 게임 하나의 식별자, 결과 저장 중복 방지용)
+    public record Transcript(String gid, Integer scenIdx, long issuedAtMs, long expiresAtMs,
+                             List<Map<String, Object>> logs) {
+        public int turns() {
+            return logs.size() / 2;
+        }
+    }
+
+    public static class InvalidTranscriptException extends RuntimeException {
+        public InvalidTranscriptException(String message) {
+            super(message);
+        }
+    }
+
+    public static class TranscriptTooLargeException extends RuntimeException {
+        public TranscriptTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    // 같은 게임(gid)의 질문 수 초과 → 429
+    public static class AskLimitException extends RuntimeException {
+        public AskLimitException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] raw = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_SECRET_BYTES) {
+            if (enabled) {
+                // 임시 키로 뜨면 재시작/다른 노드에서 진행 중인 비회원 기록이 모두 무효 → 시작하지 않음
+                throw new IllegalStateException("game.guest.stateless=true 에는 " + MIN_SECRET_BYTES
+                        + "바이트 이상의 game.guest.secret 이 필요합니다 (모든 노드에 같은 값)");
+            }
+            raw = new byte[MIN_SECRET_BYTES]; // 꺼져 있으면 토큰을 발급하지 않으므로 임시 키
+            random.nextBytes(raw);
+        } else {
+            try {
+                raw = MessageDigest.getInstance("SHA-256").digest(raw);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        key = new SecretKeySpec(raw, "AES");
+        asksByGid = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(200_000)
+                .build();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // 새 게임 (빈 기록)
+    public String start(Integer scenIdx) {
+        byte[] gid = new byte[12];
+        random.nextBytes(gid);
+        long now = System.currentTimeMillis();
+        Transcript t = new Transcript(Base64.getUrlEncoder().withoutPadding().encodeToString(gid),
+                scenIdx, now, now + ttlMinutes * 60_000L, List.of());
+        statsService.recordSessionStart(scenIdx, null);
+        issued.increment();
+        return seal(t);
+    }
+
+    /**
+     * 토큰 검증 + 복호화
+     * @throws TranscriptTooLargeException 토큰이 max-token-chars 보다 길 때
+     * @throws InvalidTranscriptException 위조/손상/만료/다른 키로 만든 토큰
+     */
+    public Transcript open(String token) {
+        if (token == null || !token.startsWith(PREFIX)) {
+            rejected.increment();
+            throw new InvalidTranscriptException("비회원 기록이 올바르지 않습니다.");
+        }
+        if (token.length() > maxTokenChars) {
+            tooLarge.increment();
+            throw new TranscriptTooLargeException("비회원 기록이 너무 큽니다.");
+        }
+        try {
+            byte[] packed = Base64.getUrlDecoder().decode(token.substring(PREFIX.length()));
+            ByteBuffer buf = ByteBuffer.wrap(packed);
+            byte[] iv = new byte[IV_BYTES];
+            buf.get(iv);
+            byte[] sealed = new byte[buf.remaining()];
+            buf.get(sealed);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            String json = CompressedJsonConverter.decode(cipher.doFinal(sealed));
+
+            Map<String, Object> root = mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            Transcript t = new Transcript(
+                    String.valueOf(root.get("gid")),
+                    ((Number) root.get("scen")).intValue(),
+                    ((Number) root.get("iat")).longValue(),
+                    ((Number) root.get("exp")).longValue(),
+                    mapper.convertValue(root.get("logs"), new TypeReference<List<Map<String, Object>>>() {}));
+            if (t.expiresAtMs() < System.currentTimeMillis()) {
+                throw new InvalidTranscriptException("비회원 기록이 만료되었습니다.");
+            }
+            return t;
+        } catch (InvalidTranscriptException e) {
+            rejected.increment();
+            throw e;
+        } catch (Exception e) {
+            rejected.increment();
+            throw new InvalidTranscriptException("비회원 기록이 올바르지 않습니다.");
+        }
+    }
+
+    // 질문 전 확인 (턴 수, 질문 길이)
+    public void checkCanAsk(Transcript t, String userText) {
+        if (t.turns() >= maxTurns) {
+            tooLarge.increment();
+            throw new TranscriptTooLargeException("질문 가능 횟수(" + maxTurns + ")를 넘었습니다.");
+        }
+        if (userText != null && userText.length() > maxQuestionChars) {
+            tooLarge.increment();
+            throw new TranscriptTooLargeException("질문이 너무 깁니다.");
+        }
+    }
+
+    // 질문 한 번 차감 (GPT 호출 전, 이전 토큰을 다시 보내도 gid 기준으로 누적)
+    public void reserveAsk(Transcript t) {
+        int n = asksByGid.get(t.gid(), k -> new AtomicInteger()).incrementAndGet();
+        if (n > maxAsks) {
+            askLimited.increment();
+            throw new AskLimitException("이 게임의 질문 가능 횟수(" + maxAsks + ")를 넘었습니다.");
+        }
+    }
+
+    // 한 턴 추가한 새 토큰 (세션 로그와 같은 형식)
+    public String append(Transcript t, String suspectName, String userText, String answer) {
+        List<Map<String, Object>> logs = new ArrayList<>(t.logs());
+        int turn = logs.size() / 2 + 1;
+        logs.add(Map.of("turn", turn, "speaker", "PLAYER", "message", userText));
+        logs.add(Map.of("turn", turn, "speaker", "AI", "suspect", suspectName, "message", answer));
+        String token = seal(new Transcript(t.gid(), t.scenIdx(), t.issuedAtMs(), t.expiresAtMs(), logs));
+        if (token.length() > maxTokenChars) {
+            tooLarge.increment();
+            throw new TranscriptTooLargeException("비회원 기록이 너무 큽니다.");
+        }
+        statsService.recordTurn(t.scenIdx());
+        extended.increment();
+        return token;
+    }
+
+    // 결과 저장용 로그 JSON (game_sessions.log_json 과 같은 형식)
+    public String logJson(Transcript t) {
+        try {
+            return mapper.writeValueAsString(Map.of("logs", t.logs()));
+        } catch (Exception e) {
+            throw new RuntimeException("비회원 기록 변환 실패", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long n = issued.sum() + extended.sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("issued", issued.sum());
+        out.put("extended", extended.sum());
+        out.put("rejected", rejected.sum());
+        out.put("tooLarge", tooLarge.sum());
+        out.put("askLimited", askLimited.sum());
+        out.put("avgTokenChars", n == 0 ? 0 : tokenChars.sum() / n);
+        out.put("maxTokenChars", maxTokenChars);
+        out.put("maxTurns", maxTurns);
+        out.put("maxAsks", maxAsks);
+        return out;
+    }
+
+    private String seal(Transcript t) {
+        try {
+            Map<String, Object> root = new LinkedHashMap<>();
+            root.put("gid", t.gid());
+            root.put("scen", t.scenIdx());
+            root.put("iat", t.issuedAtMs());
+            root.put("exp", t.expiresAtMs());
+            root.put("logs", t.logs());
+            byte[] compressed = CompressedJsonConverter.encode(mapper.writeValueAsString(root));
+
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(compressed);
+
+            byte[] packed = ByteBuffer.allocate(IV_BYTES + sealed.length).put(iv).put(sealed).array();
+            String token = PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(packed);
+            tokenChars.add(token.length());
+            return token;
+        } catch (Exception e) {
+            throw new RuntimeException("비회원 기록 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.lingoguma.detective_backend.game.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 요청 중복 실행 방지 (Idempotency-Key, 노드 안에서)
+ * - 처리 중인 같은 키의 요청은 새로 실행하지 않고 같은 future 를 기다림
+ * - 성공한 응답은 game.idempotency.ttl-ms 동안 보관했다가 재요청 시 그대로 반환
+ * - 실패는 보관하지 않음 (클라이언트가 같은 키로 다시 시도 가능)
+ * - 같은 키를 다른 내용(fingerprint)으로 재사용하면 IdempotencyConflictException, 키가 max-key-length 보다 길면 InvalidKeyException
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${game.idempotency.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${game.idempotency.max-key-length:128}")
+    private int maxKeyLength;
+
+    /**
+     * scope + key 단위로 한 번만 실행
+     * - key 가 없으면 그냥 실행
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object fingerprint, Supplier<T> work) {
+        if (key == null || key.isBlank()) {
+            return work.get();
+        }
+        if (key.length() > maxKeyLength) {
+            throw new InvalidKeyException(HEADER + " 가 너무 깁니다 (최대 " + maxKeyLength + "자)");
+        }
+
+        String id = scope + ":" + key;
+        Entry mine = new Entry(fingerprint);
+        Entry entry = entries.compute(id, (k, cur) ->
+                (cur == null || cur.isExpired(System.currentTimeMillis())) ? mine : cur);
+
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new IdempotencyConflictException("같은 " + HEADER + " 로 다른 요청을 보냈습니다: " + key);
+        }
+
+        if (entry == mine) {
+            try {
+                T result = work.get();
+                mine.completedAt = System.currentTimeMillis();
+                mine.future.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                entries.remove(id, mine);
+                mine.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return (T) entry.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("중복 요청 대기 중 중단됨", e);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 만료된 응답 정리
+    @Scheduled(fixedDelayString = "${game.idempotency.cleanup-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private final class Entry {
+        final Object fingerprint;
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile long completedAt; // 0 = 처리 중
+
+        Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return completedAt != 0 && now - completedAt > ttlMs;
+        }
+    }
+
+    // 키 형식 오류 (너무 김) → 400
+    public static class InvalidKeyException extends IllegalArgumentException {
+        public InvalidKeyException(String message) {
+            super(message);
+        }
+    }
+
+    // 같은 키, 다른 요청 내용
+    public static class IdempotencyConflictException extends RuntimeException {
+        public IdempotencyConflictException(String message) {
+            super(message);
+        }
+    }
+}
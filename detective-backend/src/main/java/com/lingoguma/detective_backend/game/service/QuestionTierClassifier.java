@@ -0,0 +1,83 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 질문 난이도 분류 (규칙 + 가벼운 특징, 모델 호출 없음)
+ * - 어려운 단어(모순, 알리바이, 증거, 왜 ...)나 숫자(시간), 긴 질문, 여러 문장 → PRIMARY
+ * - 되묻기, 문장 전체가 맞장구/짧은 대답, 확인만 구하는 꼬리 질문("…맞죠?"), 인사 → SIMPLE
+ *   ("어디 갔어요?", "누구 만났지?" 처럼 어미만 짧은 보통 질문은 PRIMARY)
+ * - 애매하면 PRIMARY (답변 품질 우선)
+ * - 시나리오별 on/off 는 scenarios.model_tiering (null 이면 game.tier.enabled, 기본 꺼짐)
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionTierClassifier {
+
+    private static final List<String> HARD_WORDS = List.of(
+            "모순", "거짓", "증거", "알리바이", "왜", "어떻게", "설명", "이유", "동기", "범인", "사실",
+            "하지만", "그런데", "그럼", "아까", "분명", "목격", "현장", "시간", "몇 시", "어디"
+    );
+    private static final List<String> CLARIFY_WORDS = List.of(
+            "다시", "뭐라고", "무슨 말", "못 들", "천천히", "한 번 더", "다시 말"
+    );
+    // 확인만 구하는 꼬리 질문 ("…한 거 맞죠?", "…아닌가요?")
+    private static final List<String> YES_NO_ENDINGS = List.of(
+            "맞아?", "맞아요?", "맞지?", "맞죠?", "맞나요?", "맞습니까?",
+            "아니야?", "아니죠?", "아닌가요?", "아닙니까?", "그렇죠?", "그렇지?"
+    );
+    // 문장 전체가 맞장구/짧은 대답일 때만 (끝의 문장부호 제외)
+    private static final Set<String> SHORT_REPLIES = Set.of(
+            "응", "네", "예", "아니", "아니요", "아뇨", "그래", "그래요", "그렇군", "그렇군요", "그렇구나",
+            "알겠어", "알겠어요", "알겠습니다", "좋아", "좋아요", "고마워", "고마워요", "고맙습니다", "감사합니다",
+            "정말", "정말요", "진짜", "진짜요"
+    );
+
+    private static final int YES_NO_MAX_CHARS = 20;
+    private static final int LONG_CHARS = 40;
+
+    private final ScenarioRepository scenarioRepository;
+
+    @Value("${game.tier.enabled:false}")
+    private boolean enabledByDefault;
+
+    public ChatTier classify(Integer scenIdx, String userText) {
+        if (!enabled(scenIdx)) return ChatTier.PRIMARY;
+        return classify(userText);
+    }
+
+    static ChatTier classify(String userText) {
+        if (userText == null) return ChatTier.PRIMARY;
+        String t = userText.trim();
+        if (t.isEmpty()) return ChatTier.PRIMARY;
+
+        // 어려운 질문 특징
+        if (t.length() > LONG_CHARS) return ChatTier.PRIMARY;
+        if (t.chars().filter(c -> c == '?').count() >= 2) return ChatTier.PRIMARY;
+        if (t.chars().anyMatch(Character::isDigit)) return ChatTier.PRIMARY;
+        if (HARD_WORDS.stream().anyMatch(t::contains)) return ChatTier.PRIMARY;
+
+        // 쉬운 질문 특징
+        if (CLARIFY_WORDS.stream().anyMatch(t::contains)) return ChatTier.SIMPLE;
+        if (SessionWarmupService.isIntroQuestion(t)) return ChatTier.SIMPLE;
+        if (SHORT_REPLIES.contains(t.replaceAll("[\\s.!?~…]+$", ""))) return ChatTier.SIMPLE;
+        if (t.length() <= YES_NO_MAX_CHARS && YES_NO_ENDINGS.stream().anyMatch(t::endsWith)) return ChatTier.SIMPLE;
+
+        return ChatTier.PRIMARY;
+    }
+
+    // 시나리오는 2차 캐시에서 읽으므로 DB 조회 없음
+    private boolean enabled(Integer scenIdx) {
+        if (scenIdx == null) return enabledByDefault;
+        Boolean flag = scenarioRepository.findById(scenIdx).map(Scenario::getModelTiering).orElse(null);
+        return flag != null ? flag : enabledByDefault;
+    }
+}
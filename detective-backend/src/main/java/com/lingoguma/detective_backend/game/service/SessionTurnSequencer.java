@@ -0,0 +1,64 @@
+package com.lingoguma.detective_backend.game.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 세션별 질문 순차 실행 (DB 잠금 없이, 노드 안에서)
+ * - 같은 sessionId 의 작업은 도착 순서대로 하나씩 실행 (fair lock)
+ * - 다른 세션끼리는 서로 기다리지 않음 (세션마다 별도 lock, 사용 중인 세션만 메모리에 유지)
+ * - 여러 노드 간 동시 수정은 GameSession @Version 낙관적 잠금이 막음
+ */
+@Component
+public class SessionTurnSequencer {
+
+    private final ConcurrentHashMap<Integer, Slot> slots = new ConcurrentHashMap<>();
+
+    @Value("${game.session.turn-wait-ms:60000}")
+    private long waitMs;
+
+    public <T> T inOrder(Integer sessionId, Supplier<T> task) {
+        Slot slot = slots.compute(sessionId, (k, v) -> {
+            Slot s = (v == null) ? new Slot() : v;
+            s.refs++;
+            return s;
+        });
+        try {
+            if (!slot.lock.tryLock(waitMs, TimeUnit.MILLISECONDS)) {
+                throw new TurnBusyException("이전 질문을 처리 중입니다: " + sessionId);
+            }
+            try {
+                return task.get();
+            } finally {
+                slot.lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TurnBusyException("질문 대기 중 중단됨: " + sessionId);
+        } finally {
+            slots.computeIfPresent(sessionId, (k, v) -> --v.refs == 0 ? null : v);
+        }
+    }
+
+    // 현재 처리/대기 중인 세션 수 (모니터링용)
+    public int activeSessions() {
+        return slots.size();
+    }
+
+    private static final class Slot {
+        final ReentrantLock lock = new ReentrantLock(true);
+        int refs; // slots.compute 안에서만 변경
+    }
+
+    // 대기 시간 초과 (같은 세션 질문이 너무 오래 밀림)
+    public static class TurnBusyException extends RuntimeException {
+        public TurnBusyException(String message) {
+            super(message);
+        }
+    }
+}
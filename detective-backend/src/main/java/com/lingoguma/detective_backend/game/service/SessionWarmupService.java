@@ -0,0 +1,230 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 시작 시 용의자별 미리 준비 (game.warmup.enabled=true 일 때)
+ * - 용의자마다 system 프롬프트를 만들어 두고, 말투/샘플 대사로 짧은 첫 인사를 미리 생성
+ * - 첫 인사 질문("안녕하세요", "자기소개 해주세요" 등)은 GPT 호출 없이 준비된 인사로 바로 응답
+ *   (인사/자기소개 요청만, 사건에 대한 질문이 섞이면 평소대로 GPT)
+ * - 준비(시나리오 조회, 내용 파싱, HTTP 연결 열기)는 전부 백그라운드 → 세션 시작 응답 시간에 영향 없음
+ * - GPT 호출 동시 실행 수와 대기열을 제한 → 세션이 몰려도 할당량을 다 쓰지 않음 (넘치면 준비 생략)
+ * - 준비 상태는 노드 메모리에만 있음 (다른 노드로 간 요청은 평소처럼 처리)
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionWarmupService {
+
+    // 인사 또는 명시적인 자기소개 요청
+    private static final List<String> INTRO_WORDS = List.of(
+            "안녕", "처음 뵙", "반갑습니다", "반가워요",
+            "자기소개", "본인 소개", "자신을 소개",
+            "누구세요", "누구신가요", "누구시죠", "누구십니까");
+    // 사건 질문이 섞인 문장은 인사로 보지 않음 ("그날 밤 누구 만났어?", "안녕하세요, 어디 계셨어요?")
+    private static final List<String> CASE_WORDS = List.of(
+            "누가", "누구를", "누구랑", "누구와", "누구한테", "누구 만",
+            "어디", "언제", "왜", "뭐", "무엇", "몇", "어떻게",
+            "사건", "피해자", "범인", "알리바이", "그날", "그때", "그 시간");
+    private static final int INTRO_MAX_LENGTH = 20;
+
+    private final GameSessionService sessionService;
+    private final SuspectPromptBuilder promptBuilder;
+    private final GptClient gptClient;
+
+    @Value("${game.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.warmup.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${game.warmup.queue-size:50}")
+    private int queueSize;
+
+    @Value("${game.warmup.max-suspects:6}")
+    private int maxSuspects;
+
+    @Value("${game.warmup.serve-wait-ms:10000}")
+    private long serveWaitMs;
+
+    @Value("${game.warmup.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final ConcurrentHashMap<Integer, Prepared> prepared = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder greetingsServed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "session-warmup");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 세션 시작 직후 호출 (백그라운드로 준비만 걸어두고 바로 반환, 요청 스레드에서는 DB/HTTP 접근 없음)
+    public void warmUp(Integer sessionId, Integer scenIdx) {
+        if (!enabled || sessionId == null || scenIdx == null) return;
+
+        Prepared p = new Prepared();
+        prepared.put(sessionId, p);
+        try {
+            executor.execute(() -> prepareSession(p, scenIdx));
+        } catch (RejectedExecutionException e) {
+            prepared.remove(sessionId);
+            skipped.increment();
+        }
+    }
+
+    // 시나리오 조회/파싱 → HTTP 연결 열기 → 용의자별 준비 작업 등록
+    private void prepareSession(Prepared p, Integer scenIdx) {
+        Scenario scenario;
+        Map<String, Object> content;
+        try {
+            scenario = sessionService.findScenario(scenIdx);
+            content = promptBuilder.parseContent(scenario);
+            gptClient.warmUp(scenIdx); // HTTP 연결 미리 열기 (최근에 열었으면 생략)
+        } catch (Exception e) {
+            skipped.increment();
+            return;
+        }
+
+        promptBuilder.characters(content).stream()
+                .map(c -> String.valueOf(c.getOrDefault("name", "")))
+                .filter(name -> !name.isBlank())
+                .distinct()
+                .limit(maxSuspects)
+                .forEach(name -> {
+                    CompletableFuture<String> greeting = new CompletableFuture<>();
+                    p.greetings.put(name, greeting);
+                    try {
+                        executor.execute(() -> prepare(p, scenario, content, name, greeting));
+                    } catch (RejectedExecutionException e) {
+                        // 대기열 초과 → 이 용의자는 첫 질문 때 평소대로 처리
+                        p.greetings.remove(name);
+                        skipped.increment();
+                    }
+                });
+    }
+
+    // 준비된 프롬프트 (없으면 null)
+    public SuspectPromptBuilder.SuspectPrompt preparedPrompt(Integer sessionId, String suspectName) {
+        Prepared p = prepared.get(sessionId);
+        return p == null ? null : p.prompts.get(suspectName);
+    }
+
+    /**
+     * 준비된 첫 인사 (한 번만 사용, 없거나 준비 실패/시간 초과면 null)
+     * - 아직 생성 중이면 serve-wait-ms 까지 기다림 (새로 호출하는 것보다 빠름)
+     */
+    public String takeGreeting(Integer sessionId, String suspectName) {
+        Prepared p = prepared.get(sessionId);
+        if (p == null) return null;
+        CompletableFuture<String> f = p.greetings.remove(suspectName);
+        if (f == null) return null;
+        try {
+            String greeting = f.get(serveWaitMs, TimeUnit.MILLISECONDS);
+            if (greeting != null && !greeting.isBlank()) {
+                greetingsServed.increment();
+                return greeting;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 평소대로 GPT 호출
+        }
+        return null;
+    }
+
+    // 첫 인사성 질문인지 (짧고, 인사/자기소개 요청이 있고, 사건 질문은 없음)
+    public static boolean isIntroQuestion(String text) {
+        if (text == null) return false;
+        String t = text.trim();
+        return !t.isEmpty() && t.length() <= INTRO_MAX_LENGTH
+                && INTRO_WORDS.stream().anyMatch(t::contains)
+                && CASE_WORDS.stream().noneMatch(t::contains);
+    }
+
+    // 세션 종료 시
+    public void discard(Integer sessionId) {
+        prepared.remove(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${game.warmup.cleanup-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMinutes * 60_000L;
+        prepared.values().removeIf(p -> p.createdAt < cutoff);
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "preparedSessions", prepared.size(),
+                "running", executor.getActiveCount(),
+                "queued", executor.getQueue().size(),
+                "greetingsServed", greetingsServed.sum(),
+                "skipped", skipped.sum()
+        );
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+    private void prepare(Prepared p, Scenario scenario, Map<String, Object> content, String suspectName,
+                         CompletableFuture<String> greeting) {
+        try {
+            SuspectPromptBuilder.SuspectPrompt prompt = promptBuilder.systemPrompt(scenario, content, suspectName);
+            p.prompts.put(suspectName, prompt);
+
+            Map<String, Object> suspect = promptBuilder.characters(content).stream()
+                    .filter(c -> suspectName.equals(c.get("name")))
+                    .findFirst()
+                    .orElse(Map.of());
+            List<Map<String, String>> messages = new ArrayList<>(prompt.systemMessages());
+            messages.add(Map.of("role", "user", "content", greetingInstruction(suspect)));
+            greeting.complete(gptClient.chat(messages, prompt.scenIdx(), ChatTier.SIMPLE));
+        } catch (Exception e) {
+            greeting.completeExceptionally(e);
+        }
+    }
+
+    private static String greetingInstruction(Map<String, Object> suspect) {
+        String style = String.valueOf(suspect.getOrDefault("speaking_style", "")).trim();
+        String sample = String.valueOf(suspect.getOrDefault("sample_line", "")).trim();
+        StringBuilder sb = new StringBuilder("탐정이 처음으로 말을 걸었다. ");
+        if (!style.isEmpty()) sb.append("말투(").append(style).append(")를 살려 ");
+        sb.append("1~2문장으로 짧게 인사하고 자기소개를 해라. 알리바이나 사건 정보는 아직 말하지 마라.");
+        if (!sample.isEmpty()) sb.append(" 참고 대사: ").append(sample);
+        return sb.toString();
+    }
+
+    private static final class Prepared {
+        final long createdAt = System.currentTimeMillis();
+        final Map<String, SuspectPromptBuilder.SuspectPrompt> prompts = new ConcurrentHashMap<>();
+        final Map<String, CompletableFuture<String>> greetings = new ConcurrentHashMap<>();
+    }
+}
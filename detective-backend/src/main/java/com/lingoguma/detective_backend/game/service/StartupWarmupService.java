@@ -0,0 +1,287 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.game.chat.FakeChatProvider;
+import com.lingoguma.detective_backend.game.dto.GameFinishRequest;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 노드 시작 직후 워밍업 (startup.warmup.enabled=true, 기본 켜짐)
+ * - ApplicationReadyEvent 안에서 실행 → 끝날 때까지 readiness 가 REFUSING_TRAFFIC (/api/health/ready 가 503)
+ * - 순서: DB 연결 풀 채우기 → 공개 시나리오 로드/컴파일 결과(읽기 전용)/용의자 프롬프트 생성 → GPT 공급자 연결 열기
+ *         → 가짜 공급자로 질문/종료에 쓰이는 게임 서비스 반복 (JSON 변환, 로그 압축, 프롬프트 조립, JPA 등 JIT 예열)
+ * - 전체 timeout-ms 안에 못 끝나면 중단하고 그대로 트래픽 받음 (워밍업 실패가 시작 실패가 되지 않음)
+ * - 가짜 게임은 롤백되는 트랜잭션 안에서만 실행, GPT/NLP 서버는 호출하지 않음 (노드마다 시작해도 외부 비용·컴파일 결과 쓰기 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class StartupWarmupService {
+
+    private static final List<String> SAMPLE_QUESTIONS = List.of(
+            "안녕하세요, 자기소개 부탁드려요.",
+            "사건 당일 밤 10시에 어디 계셨나요?",
+            "정말요?",
+            "피해자와는 어떤 관계였죠?",
+            "아까 한 말과 다른데 설명해 주시겠어요?"
+    );
+
+    private static final int TURNS_PER_GAME = 20;
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ScenarioRepository scenarioRepository;
+    private final ScenarioCompiler scenarioCompiler;
+    private final SuspectPromptBuilder promptBuilder;
+    private final QuestionTierClassifier tierClassifier;
+    private final GptClient gptClient;
+    private final GameSessionService sessionService;
+    private final GameResultService resultService;
+    private final ObjectMapper mapper;
+
+    @Value("${startup.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${startup.warmup.timeout-ms:20000}")
+    private long timeoutMs;
+
+    @Value("${startup.warmup.max-scenarios:50}")
+    private int maxScenarios;
+
+    @Value("${startup.warmup.db-connections:4}")
+    private int dbConnections;
+
+    @Value("${startup.warmup.outbound:true}")
+    private boolean outbound;
+
+    @Value("${startup.warmup.iterations:300}")
+    private int iterations;
+
+    @Value("${startup.warmup.finish-games:1}")
+    private int finishGames;
+
+    private final Map<String, Long> stepMs = new ConcurrentHashMap<>();
+    private volatile String state = "pending"; // pending / running / done / timeout / failed / disabled
+    private volatile long totalMs = -1;
+    private volatile int scenarios;
+    private volatile int prompts;
+    private volatile int syntheticTurns;
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            state = "disabled";
+            return;
+        }
+        state = "running";
+        long started = System.currentTimeMillis();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "startup-warmup");
+            t.setDaemon(true);
+            return t;
+        });
+        Future<?> run = executor.submit(this::runSteps);
+        try {
+            run.get(timeoutMs, TimeUnit.MILLISECONDS);
+            state = "done";
+        } catch (TimeoutException e) {
+            run.cancel(true);
+            state = "timeout";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = "failed";
+        } catch (ExecutionException e) {
+            state = "failed";
+            System.err.println("[startup] 워밍업 실패: " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        totalMs = System.currentTimeMillis() - started;
+        System.err.println("[startup] warm-up " + state + " in " + totalMs + "ms " + stepMs);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("state", state);
+        out.put("totalMs", totalMs);
+        out.put("stepMs", new TreeMap<>(stepMs));
+        out.put("scenarios", scenarios);
+        out.put("prompts", prompts);
+        out.put("syntheticTurns", syntheticTurns);
+        return out;
+    }
+
+    // ==============================
+    // 단계별 처리 (timeout 시 인터럽트 → 다음 항목 전에 중단)
+    // ==============================
+    private void runSteps() {
+        step("db", this::openConnections);
+
+        Map<Integer, List<String>> suspects = new LinkedHashMap<>();
+        step("scenarios", () -> loadScenarios(suspects));
+
+        if (outbound) {
+            step("outbound", () -> gptClient.warmUp(suspects.isEmpty() ? null : suspects.keySet().iterator().next()));
+        }
+
+        if (!suspects.isEmpty()) {
+            step("synthetic", () -> syntheticTurns(suspects));
+        }
+    }
+
+    private void step(String name, ThrowingRunnable body) {
+        if (Thread.currentThread().isInterrupted()) return;
+        long started = System.currentTimeMillis();
+        try {
+            body.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("[startup] 워밍업 " + name + " 단계 실패: " + e.getMessage());
+        } finally {
+            stepMs.put(name, System.currentTimeMillis() - started);
+        }
+    }
+
+    // 연결 풀에 db-connections 개를 동시에 빌려서 미리 만들어 둠
+    private void openConnections() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < dbConnections; i++) {
+                Connection c = dataSource.getConnection();
+                held.add(c);
+                try (Statement st = c.createStatement()) {
+                    st.execute("SELECT 1"); // 지연 연결 프록시(복제본 라우팅) 뒤에서도 실제 연결을 열도록
+                }
+            }
+        } finally {
+            for (Connection c : held) {
+                c.close();
+            }
+        }
+    }
+
+    // 공개 시나리오 → 2차 캐시, 컴파일 결과(읽기 전용), 용의자별 system 프롬프트
+    private void loadScenarios(Map<Integer, List<String>> suspects) throws InterruptedException {
+        List<Scenario> published = scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED);
+        int built = 0;
+        for (Scenario s : published.subList(0, Math.min(maxScenarios, published.size()))) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+            try {
+                scenarioCompiler.loadReadOnly(s);
+                Map<String, Object> content = promptBuilder.parseContent(s);
+                List<String> names = new ArrayList<>();
+                for (Map<String, Object> c : promptBuilder.characters(content)) {
+                    String name = String.valueOf(c.getOrDefault("name", ""));
+                    if (name.isBlank()) continue;
+                    promptBuilder.systemPrompt(s, content, name);
+                    names.add(name);
+                    built++;
+                }
+                if (!names.isEmpty()) suspects.put(s.getScenIdx(), names);
+                tierClassifier.classify(s.getScenIdx(), SAMPLE_QUESTIONS.get(0));
+                scenarios++;
+            } catch (RuntimeException e) {
+                // 내용이 깨진 시나리오는 건너뜀 (게임 중 요청에서 원래대로 오류 처리)
+            }
+        }
+        prompts = built;
+    }
+
+    /**
+     * 질문/종료에 쓰이는 게임 서비스 경로를 가짜 공급자로 반복
+     * - 질문: 세션 로그 읽기 → system 프롬프트 → 대화 메시지 조립 → 계층 분류 → GPT(가짜) → 로그 추가
+     * - 종료: 결과 저장(스킬 통계 포함) → 세션 종료. NLP 분석/임베딩은 부르지 않음 (외부 서버 호출 없음)
+     * - 게임 하나(세션 시작 → 질문 TURNS_PER_GAME 번 → 종료)를 트랜잭션 하나로 실행하고 끝에서 롤백 → DB 에 남지 않음
+     *   (시나리오 통계는 커밋 후에만 반영되므로 집계에도 안 들어감)
+     * - GPT 는 이 스레드에서만 FakeChatProvider (GptClient.withProvider, 호출 통계/재생 기록/답변 재사용 제외)
+     * - 종료는 처음 finish-games 게임만
+     */
+    private void syntheticTurns(Map<Integer, List<String>> suspects) throws InterruptedException {
+        FakeChatProvider fake = new FakeChatProvider();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Integer> scenIdxs = new ArrayList<>(suspects.keySet());
+        for (int game = 0; game * TURNS_PER_GAME < iterations; game++) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+            Integer scenIdx = scenIdxs.get(game % scenIdxs.size());
+            int turns = Math.min(TURNS_PER_GAME, iterations - game * TURNS_PER_GAME);
+            boolean finish = game < finishGames;
+            gptClient.withProvider(fake, () -> tx.execute(status -> {
+                status.setRollbackOnly();
+                playGame(scenIdx, suspects.get(scenIdx), turns, finish);
+                return null;
+            }));
+        }
+    }
+
+    private void playGame(Integer scenIdx, List<String> names, int turns, boolean finish) {
+        Integer sessionId = sessionService.startSession(scenIdx, null);
+        Scenario scenario = sessionService.getScenario(sessionId);
+        Map<String, Object> content = promptBuilder.parseContent(scenario);
+        for (int i = 0; i < turns; i++) {
+            if (Thread.currentThread().isInterrupted()) return;
+            String name = names.get(i % names.size());
+            String question = SAMPLE_QUESTIONS.get(i % SAMPLE_QUESTIONS.size());
+            List<Map<String, Object>> logs = readLogs(sessionId);
+            SuspectPromptBuilder.SuspectPrompt prompt = promptBuilder.systemPrompt(scenario, content, name);
+            List<Map<String, String>> messages = promptBuilder.messages(prompt, logs, name, question);
+            ChatTier tier = tierClassifier.classify(scenIdx, question);
+            String answer = gptClient.chat(messages, scenIdx, tier);
+            sessionService.appendLog(sessionId, name, question, answer);
+            syntheticTurns++;
+        }
+        if (finish) {
+            GameFinishRequest req = new GameFinishRequest();
+            req.setSessionId(sessionId);
+            req.setScenIdx(scenIdx);
+            req.setAnswerJson(Map.of("culprit", names.get(0), "motive", "", "method", "", "evidence", ""));
+            resultService.saveResult(req, toJson(Map.of("logic", 0, "sim_threshold", 0.75)), false);
+            sessionService.finishSession(sessionId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readLogs(Integer sessionId) {
+        try {
+            Map<String, Object> logMap = mapper.readValue(sessionService.getLogJson(sessionId),
+                    new TypeReference<Map<String, Object>>() {});
+            return (List<Map<String, Object>>) logMap.getOrDefault("logs", List.of());
+        } catch (Exception e) {
+            throw new IllegalStateException("세션 로그를 읽을 수 없습니다: " + sessionId, e);
+        }
+    }
+
+    private String toJson(Object o) {
+        try {
+            return mapper.writeValueAsString(o);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,169 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 같은 질문을 여러 용의자에게 동시에 (질문 한 번 → 용의자별 GPT 호출을 병렬로)
+ * - 용의자별 프롬프트는 질문하기와 같은 방식(SuspectPromptBuilder)으로 구성
+ * - 전체 호출이 하나의 마감 시간(deadline-ms)을 공유, 그 안에 끝나지 않은 용의자는 timeout
+ * - 답변은 끝나는 순서대로 onAnswer 로 전달 (호출한 스레드에서 → 응답 스트림에 바로 쓸 수 있음)
+ * - 반환 목록은 요청한 용의자 순서 (로그 저장 순서가 응답 속도와 무관하게 일정)
+ */
+@Service
+@RequiredArgsConstructor
+public class SuspectBroadcastService {
+
+    private final GameSessionService sessionService;
+    private final SuspectPromptBuilder promptBuilder;
+    private final SessionWarmupService warmupService;
+    private final GptClient gptClient;
+    private final QuestionTierClassifier tierClassifier;
+    private final ObjectMapper mapper;
+
+    @Value("${game.broadcast.max-suspects:6}")
+    private int maxSuspects;
+
+    @Value("${game.broadcast.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${game.broadcast.queue-size:100}")
+    private int queueSize;
+
+    @Value("${game.broadcast.deadline-ms:30000}")
+    private long deadlineMs;
+
+    private ThreadPoolExecutor executor;
+
+    // error: null(성공) / "timeout" / "failed" / "busy"
+    public record Answer(String suspectName, String answer, String error) {
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "suspect-broadcast");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 시나리오에 있는 용의자만, 중복 제거 후 max-suspects 까지
+     * @throws IllegalArgumentException 대상 용의자가 없을 때
+     */
+    public List<String> resolveSuspects(Integer sessionId, List<String> requested) {
+        Scenario scenario = sessionService.getScenario(sessionId);
+        Set<String> known = new HashSet<>();
+        for (Map<String, Object> c : promptBuilder.characters(promptBuilder.parseContent(scenario))) {
+            known.add(String.valueOf(c.get("name")));
+        }
+        List<String> names = (requested == null ? List.<String>of() : requested).stream()
+                .filter(Objects::nonNull)
+                .filter(known::contains)
+                .distinct()
+                .limit(maxSuspects)
+                .toList();
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("질문할 용의자가 없습니다.");
+        }
+        return names;
+    }
+
+    public List<Answer> broadcast(Integer sessionId, List<String> suspectNames, String userText,
+                                  Consumer<Answer> onAnswer) {
+        long deadline = System.currentTimeMillis() + deadlineMs;
+        List<Map<String, Object>> logs = readLogs(sessionId);
+        Scenario scenario = null;
+        Map<String, Object> content = null;
+
+        BlockingQueue<Answer> done = new LinkedBlockingQueue<>();
+        Map<String, CompletableFuture<String>> calls = new LinkedHashMap<>();
+        for (String name : suspectNames) {
+            SuspectPromptBuilder.SuspectPrompt prompt = warmupService.preparedPrompt(sessionId, name);
+            if (prompt == null) {
+                if (content == null) {
+                    scenario = sessionService.getScenario(sessionId);
+                    content = promptBuilder.parseContent(scenario);
+                }
+                prompt = promptBuilder.systemPrompt(scenario, content, name);
+            }
+            List<Map<String, String>> messages = promptBuilder.messages(prompt, logs, name, userText);
+            Integer scenIdx = prompt.scenIdx();
+            ChatTier tier = tierClassifier.classify(scenIdx, userText);
+
+            CompletableFuture<String> call;
+            try {
+                call = CompletableFuture.supplyAsync(() -> gptClient.chat(messages, scenIdx, tier), executor);
+            } catch (RejectedExecutionException e) {
+                done.add(new Answer(name, null, "busy"));
+                continue;
+            }
+            calls.put(name, call);
+            call.whenComplete((answer, err) ->
+                    done.add(err == null ? new Answer(name, answer, null) : new Answer(name, null, "failed")));
+        }
+
+        // 끝나는 순서대로 전달, 마감 시간이 지나면 나머지는 timeout
+        Map<String, Answer> results = new HashMap<>();
+        try {
+            while (results.size() < suspectNames.size()) {
+                long remaining = deadline - System.currentTimeMillis();
+                Answer a = remaining > 0 ? done.poll(remaining, TimeUnit.MILLISECONDS) : done.poll();
+                if (a == null) break;
+                if (results.putIfAbsent(a.suspectName(), a) == null) onAnswer.accept(a);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (String name : suspectNames) {
+            if (!results.containsKey(name)) {
+                CompletableFuture<String> call = calls.get(name);
+                if (call != null) call.cancel(false); // 진행 중인 HTTP 호출은 끝까지 가지만 결과는 버림
+                Answer a = new Answer(name, null, "timeout");
+                results.put(name, a);
+                onAnswer.accept(a);
+            }
+        }
+
+        return suspectNames.stream().map(results::get).toList();
+    }
+
+    private List<Map<String, Object>> readLogs(Integer sessionId) {
+        try {
+            Map<String, Object> root = mapper.readValue(
+                    sessionService.getLogJson(sessionId),
+                    new TypeReference<Map<String, Object>>() {}
+            );
+            return mapper.convertValue(
+                    root.getOrDefault("logs", List.of()),
+                    new TypeReference<List<Map<String, Object>>>() {}
+            );
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+}
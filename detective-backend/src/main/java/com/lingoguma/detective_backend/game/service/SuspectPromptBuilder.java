@@ -0,0 +1,313 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 용의자 system 프롬프트 구성 (질문하기, 세션 시작 시 미리 준비에서 공용)
+ * - 시나리오 prompt.mission / prompt.rules + 공통 규칙 + 캐릭터 정보
+ * - 이전 로그는 기본적으로 이 용의자와의 대화만 전부 보내고, 다른 인물과의 대화는 짧은 요약만
+ *   (시나리오 prompt.history_mode = "full" 이면 예전처럼 전체 로그)
+ */
+@Component
+@RequiredArgsConstructor
+public class SuspectPromptBuilder {
+
+    public static final String HISTORY_FULL = "full";
+    public static final String HISTORY_SUSPECT = "suspect";
+
+    private static final int DIGEST_QUESTION_CHARS = 60;
+    private static final int DIGEST_ANSWER_CHARS = 100;
+
+    private final ObjectMapper mapper;
+    private final DegradationController degradation;
+
+    // 시나리오에 history_mode 가 없을 때 기본값
+    @Value("${game.history.mode:suspect}")
+    private String defaultHistoryMode;
+
+    // 요약에 넣을 다른 인물과의 최근 대화 수
+    @Value("${game.history.digest-max-turns:8}")
+    private int digestMaxTurns;
+
+    // 전체 로그 대비 실제로 보낸 이전 로그 크기 (글자 수)
+    private final LongAdder historyCharsFull = new LongAdder();
+    private final LongAdder historyCharsSent = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    // 시나리오 content_json 읽기 (실패 시 빈 내용)
+    public Map<String, Object> parseContent(Scenario scenario) {
+        try {
+            return mapper.readValue(
+                    scenario.getContentJson(),
+                    new TypeReference<Map<String, Object>>() {}
+            );
+        } catch (Exception e) {
+            return Map.of();
+        }
+    }
+
+    // 캐릭터 목록
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> characters(Map<String, Object> content) {
+        return (List<Map<String, Object>>) content.getOrDefault("characters", List.of());
+    }
+
+    /**
+     * 용의자 한 명의 프롬프트
+     * - 시나리오 공통 부분(임무, 규칙, 게임 설명)과 용의자 블록을 나눠서 system 메시지 두 개로 보냄
+     * - 요청 앞부분이 바이트 단위로 같으면 OpenAI 프롬프트 캐시가 적용됨 → 공통 부분은 용의자/세션이 달라도 재사용
+     */
+    public SuspectPrompt systemPrompt(Scenario scenario, Map<String, Object> content, String suspectName) {
+        return new SuspectPrompt(scenario.getScenIdx(),
+                scenarioPrefix(content), suspectBlock(content, suspectName), historyMode(content));
+    }
+
+    private String historyMode(Map<String, Object> content) {
+        Object promptConfig = content.get("prompt");
+        Object mode = promptConfig instanceof Map<?, ?> m ? m.get("history_mode") : null;
+        return HISTORY_FULL.equals(mode) || HISTORY_SUSPECT.equals(mode) ? (String) mode : defaultHistoryMode;
+    }
+
+    // 시나리오 공통 부분 (같은 시나리오면 항상 같은 문자열)
+    private String scenarioPrefix(Map<String, Object> content) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> promptConfig = (Map<String, Object>) content.getOrDefault("prompt", Map.of());
+
+        // system 프롬프트 구성
+        String mission = (String) promptConfig.getOrDefault("mission", "너는 사건 속 등장인물 중 하나다.");
+        @SuppressWarnings("unchecked")
+        //List<String> rules = (List<String>) promptConfig.getOrDefault("rules", List.of());
+        List<String> rulesInScenario = (List<String>) promptConfig.get("rules");
+        List<String> rules = (rulesInScenario != null && !rulesInScenario.isEmpty())
+        ? rulesInScenario
+        : List.of(
+            // 공통
+            "플레이어는 탐정이다. 반드시 플레이어의 질문과 요청에 집중한다.",
+            "사건과 무관한 잡담은 하지 않는다.",
+            "항상 캐릭터 설정(신상, 성격, 말투)을 유지한다.",
+            "초등학생도 이해할 수 있게 쉬운 단어를 사용할 것",
+            // 용의자
+            "용의자는 자신의 알리바이를 일관성 있게 유지한다.",
+            "용의자는 증거와 명백히 모순되는 발언은 피한다.",
+            // "거짓말은 가능하지만 들키면 안 된다.",
+            "용의자는 플레이어의 추리에 도움을 주지 않고, 자신의 시점에서만 대답한다.",
+            // 액션
+            "액션은 객관적 사실과 증거만 제시한다.",
+            "액션은 추측이나 의견은 하지 않는다.",
+            "액션은 플레이어가 요청할 때만 정보를 제공한다.",
+            "액션은 증거를 원본 그대로 전달하며 변형하지 않는다.",
+            "액션은 사건의 결과나 정답을 직접 말하지 않고, 단서만 보여준다.",
+            "액션은 현장 조사, CCTV 확인, 물건 검색, 기록 조회, 목격자 증언 수집 등을 수행합니다.",
+            "액션은 나의 행동이다."
+            // 소문
+            
+
+            
+        );
+
+        StringBuilder systemPrompt = new StringBuilder();
+        systemPrompt.append(mission).append("\n");
+        if (!rules.isEmpty()) {
+            systemPrompt.append("규칙:\n");
+            for (String r : rules) {
+                systemPrompt.append("- ").append(r).append("\n");
+            }
+        }
+
+        // [ADD] 소문 전용 규칙 추가 (프롬프트만으로 제어)
+        systemPrompt.append("\n[소문 규칙]\n");
+        systemPrompt.append("- 사용자가 \"소문을 조사한다\"라고 입력하면, 아래 [rumors] 목록만 줄바꿈으로 그대로 출력한다.\n");
+        systemPrompt.append("- 부가 설명, 요약, 분석, 감정 표현은 금지한다.\n");
+
+        // 추가 설정
+        systemPrompt.append("[additional_setting]을 읽고 시나리오에 반영해라\n");
+        systemPrompt.append("플레이들의 각자의 역할은 [additional_setting]에 명시되어 있고 그들은 자신의 역할에 대해 플레이어에게 말할 수 있다");
+
+        // 게임 설명
+        systemPrompt.append("게임 설명:\n");
+        systemPrompt.append("용의자의 신상 및 성격, 관련 단서 등을 바탕으로 그 용의자가 되어서 플레이어와 대화하는 방식의 추리게임이다 (플레이어는 탐정이다)\n");
+        systemPrompt.append("액션 버튼은 조수이다\n");
+
+        return systemPrompt.toString();
+    }
+
+    // 용의자 블록 (캐릭터 상세 정보)
+    private String suspectBlock(Map<String, Object> content, String suspectName) {
+        // 캐릭터 찾기
+        Map<String, Object> suspect = characters(content).stream()
+                .filter(c -> suspectName.equals(c.get("name")))
+                .findFirst()
+                .orElse(Map.of());
+
+        // 캐릭터 상세 정보
+        StringBuilder systemPrompt = new StringBuilder();
+        systemPrompt.append("### 너의 캐릭터 정보 ###\n");
+        systemPrompt.append("이름: ").append(suspect.getOrDefault("name", "알 수 없는 인물")).append("\n");
+        systemPrompt.append("직업: ").append(suspect.getOrDefault("job", "알 수 없음")).append("\n");
+        systemPrompt.append("나이: ").append(suspect.getOrDefault("age", "알 수 없음")).append("\n");
+        systemPrompt.append("성별: ").append(suspect.getOrDefault("gender", "알 수 없음")).append("\n");
+        systemPrompt.append("성격: ").append(suspect.getOrDefault("personality", "알 수 없음")).append("\n");
+        systemPrompt.append("말투: ").append(suspect.getOrDefault("speaking_style", "알 수 없음")).append("\n");
+        systemPrompt.append("옷차림: ").append(suspect.getOrDefault("outfit", "알 수 없음")).append("\n");
+        systemPrompt.append("알리바이: ").append(
+                suspect.containsKey("alibi") ? suspect.get("alibi").toString() : "알 수 없음"
+        ).append("\n");
+        systemPrompt.append("임무: ").append(suspect.getOrDefault("mission", "알 수 없음")).append("\n");
+        systemPrompt.append("샘플 대사: ").append(suspect.getOrDefault("sample_line", "없음")).append("\n");
+
+        systemPrompt.append("\n반드시 위 캐릭터 설정과 말투를 유지해서 대답하라.\n");
+
+        return systemPrompt.toString();
+    }
+
+    /**
+     * GPT 에 보낼 메시지 (앞에서부터 변하지 않는 순서: 시나리오 공통 → 용의자 블록 → 이전 로그 → 현재 질문)
+     * - 이전 질문도 보낼 때와 같은 형식("[용의자:..] 플레이어 질문: ..")으로 다시 붙임 → 이전 요청이 다음 요청의 앞부분이 됨
+     * - 다른 인물과의 대화 요약은 매번 바뀔 수 있으므로 현재 질문 바로 앞에 둠 (앞부분 캐시에 영향 없음)
+     */
+    public List<Map<String, String>> messages(SuspectPrompt prompt, List<Map<String, Object>> logs,
+                                              String suspectName, String userText) {
+        return messages(prompt, logs, suspectName, userText, true);
+    }
+
+    // recordStats=false: 시작 워밍업처럼 실제 요청이 아닌 호출 (통계에서 제외)
+    List<Map<String, String>> messages(SuspectPrompt prompt, List<Map<String, Object>> logs,
+                                       String suspectName, String userText, boolean recordStats) {
+        List<Map<String, String>> messages = new ArrayList<>(prompt.systemMessages());
+        boolean full = HISTORY_FULL.equals(prompt.historyMode());
+
+        // 이전 로그 이어붙임 (질문의 용의자는 같은 턴의 AI 답변에 기록되어 있음)
+        List<Turn> own = new ArrayList<>();
+        List<Turn> others = new ArrayList<>();
+        long fullChars = 0, sentChars = 0;
+        for (Turn t : turns(logs)) {
+            fullChars += t.length();
+            (full || suspectName.equals(t.suspect()) ? own : others).add(t);
+        }
+
+        // 응답 지연이 심할 때는 최근 턴만 (DegradationController.Level.SHORT_HISTORY 이상)
+        int limit = degradation.historyTurnLimit();
+        if (limit > 0 && own.size() > limit) {
+            own = own.subList(own.size() - limit, own.size());
+        }
+        for (Turn t : own) {
+            if (t.question() != null) {
+                messages.add(Map.of("role", "user",
+                        "content", t.suspect() != null ? question(t.suspect(), t.question()) : t.question()));
+            }
+            if (t.answer() != null) {
+                messages.add(Map.of("role", "assistant", "content", t.answer()));
+            }
+            sentChars += t.length();
+        }
+
+        // 다른 인물과의 대화 요약 (탐정이 알고 있는 내용)
+        if (!others.isEmpty()) {
+            String digest = digest(others);
+            messages.add(Map.of("role", "system", "content", digest));
+            sentChars += digest.length();
+        }
+
+        // 현재 질문 추가
+        messages.add(Map.of("role", "user", "content", question(suspectName, userText)));
+
+        if (recordStats) {
+            requests.increment();
+            historyCharsFull.add(fullChars);
+            historyCharsSent.add(sentChars);
+        }
+        return messages;
+    }
+
+    private String digest(List<Turn> others) {
+        int maxTurns = degradation.digestTurnLimit(digestMaxTurns);
+        StringBuilder sb = new StringBuilder("[다른 인물 조사 내용] 탐정이 다른 인물에게서 들은 내용이다. ");
+        sb.append("너는 직접 듣지 못했지만 탐정이 언급하면 너의 입장에서 반응할 수 있다.\n");
+        if (others.size() > maxTurns) {
+            sb.append("- (이전 조사 ").append(others.size() - maxTurns).append("건 생략)\n");
+        }
+        for (Turn t : others.subList(Math.max(0, others.size() - maxTurns), others.size())) {
+            sb.append("- ").append(t.suspect() != null ? t.suspect() : "?")
+                    .append(" / 질문: ").append(shorten(t.question(), DIGEST_QUESTION_CHARS))
+                    .append(" / 답변: ").append(shorten(t.answer(), DIGEST_ANSWER_CHARS))
+                    .append("\n");
+        }
+        return sb.toString();
+    }
+
+    private static String shorten(String s, int max) {
+        if (s == null) return "";
+        String oneLine = s.replace('\n', ' ').trim();
+        return oneLine.length() <= max ? oneLine : oneLine.substring(0, max) + "…";
+    }
+
+    // 로그를 질문/답변 한 쌍씩 (appendLog 가 PLAYER → AI 순서로 저장, 용의자는 AI 쪽에 기록)
+    private static List<Turn> turns(List<Map<String, Object>> logs) {
+        List<Turn> out = new ArrayList<>();
+        for (int i = 0; i < logs.size(); i++) {
+            Map<String, Object> l = logs.get(i);
+            String msg = message(l);
+            if ("PLAYER".equals(l.get("speaker"))) {
+                Map<String, Object> next = i + 1 < logs.size() ? logs.get(i + 1) : null;
+                if (next != null && !"PLAYER".equals(next.get("speaker"))) {
+                    Object suspect = next.get("suspect");
+                    out.add(new Turn(suspect != null ? suspect.toString() : null, msg, message(next)));
+                    i++;
+                } else {
+                    out.add(new Turn(null, msg, null));
+                }
+            } else {
+                Object suspect = l.get("suspect");
+                out.add(new Turn(suspect != null ? suspect.toString() : null, null, msg));
+            }
+        }
+        return out;
+    }
+
+    private static String message(Map<String, Object> l) {
+        Object m = l.get("message");
+        return m == null || m.toString().isBlank() ? null : m.toString();
+    }
+
+    // 전체 로그를 보냈을 때 대비 이전 로그 크기 감소율
+    public Map<String, Object> stats() {
+        long fullChars = historyCharsFull.sum();
+        long sent = historyCharsSent.sum();
+        return Map.of(
+                "defaultHistoryMode", defaultHistoryMode,
+                "requests", requests.sum(),
+                "historyCharsFull", fullChars,
+                "historyCharsSent", sent,
+                "historyReduction", fullChars == 0 ? 0.0 : 1.0 - (double) sent / fullChars
+        );
+    }
+
+    private record Turn(String suspect, String question, String answer) {
+        long length() {
+            return (question == null ? 0 : question.length()) + (answer == null ? 0 : answer.length());
+        }
+    }
+
+    private static String question(String suspectName, String userText) {
+        return "[용의자:" + suspectName + "] 플레이어 질문: " + userText;
+    }
+
+    public record SuspectPrompt(Integer scenIdx, String scenarioPrefix, String suspectBlock, String historyMode) {
+        public List<Map<String, String>> systemMessages() {
+            return List.of(
+                    Map.of("role", "system", "content", scenarioPrefix),
+                    Map.of("role", "system", "content", suspectBlock)
+            );
+        }
+    }
+}
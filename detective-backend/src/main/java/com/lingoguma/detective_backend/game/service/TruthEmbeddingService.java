@@ -0,0 +1,240 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.NlpEmbedResponse;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioTruthEmbedding;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioTruthEmbeddingRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * 시나리오 정답 임베딩 저장/비교
+ * - 정답 쪽(scenario_answer 의 동기/수법, 증거 이름)은 시나리오 버전마다 한 번만 임베딩해서 저장
+ * - 유사도 비교 때는 플레이어 문장만 /nlp/embed 로 보내고 코사인은 여기서 계산
+ * - 저장된 벡터의 모델과 NLP 서버의 현재 모델이 다르면 다시 계산
+ * - NLP 호출은 트랜잭션 밖에서 (DB 연결을 잡은 채로 기다리지 않음), 저장만 짧은 별도 트랜잭션
+ *   같은 (시나리오, 버전, truthKey) 는 유니크 → 동시에 다시 계산해도 행이 중복되지 않음 (db/truth-embedding-unique.sql)
+ */
+@Service
+@RequiredArgsConstructor
+public class TruthEmbeddingService {
+
+    private static final String MOTIVE = "motive";
+    private static final String METHOD = "method";
+    private static final String KEY_EVIDENCE = "key_evidence";
+    private static final String EVIDENCE_PREFIX = "evidence:";
+
+    private final ScenarioTruthEmbeddingRepository repo;
+    private final GameNlpClient nlpClient;
+    private final ScenarioCompiler scenarioCompiler;
+    private final PlatformTransactionManager transactionManager;
+
+    // 시나리오 승인 시: 정답 벡터 (재)계산 후 저장
+    public void precompute(Scenario scenario) {
+        precompute(scenario, scenarioCompiler.load(scenario));
+    }
+
+    /**
+     * 이미 컴파일한 결과로 계산 (승인 직후 커밋 후 콜백에서 호출)
+     * - load() 를 다시 부르지 않으므로 scenario_answer 행 잠금을 기다리지 않음
+     */
+    public void precompute(Scenario scenario, CompiledScenario compiled) {
+        Map<String, String> truths = truthTexts(compiled);
+        if (truths.isEmpty()) {
+            writeTx().executeWithoutResult(s -> repo.deleteAllByScenIdx(scenario.getScenIdx()));
+            return;
+        }
+        NlpEmbedResponse resp = nlpClient.embed(new ArrayList<>(truths.values()));
+        save(scenario, truths, resp);
+    }
+
+    /**
+     * 동기/수법/증거 유사도 (nlpClient.similarity 와 같은 키로 반환)
+     * - 비어 있는 플레이어 문장은 FastAPI 와 동일하게 0.0
+     */
+    public Map<String, Object> similarity(Scenario scenario, String playerMotive, String playerMethod, String playerEvidence) {
+        Map<String, String> players = new LinkedHashMap<>();
+        players.put(MOTIVE, playerMotive);
+        players.put(METHOD, playerMethod);
+        players.put(KEY_EVIDENCE, playerEvidence);
+
+        Map<String, float[]> playerVecs = new HashMap<>();
+        Map<String, float[]> truthVecs = embedAgainstTruth(scenario, players, playerVecs);
+
+        Map<String, Object> out = new HashMap<>();
+        out.put("sim_motive", cosine(playerVecs.get(MOTIVE), truthVecs.get(MOTIVE)));
+        out.put("sim_method", cosine(playerVecs.get(METHOD), truthVecs.get(METHOD)));
+        out.put("sim_evidence", cosine(playerVecs.get(KEY_EVIDENCE), truthVecs.get(KEY_EVIDENCE)));
+        out.put("sim_time", 0.0); // 정답 시간은 아직 시나리오에 없음
+        return out;
+    }
+
+    /**
+     * 플레이어 증거 조각별 시나리오 증거 유사도
+     * - 반환: pieces 순서대로 {증거ID → 점수}
+     */
+    public List<Map<String, Double>> evidenceScores(Scenario scenario, List<String> pieces) {
+        Map<String, String> players = new LinkedHashMap<>();
+        for (int i = 0; i < pieces.size(); i++) {
+            players.put(String.valueOf(i), pieces.get(i));
+        }
+
+        Map<String, float[]> playerVecs = new HashMap<>();
+        Map<String, float[]> truthVecs = embedAgainstTruth(scenario, players, playerVecs);
+
+        List<Map<String, Double>> out = new ArrayList<>();
+        for (int i = 0; i < pieces.size(); i++) {
+            float[] pv = playerVecs.get(String.valueOf(i));
+            Map<String, Double> scores = new LinkedHashMap<>();
+            for (Map.Entry<String, float[]> e : truthVecs.entrySet()) {
+                if (e.getKey().startsWith(EVIDENCE_PREFIX)) {
+                    scores.put(e.getKey().substring(EVIDENCE_PREFIX.length()), cosine(pv, e.getValue()));
+                }
+            }
+            out.add(scores);
+        }
+        return out;
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+
+    // 플레이어 문장 임베딩 (playerVecs 채움) + 같은 모델의 정답 벡터 반환
+    private Map<String, float[]> embedAgainstTruth(Scenario scenario, Map<String, String> players,
+                                                   Map<String, float[]> playerVecs) {
+        List<String> keys = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (Map.Entry<String, String> e : players.entrySet()) {
+            String t = e.getValue() == null ? "" : e.getValue().trim();
+            if (!t.isEmpty()) {
+                keys.add(e.getKey());
+                texts.add(t);
+            }
+        }
+
+        String version = contentVersion(scenario);
+        List<ScenarioTruthEmbedding> stored = repo.findByScenIdxAndContentVersion(scenario.getScenIdx(), version);
+        if (texts.isEmpty()) {
+            return toVectorMap(stored);
+        }
+
+        NlpEmbedResponse resp = nlpClient.embed(texts);
+        for (int i = 0; i < keys.size(); i++) {
+            playerVecs.put(keys.get(i), toFloats(resp.getVectors().get(i)));
+        }
+
+        boolean stale = stored.isEmpty()
+                || stored.stream().anyMatch(e -> !e.getEmbeddingModel().equals(resp.getModel()));
+        if (!stale) {
+            return toVectorMap(stored);
+        }
+
+        // 아직 계산 안 됐거나 모델이 바뀐 경우 → 정답 벡터 다시 계산
+        Map<String, String> truths = truthTexts(scenarioCompiler.load(scenario));
+        if (truths.isEmpty()) {
+            return Map.of();
+        }
+        NlpEmbedResponse truthResp = nlpClient.embed(new ArrayList<>(truths.values()));
+        return toVectorMap(save(scenario, truths, truthResp));
+    }
+
+    // 다른 버전 행 삭제 + 이 버전 행 upsert (짧은 별도 트랜잭션, NLP 호출은 이미 끝난 뒤)
+    private List<ScenarioTruthEmbedding> save(Scenario scenario, Map<String, String> truths, NlpEmbedResponse resp) {
+        String version = contentVersion(scenario);
+        List<ScenarioTruthEmbedding> rows = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, String> e : truths.entrySet()) {
+            rows.add(ScenarioTruthEmbedding.builder()
+                    .scenIdx(scenario.getScenIdx())
+                    .contentVersion(version)
+                    .embeddingModel(resp.getModel())
+                    .truthKey(e.getKey())
+                    .truthText(e.getValue())
+                    .vector(toBytes(toFloats(resp.getVectors().get(i++))))
+                    .build());
+        }
+
+        writeTx().executeWithoutResult(s -> {
+            repo.deleteOtherVersions(scenario.getScenIdx(), version);
+            for (ScenarioTruthEmbedding row : rows) {
+                repo.upsert(row.getScenIdx(), row.getContentVersion(), row.getEmbeddingModel(),
+                        row.getTruthKey(), row.getTruthText(), row.getVector());
+            }
+        });
+        return rows;
+    }
+
+    // 호출한 쪽 트랜잭션(또는 커밋 후 콜백)과 상관없이 바로 커밋되는 짧은 트랜잭션
+    private TransactionTemplate writeTx() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return tx;
+    }
+
+    // 컴파일된 정답 → {truthKey → 정답 문장} (빈 문장 제외)
+    private static Map<String, String> truthTexts(CompiledScenario compiled) {
+        Map<String, String> truths = new LinkedHashMap<>();
+        putIfNotBlank(truths, MOTIVE, compiled.getAnswer().getMotive());
+        putIfNotBlank(truths, METHOD, compiled.getAnswer().getMethod());
+        putIfNotBlank(truths, KEY_EVIDENCE, compiled.keyEvidenceText().trim());
+        compiled.evIdToName().forEach((id, name) -> truths.put(EVIDENCE_PREFIX + id, name));
+        return truths;
+    }
+
+    private static String contentVersion(Scenario scenario) {
+        return ScenarioCompiler.contentVersion(scenario.getContentJson());
+    }
+
+    private static Map<String, float[]> toVectorMap(List<ScenarioTruthEmbedding> rows) {
+        Map<String, float[]> out = new LinkedHashMap<>();
+        for (ScenarioTruthEmbedding row : rows) {
+            out.put(row.getTruthKey(), fromBytes(row.getVector()));
+        }
+        return out;
+    }
+
+    // 코사인 유사도 (어느 한쪽이 없으면 0.0 — FastAPI _sim_text 와 동일)
+    static double cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length == 0 || a.length != b.length) return 0.0;
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        if (na == 0 || nb == 0) return 0.0;
+        return dot / (Math.sqrt(na) * Math.sqrt(nb));
+    }
+
+    private static float[] toFloats(List<Float> v) {
+        float[] out = new float[v.size()];
+        for (int i = 0; i < out.length; i++) out[i] = v.get(i);
+        return out;
+    }
+
+    private static byte[] toBytes(float[] v) {
+        ByteBuffer buf = ByteBuffer.allocate(v.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(v);
+        return buf.array();
+    }
+
+    private static float[] fromBytes(byte[] b) {
+        float[] out = new float[b.length / Float.BYTES];
+        ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(out);
+        return out;
+    }
+
+    private static void putIfNotBlank(Map<String, String> m, String k, String v) {
+        if (v != null && !v.isBlank()) m.put(k, v);
+    }
+}
@@ -0,0 +1,35 @@
+package com.lingoguma.detective_backend.game.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기존 게임 결과로 user_skill_profile 채우기
+ * - 유저마다 별도 트랜잭션(UserSkillProfileService.rebuild)으로 다시 계산
+ * - 여러 번 실행해도 결과가 같음 (누적이 아니라 재계산)
+ */
+@Lazy // 관리자 기능에서만 사용 → 처음 쓸 때 생성
+@Component
+@RequiredArgsConstructor
+public class UserSkillProfileBackfillJob {
+
+    private final UserSkillProfileService profileService;
+
+    // 반환: 처리한 유저 수
+    public int run() {
+        List<Integer> users = profileService.usersWithResults();
+        int done = 0;
+        for (Integer userIdx : users) {
+            try {
+                profileService.rebuild(userIdx);
+                done++;
+            } catch (Exception e) {
+                System.err.println("스킬 통계 백필 실패(userIdx=" + userIdx + "): " + e.getMessage());
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,159 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.UserSkillStatsResponse;
+import com.lingoguma.detective_backend.game.entity.GameResult;
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile;
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile.ScenarioBest;
+import com.lingoguma.detective_backend.game.entity.UserSkillProfile.SkillStat;
+import com.lingoguma.detective_backend.game.repository.GameResultRepository;
+import com.lingoguma.detective_backend.game.repository.UserSkillProfileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저 스킬 통계 집계
+ * - 결과 저장(GameResultService.saveResult)과 같은 트랜잭션에서 한 건씩 누적
+ * - 조회는 user_skill_profile 한 행만 읽음 (결과 전체를 다시 읽지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSkillProfileService {
+
+    // 집계 대상 스킬 (GameController.coerceSkillInts 와 동일)
+    static final String[] SKILL_KEYS = {"logic", "creativity", "focus", "diversity", "depth"};
+
+    private final UserSkillProfileRepository profileRepository;
+    private final GameResultRepository resultRepository;
+    private final ObjectMapper mapper;
+
+    // 결과 1건 반영 (게스트 결과는 무시)
+    @Transactional
+    public void apply(GameResult gr) {
+        if (gr.getUserIdx() == null) return;
+
+        UserSkillProfile profile = lockProfile(gr.getUserIdx());
+
+        Map<String, SkillStat> skills = readSkills(profile);
+        Map<String, ScenarioBest> bests = readBests(profile);
+        fold(profile, skills, bests, gr);
+        write(profile, skills, bests);
+
+        profileRepository.save(profile);
+    }
+
+    // 한 유저의 집계를 결과 전체로부터 다시 계산 (백필용)
+    @Transactional
+    public void rebuild(Integer userIdx) {
+        UserSkillProfile profile = lockProfile(userIdx);
+        profile.setGamesPlayed(0);
+        profile.setGamesCorrect(0);
+        profile.setLastResultId(null);
+
+        Map<String, SkillStat> skills = new LinkedHashMap<>();
+        Map<String, ScenarioBest> bests = new LinkedHashMap<>();
+        for (GameResult gr : resultRepository.findByUserIdxOrderByResultIdAsc(userIdx)) {
+            fold(profile, skills, bests, gr);
+        }
+        write(profile, skills, bests);
+
+        profileRepository.save(profile);
+    }
+
+    // 조회 (집계가 없으면 빈 통계)
+    @Transactional(readOnly = true)
+    public UserSkillStatsResponse getStats(Integer userIdx) {
+        UserSkillProfile profile = profileRepository.findById(userIdx)
+                .orElseGet(() -> UserSkillProfile.builder().userIdx(userIdx).build());
+        return UserSkillStatsResponse.from(profile, readSkills(profile), readBests(profile));
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+
+    // 행이 없으면 먼저 INSERT IGNORE 로 만들고 잠금 (find-then-save 는 동시 첫 저장에서 중복 키)
+    private UserSkillProfile lockProfile(Integer userIdx) {
+        profileRepository.insertIfAbsent(userIdx);
+        return profileRepository.findForUpdate(userIdx)
+                .orElseThrow(() -> new IllegalStateException("스킬 통계 행 생성 실패: " + userIdx));
+    }
+
+    private void fold(UserSkillProfile profile, Map<String, SkillStat> skills,
+                      Map<String, ScenarioBest> bests, GameResult gr) {
+        profile.setGamesPlayed(profile.getGamesPlayed() + 1);
+        if (gr.isCorrect()) profile.setGamesCorrect(profile.getGamesCorrect() + 1);
+        profile.setLastResultId(gr.getResultId());
+
+        Map<String, Object> raw = parse(gr.getSkillsJson());
+        double sum = 0;
+        for (String k : SKILL_KEYS) {
+            double v = toDouble(raw.get(k));
+            skills.computeIfAbsent(k, key -> new SkillStat()).add(v);
+            sum += v;
+        }
+
+        if (gr.getScenIdx() != null) {
+            double score = sum / SKILL_KEYS.length;
+            ScenarioBest b = bests.computeIfAbsent(String.valueOf(gr.getScenIdx()), key -> new ScenarioBest());
+            b.setPlays(b.getPlays() + 1);
+            b.setBest(b.getPlays() == 1 ? score : Math.max(b.getBest(), score));
+            b.setSolved(b.isSolved() || gr.isCorrect());
+        }
+    }
+
+    private Map<String, SkillStat> readSkills(UserSkillProfile p) {
+        if (p.getSkillStatsJson() == null) return new LinkedHashMap<>();
+        try {
+            return mapper.readValue(p.getSkillStatsJson(), new TypeReference<LinkedHashMap<String, SkillStat>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("스킬 통계 JSON 변환 실패", e);
+        }
+    }
+
+    private Map<String, ScenarioBest> readBests(UserSkillProfile p) {
+        if (p.getScenarioBestJson() == null) return new LinkedHashMap<>();
+        try {
+            return mapper.readValue(p.getScenarioBestJson(), new TypeReference<LinkedHashMap<String, ScenarioBest>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("시나리오 기록 JSON 변환 실패", e);
+        }
+    }
+
+    private void write(UserSkillProfile p, Map<String, SkillStat> skills, Map<String, ScenarioBest> bests) {
+        try {
+            p.setSkillStatsJson(mapper.writeValueAsString(skills));
+            p.setScenarioBestJson(mapper.writeValueAsString(bests));
+        } catch (Exception e) {
+            throw new RuntimeException("스킬 통계 저장 실패", e);
+        }
+    }
+
+    private Map<String, Object> parse(String json) {
+        if (json == null) return Map.of();
+        try {
+            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            return Map.of();
+        }
+    }
+
+    private static double toDouble(Object o) {
+        if (o instanceof Number n) return n.doubleValue();
+        if (o instanceof String s) {
+            try { return Double.parseDouble(s); } catch (Exception ignored) {}
+        }
+        return 0.0;
+    }
+
+    // 백필 대상 유저 목록
+    public List<Integer> usersWithResults() {
+        return resultRepository.findDistinctUserIdx();
+    }
+}
@@ -0,0 +1,29 @@
+package com.lingoguma.detective_backend.global.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Hibernate 2차 캐시 설정 (Caffeine JCache)
+ *  - 캐시 대상: Scenario, User 엔티티 + 시나리오 상태별 목록 쿼리
+ *  - 영역별 크기/만료: resources/hibernate-caffeine.conf
+ *  - application 설정에 같은 키가 있으면 그쪽을 우선
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return props -> {
+            props.putIfAbsent("hibernate.cache.use_second_level_cache", "true");
+            props.putIfAbsent("hibernate.cache.use_query_cache", "true");
+            props.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+            props.putIfAbsent("hibernate.javax.cache.provider",
+                    "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            props.putIfAbsent("hibernate.javax.cache.uri", "classpath:hibernate-caffeine.conf");
+            props.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "create");
+            props.putIfAbsent("hibernate.generate_statistics", "true"); // 적중률 조회용
+        };
+    }
+}
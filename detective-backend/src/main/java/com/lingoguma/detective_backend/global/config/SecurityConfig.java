@@ -1,12 +1,16 @@
 package com.lingoguma.detective_backend.global.config;
 
+import com.lingoguma.detective_backend.global.security.AuthTokenService;
+import com.lingoguma.detective_backend.global.security.TokenAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -17,8 +21,26 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private final AuthTokenService authTokenService;
+
+    public SecurityConfig(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // -----------------------------
+        // 인증 방식 (auth.mode)
+        //  - session (기본): 로그인 시 HttpSession 에 SecurityContext 저장
+        //  - token: 로그인 시 서명 토큰 발급, 요청마다 서명만 검증 (세션/DB 조회 없음)
+        // -----------------------------
+        if (authTokenService.isTokenMode()) {
+            http
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(authTokenService),
+                        UsernamePasswordAuthenticationFilter.class);
+        }
+
         http
             // -----------------------------
             // CORS 설정
@@ -39,10 +61,13 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Preflight 허용
                 .requestMatchers("/api/nlp/**").permitAll()            // NLP 서버 API 공개
                 .requestMatchers("/api/scenarios/**").permitAll()      // 시나리오 목록/조회 공개
+                .requestMatchers("/api/health/**").permitAll()         // 상태 확인 (readiness/liveness)
                 // 게임 API (FREE 시나리오 비회원 접근 허용해야 하므로 공개)
                 .requestMatchers(
                     "/api/game/session/start", // 세션 시작
+                    "/api/game/guest/start",   // 비회원 무상태 플레이 시작
                     "/api/game/ask",           // 질문하기
+                    "/api/game/ask-all",       // 여러 용의자에게 같은 질문
                     "/api/game/result"         // 사건 종료 (분석+결과 저장)
                 ).permitAll()
 
@@ -65,7 +90,7 @@ public class SecurityConfig {
             )
             // -----------------------------
             // 폼 로그인 / HTTP Basic 비활성화
-            // 우리는 JSON 기반 API + 세션 방식 사용
+            // 우리는 JSON 기반 API + 세션(또는 토큰) 방식 사용
             // -----------------------------
             .formLogin(AbstractHttpConfigurer::disable)
             .httpBasic(AbstractHttpConfigurer::disable);
@@ -91,6 +116,8 @@ public class SecurityConfig {
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         // 허용 헤더
         config.setAllowedHeaders(List.of("*"));
+        // 토큰 모드 로그인 응답 헤더를 프론트에서 읽을 수 있도록
+        config.setExposedHeaders(List.of(AuthTokenService.HEADER_NAME));
         // 세션 쿠키 전송 허용
         config.setAllowCredentials(true);
 
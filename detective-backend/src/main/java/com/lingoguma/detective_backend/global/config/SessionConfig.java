@@ -0,0 +1,41 @@
+package com.lingoguma.detective_backend.global.config;
+
+import com.lingoguma.detective_backend.global.session.MeteredSessionRepository;
+import com.lingoguma.detective_backend.global.session.NearCacheJdbcSessionRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * HttpSession 저장소 설정
+ *  - session.store=jdbc (기본): DB 공유 저장소 → 여러 노드에서 sticky session 없이 로그인 유지
+ *  - session.store=memory: 노드 메모리 (단일 노드 개발용, 비교 측정용)
+ *  - 어느 쪽이든 MeteredSessionRepository 로 감싸서 호출 시간을 관리자 API 로 확인
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    @Bean
+    @Primary
+    public MeteredSessionRepository<?> sessionRepository(
+            ObjectProvider<NearCacheJdbcSessionRepository> jdbcRepository,
+            @Value("${session.timeout-seconds:1800}") int timeoutSeconds
+    ) {
+        NearCacheJdbcSessionRepository jdbc = jdbcRepository.getIfAvailable();
+        if (jdbc != null) {
+            return new MeteredSessionRepository<>(jdbc, "jdbc");
+        }
+        MapSessionRepository memory = new MapSessionRepository(new ConcurrentHashMap<>());
+        memory.setDefaultMaxInactiveInterval(Duration.ofSeconds(timeoutSeconds));
+        return new MeteredSessionRepository<MapSession>(memory, "memory");
+    }
+}
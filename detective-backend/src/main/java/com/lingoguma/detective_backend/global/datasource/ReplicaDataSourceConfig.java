@@ -0,0 +1,110 @@
+package com.lingoguma.detective_backend.global.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 읽기 복제본 라우팅 (datasource.replica.urls 가 있을 때만, 없으면 기존처럼 spring.datasource 하나만 사용)
+ *  - datasource.replica.urls: 복제본 JDBC URL 목록 (쉼표 구분)
+ *  - datasource.replica.username / password: 생략 시 spring.datasource 와 같은 계정
+ *  - datasource.replica.max-lag-seconds: 이보다 뒤처진 복제본은 제외 (기본 5초)
+ *  - datasource.replica.read-your-writes-ms: 쓰기 커밋 직후 같은 클라이언트의 읽기를 기본 DB 로 (기본 5초, 쿠키/세션으로 노드 간 공유)
+ *  - datasource.replica.allow-standalone: 복제 상태가 없는 인스턴스도 복제본으로 사용 (로컬 시험용, 기본 false)
+ *  - datasource.replica.lag-check-ms: 지연 확인 주기 (기본 2초)
+ *  - 커넥션 풀 설정(spring.datasource.hikari.*)은 복제본에도 같이 적용, 복제본 풀은 읽기 전용
+ *
+ * 로컬 확인: MySQL 두 개를 띄우고 (예: 3306 기본, 3307 복제본)
+ *   --datasource.replica.urls=jdbc:mysql://localhost:3307/detective --datasource.replica.allow-standalone=true
+ *   GET /api/admin/datasource 의 routed 값으로 어느 쪽으로 갔는지 확인
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+public class ReplicaDataSourceConfig {
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Value("${datasource.replica.allow-standalone:false}")
+    private boolean allowStandalone;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment env) {
+        HikariDataSource primary = pool(properties, env, properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword(), "primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String key = "replica-" + (i + 1);
+            HikariDataSource replica = pool(properties, env, replicaUrls.get(i).trim(),
+                    replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername,
+                    replicaUsername.isBlank() ? properties.determinePassword() : replicaPassword,
+                    key);
+            replica.setReadOnly(true);
+            replicas.put(key, replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, maxLagSeconds, readYourWritesMs,
+                allowStandalone);
+        routing.checkLag();
+        return routing;
+    }
+
+    // 실제 커넥션은 첫 SQL 실행 시점에 가져옴 → 그때는 트랜잭션의 readOnly 여부가 정해져 있음
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ); // MySQL 기본값
+        return proxy;
+    }
+
+    // open-in-view 로 EntityManager 가 요청 끝까지 열려 있어도 트랜잭션마다 커넥션을 반납
+    // (읽기 트랜잭션에서 잡은 복제본 커넥션으로 이후 쓰기를 하지 않도록)
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return props -> props.putIfAbsent("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment env,
+                                         String url, String username, String password, String name) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(ds));
+        ds.setPoolName(name);
+        return ds;
+    }
+}
@@ -0,0 +1,268 @@
+package com.lingoguma.detective_backend.global.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본으로, 나머지는 기본(primary) DB 로
+ * - 복제본이 여러 개면 돌아가며 사용, 지연(lag)이 max-lag-seconds 를 넘거나 확인에 실패한 복제본은 제외
+ * - 쓸 수 있는 복제본이 없으면 기본 DB 로
+ * - 같은 클라이언트가 방금 쓰기 트랜잭션을 커밋했으면 read-your-writes 시간 동안은 읽기도 기본 DB 로
+ *   마지막 쓰기 시각은 커밋 후(afterCommit) 클라이언트 쪽에 기록 → 어느 노드로 가도 같은 판단
+ *   (응답 쿠키 WRITE_COOKIE, 같은 요청 안에서는 요청 속성)
+ *   쿠키를 못 쓰는 경우(이미 응답이 나간 스트리밍 등)만 HTTP 세션 속성에 기록, 그것도 저장된 값이 오래됐을 때만
+ *   (세션 속성을 바꾸면 http_sessions 행 UPDATE 가 생기므로 쓰기마다 바꾸지 않음)
+ * - 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy 뒤에서 사용
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String WRITE_COOKIE = "DB_WRITE_AT";
+    static final String WRITE_ATTR = ReplicaRoutingDataSource.class.getName() + ".writeAt";
+
+    private final List<String> replicaKeys;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final long readYourWritesMs;
+    private final boolean allowStandalone;
+
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>(); // -1: 확인 실패/복제 중지
+    private final Map<String, LongAdder> routed = new ConcurrentHashMap<>();
+    private final LongAdder readYourWrites = new LongAdder();
+    private final LongAdder noHealthyReplica = new LongAdder();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    long maxLagSeconds, long readYourWritesMs, boolean allowStandalone) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWritesMs = readYourWritesMs;
+        this.allowStandalone = allowStandalone;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        routed.put(PRIMARY, new LongAdder());
+        for (String key : replicaKeys) {
+            routed.put(key, new LongAdder());
+            lagSeconds.put(key, -1L); // 첫 확인 전에는 사용하지 않음
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = route();
+        routed.get(key).increment();
+        return key;
+    }
+
+    String route() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        ServletRequestAttributes request = currentRequest();
+
+        if (!readOnly) {
+            if (request != null) markWriteOnCommit(request);
+            return PRIMARY;
+        }
+        if (request != null && wroteRecently(request.getRequest())) {
+            readYourWrites.increment();
+            return PRIMARY;
+        }
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+            if (healthy(key)) return key;
+        }
+        noHealthyReplica.increment();
+        return PRIMARY;
+    }
+
+    // 쓰기 트랜잭션이 실제로 커밋됐을 때만 기록 (롤백되면 복제본에서 읽어도 됨), 트랜잭션당 한 번
+    private void markWriteOnCommit(ServletRequestAttributes request) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        if (TransactionSynchronizationManager.getSynchronizations().stream().anyMatch(WriteMarker.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new WriteMarker(request));
+    }
+
+    private final class WriteMarker implements TransactionSynchronization {
+        private final ServletRequestAttributes request;
+
+        WriteMarker(ServletRequestAttributes request) {
+            this.request = request;
+        }
+
+        @Override
+        public void afterCommit() {
+            long now = System.currentTimeMillis();
+            HttpServletRequest req = request.getRequest();
+            boolean first = req.getAttribute(WRITE_ATTR) == null;
+            req.setAttribute(WRITE_ATTR, now);
+            HttpServletResponse resp = request.getResponse();
+            if (resp == null || resp.isCommitted()) {
+                markSession(req, now);
+                return;
+            }
+            if (first) {
+                Cookie cookie = new Cookie(WRITE_COOKIE, Long.toString(now));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (readYourWritesMs + 999) / 1000));
+                resp.addCookie(cookie);
+            }
+        }
+    }
+
+    // 저장된 시각의 보호가 절반 넘게 지났을 때만 세션 갱신 (스트리밍 중 연속 커밋마다 세션 행을 다시 쓰지 않음)
+    private void markSession(HttpServletRequest req, long now) {
+        HttpSession session = req.getSession(false);
+        if (session == null) return;
+        try {
+            Long stored = session.getAttribute(WRITE_ATTR) instanceof Long l ? l : null;
+            if (stored == null || now - stored > readYourWritesMs / 2) {
+                session.setAttribute(WRITE_ATTR, now);
+            }
+        } catch (IllegalStateException ignored) {
+            // 이미 만료된 세션
+        }
+    }
+
+    // 같은 요청 → 세션 → 쿠키 순서로 마지막 쓰기 시각 확인 (다른 노드와의 시계 차이만큼 미래 값은 허용)
+    private boolean wroteRecently(HttpServletRequest req) {
+        long now = System.currentTimeMillis();
+        Long at = req.getAttribute(WRITE_ATTR) instanceof Long l ? l : null;
+        if (at == null) {
+            HttpSession session = req.getSession(false);
+            if (session != null) {
+                try {
+                    at = session.getAttribute(WRITE_ATTR) instanceof Long l ? l : null;
+                } catch (IllegalStateException ignored) {
+                    // 이미 만료된 세션
+                }
+            }
+        }
+        if (at == null && req.getCookies() != null) {
+            for (Cookie c : req.getCookies()) {
+                if (!WRITE_COOKIE.equals(c.getName())) continue;
+                try {
+                    at = Long.parseLong(c.getValue());
+                } catch (NumberFormatException ignored) {
+                    // 잘못된 값은 무시
+                }
+            }
+        }
+        return at != null && Math.abs(now - at) < readYourWritesMs;
+    }
+
+    private boolean healthy(String key) {
+        long lag = lagSeconds.getOrDefault(key, -1L);
+        return lag >= 0 && lag <= maxLagSeconds;
+    }
+
+    /**
+     * 복제본별 지연 확인 (lag-check-ms 마다, 빈 생성 직후 한 번)
+     * - SHOW REPLICA STATUS 의 Seconds_Behind_Source (8.0.22 미만은 SHOW SLAVE STATUS)
+     * - 결과가 없으면 복제 설정이 없는 단독 인스턴스 → 제외 (복제가 끊기고 설정이 지워진 경우도 여기에 해당)
+     *   datasource.replica.allow-standalone=true 일 때만 지연 0 으로 사용 (로컬 두 인스턴스로 시험할 때)
+     * - 값이 NULL(복제 중지)이거나 접속 실패면 제외
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:2000}")
+    public void checkLag() {
+        for (String key : replicaKeys) {
+            long lag;
+            try (Connection c = replicas.get(key).getConnection(); Statement st = c.createStatement()) {
+                lag = readLag(st);
+                if (lag < 0 && lagSeconds.getOrDefault(key, -1L) >= 0) {
+                    System.err.println("[datasource] 복제본 " + key + " 복제 상태 없음/중지 → 제외");
+                }
+            } catch (SQLException e) {
+                if (lagSeconds.getOrDefault(key, -1L) >= 0) {
+                    System.err.println("[datasource] 복제본 " + key + " 확인 실패 → 제외: " + e.getMessage());
+                }
+                lag = -1;
+            }
+            lagSeconds.put(key, lag);
+        }
+    }
+
+    private long readLag(Statement st) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+            return lag(rs, "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            try (ResultSet rs = st.executeQuery("SHOW SLAVE STATUS")) {
+                return lag(rs, "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private long lag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) return allowStandalone ? 0 : -1;
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? -1 : lag;
+    }
+
+    // 종료 시 풀 정리 (@Bean 의 close 메서드 자동 감지)
+    public void close() {
+        for (DataSource ds : replicas.values()) {
+            if (ds instanceof AutoCloseable c) {
+                try {
+                    c.close();
+                } catch (Exception ignored) {
+                }
+            }
+        }
+        if (getResolvedDefaultDataSource() instanceof AutoCloseable c) {
+            try {
+                c.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> lag = new LinkedHashMap<>();
+        for (String key : replicaKeys) {
+            long l = lagSeconds.getOrDefault(key, -1L);
+            lag.put(key, Map.of("lagSeconds", l, "healthy", healthy(key)));
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        routed.forEach((k, v) -> counts.put(k, v.sum()));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", true);
+        out.put("maxLagSeconds", maxLagSeconds);
+        out.put("allowStandalone", allowStandalone);
+        out.put("replicas", lag);
+        out.put("routed", counts);
+        out.put("readYourWrites", readYourWrites.sum());
+        out.put("noHealthyReplica", noHealthyReplica.sum());
+        return out;
+    }
+
+    // 요청 중이 아니면(스케줄 작업 등) null → read-your-writes 적용 안 함
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        return attrs instanceof ServletRequestAttributes sra ? sra : null;
+    }
+}
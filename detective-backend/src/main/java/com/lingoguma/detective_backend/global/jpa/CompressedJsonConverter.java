@@ -0,0 +1,114 @@
+package com.lingoguma.detective_backend.global.jpa;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큰 JSON 컬럼(GameSession.logJson, Scenario.contentJson)을 압축해서 BLOB 으로 저장
+ *
+ * 저장 형식
+ * - 0x02 + 원본 길이(4바이트) + raw deflate(공용 사전 v1 사용)
+ * - 그 외: UTF-8 JSON 원문 (짧은 값, 압축 이득이 없는 값, 마이그레이션 전 기존 데이터)
+ *
+ * JSON 원문은 '{', '[' 등으로 시작하므로 첫 바이트로 구분 가능 → 컬럼 타입만 바꾸면
+ * 기존 행은 그대로 읽히고, 다음 저장 때 압축된다.
+ * 사전(DICT_V1)은 저장된 데이터 복원에 필요하므로 절대 수정하지 말고, 바꾸려면 새 코덱 번호를 추가할 것.
+ */
+@Converter
+public class CompressedJsonConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte CODEC_DEFLATE_DICT_V1 = 0x02;
+
+    // 이보다 짧으면 압축하지 않음 (헤더/사전 이득이 거의 없음)
+    static final int MIN_COMPRESS_BYTES = 128;
+
+    // 시나리오/세션 JSON 에 자주 나오는 키와 문구 (뒤쪽일수록 가까운 거리로 참조되므로 자주 쓰는 것을 뒤에)
+    private static final byte[] DICT_V1 = String.join("",
+            "\"scenario\":{\"title\":\"\",\"summary\":\"\"},\"prompt\":{\"mission\":\"\",\"rules\":[",
+            "\"additional_setting\":\"rumors\":[",
+            "\"timeline\":[{\"time\":\"\",\"event\":\"\"}],",
+            "\"evidence\":[{\"id\":\"e1\",\"name\":\"\",\"desc\":\"\"},{\"id\":\"e2\",",
+            "\"answer\":{\"culprit\":\"\",\"motive\":\"\",\"method\":\"\",\"key_evidence\":[\"e1\",",
+            "\"characters\":[{\"id\":\"c1\",\"name\":\"\",\"role\":\"용의자\",\"role\":\"범인\",\"job\":\"\",\"age\":",
+            "\"gender\":\"남성\",\"gender\":\"여성\",\"personality\":\"\",\"speaking_style\":\"\",\"outfit\":\"\",",
+            "\"alibi\":\"\",\"mission\":\"\",\"sample_line\":\"\"},",
+            "알리바이 사건 현장 피해자 범인 용의자 증거 그날 밤 그 시간에 어디에 있었나요? 모르겠어요. ",
+            "저는 그때 있었습니다. 했습니다. 입니다. 아닙니다. 했어요. 없어요. 있어요. 그런데 ",
+            "{\"logs\":[{\"turn\":1,\"speaker\":\"PLAYER\",\"message\":\"\"},",
+            "{\"turn\":1,\"speaker\":\"AI\",\"suspect\":\"\",\"message\":\"\"},",
+            "{\"speaker\":\"AI\",\"message\":\"\",\"suspect\":\"\",\"turn\":2},",
+            "{\"speaker\":\"PLAYER\",\"message\":\"\",\"turn\":"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public byte[] convertToDatabaseColumn(String json) {
+        return encode(json);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return decode(stored);
+    }
+
+    public static byte[] encode(String json) {
+        if (json == null) return null;
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_COMPRESS_BYTES) return raw;
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICT_V1);
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 16);
+            out.write(CODEC_DEFLATE_DICT_V1);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(raw.length).array());
+            byte[] buf = new byte[8 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            byte[] packed = out.toByteArray();
+            return packed.length < raw.length ? packed : raw;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null) return null;
+        if (stored.length == 0 || stored[0] != CODEC_DEFLATE_DICT_V1) {
+            return new String(stored, StandardCharsets.UTF_8); // 압축 안 된 JSON 원문
+        }
+
+        int rawLength = ByteBuffer.wrap(stored, 1, 4).getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICT_V1);
+            inflater.setInput(stored, 5, stored.length - 5);
+            byte[] raw = new byte[rawLength];
+            int off = 0;
+            while (off < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, off, rawLength - off);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                off += n;
+            }
+            if (off != rawLength) {
+                throw new IllegalStateException("압축 JSON 길이 불일치: " + off + "/" + rawLength);
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축 JSON 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
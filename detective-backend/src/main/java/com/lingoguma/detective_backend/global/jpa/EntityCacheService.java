@@ -0,0 +1,66 @@
+package com.lingoguma.detective_backend.global.jpa;
+
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate 2차 캐시(Caffeine JCache) 명시적 무효화 + 적중률 조회
+ * - 영역 크기/만료는 resources/hibernate-caffeine.conf
+ * - 캐시는 노드별 메모리 → 여기서의 무효화도 현재 노드에만 적용, 다른 노드는 영역 만료 시간 안에 반영
+ */
+@Service
+public class EntityCacheService {
+
+    public static final String SCENARIO_REGION = "scenario";
+    public static final String USER_REGION = "user";
+    public static final String SCENARIO_LIST_REGION = "scenario-list";
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheService(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    // 시나리오 승인/반려/삭제 시
+    public void evictScenario(Integer scenIdx) {
+        sessionFactory.getCache().evictEntityData(Scenario.class, scenIdx);
+        sessionFactory.getCache().evictQueryRegion(SCENARIO_LIST_REGION);
+    }
+
+    // 닉네임/비밀번호/권한 변경, 탈퇴 시
+    public void evictUser(Integer userIdx) {
+        sessionFactory.getCache().evictEntityData(User.class, userIdx);
+    }
+
+    // 영역별 적중/실패/저장 수와 적중률
+    public Map<String, Object> stats() {
+        Statistics st = sessionFactory.getStatistics();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("statisticsEnabled", st.isStatisticsEnabled());
+        out.put(SCENARIO_REGION, toMap(st.getDomainDataRegionStatistics(SCENARIO_REGION)));
+        out.put(USER_REGION, toMap(st.getDomainDataRegionStatistics(USER_REGION)));
+        out.put(SCENARIO_LIST_REGION, toMap(st.getQueryRegionStatistics(SCENARIO_LIST_REGION)));
+        return out;
+    }
+
+    private static Map<String, Object> toMap(CacheRegionStatistics s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        if (s == null) return m;
+        long hits = s.getHitCount();
+        long misses = s.getMissCount();
+        m.put("hits", hits);
+        m.put("misses", misses);
+        m.put("puts", s.getPutCount());
+        m.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        m.put("entries", s.getElementCountInMemory());
+        return m;
+    }
+}
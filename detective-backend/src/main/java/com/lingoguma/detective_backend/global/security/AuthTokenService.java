@@ -0,0 +1,215 @@
+package com.lingoguma.detective_backend.global.security;
+
+import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
+import com.lingoguma.detective_backend.user.entity.Role;
+import com.lingoguma.detective_backend.user.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서명 토큰 발급/검증 (auth.mode=token 일 때 사용)
+ *
+ * 토큰 형식: base64url("v1|userIdx|ROLE|발급ms|만료ms|jti") + "." + base64url(HMAC-SHA256)
+ * - 검증은 서명 + 만료 + 폐기 목록(메모리)만 확인 → 세션 저장소/DB 조회 없음
+ * - principal 은 userIdx/role 만 채운 User 로 만든 CustomUserDetails (컨트롤러는 이 두 값만 사용)
+ * - 브라우저는 HttpOnly 쿠키, 그 외 클라이언트는 Authorization: Bearer 또는 X-Auth-Token 헤더로 전달
+ * - auth.token.secret(32바이트 이상)은 모든 노드가 같은 값이어야 함 → 토큰 모드에서 없거나 짧으면 시작 실패
+ */
+@Service
+public class AuthTokenService {
+
+    public static final String COOKIE_NAME = "AUTH_TOKEN";
+    public static final String HEADER_NAME = "X-Auth-Token";
+    static final int MIN_SECRET_BYTES = 32;
+    private static final String VERSION = "v1";
+
+    private final TokenRevocationService revocationService;
+
+    @Value("${auth.mode:session}")
+    private String mode;
+
+    @Value("${auth.token.secret:}")
+    private String secret;
+
+    @Value("${auth.token.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    @Value("${auth.token.secure-cookie:false}")
+    private boolean secureCookie;
+
+    private SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder filterCount = new LongAdder();
+    private final LongAdder filterNanos = new LongAdder();
+
+    public AuthTokenService(TokenRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] raw = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_SECRET_BYTES) {
+            if (isTokenMode()) {
+                // 노드마다 다른 임시 키로 뜨면 재시작/다른 노드에서 모든 토큰이 무효 → 시작하지 않음
+                throw new IllegalStateException("auth.mode=token 에는 " + MIN_SECRET_BYTES
+                        + "바이트 이상의 auth.token.secret 이 필요합니다 (모든 노드에 같은 값)");
+            }
+            raw = new byte[MIN_SECRET_BYTES]; // 세션 모드: 토큰을 발급하지 않으므로 임시 키
+            random.nextBytes(raw);
+        }
+        key = new SecretKeySpec(raw, "HmacSHA256");
+    }
+
+    public boolean isTokenMode() {
+        return "token".equalsIgnoreCase(mode);
+    }
+
+    public Duration ttl() {
+        return Duration.ofMinutes(ttlMinutes);
+    }
+
+    // 로그인 성공 시 토큰 발급
+    public String issue(User user) {
+        long now = System.currentTimeMillis();
+        byte[] jti = new byte[12];
+        random.nextBytes(jti);
+        String payload = String.join("|", VERSION,
+                String.valueOf(user.getUserIdx()),
+                user.getRole().name(),
+                String.valueOf(now),
+                String.valueOf(now + ttl().toMillis()),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(jti));
+        String body = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + sign(body);
+    }
+
+    /**
+     * 토큰 검증 → principal (서명 불일치, 만료, 폐기된 토큰이면 null)
+     */
+    public CustomUserDetails verify(String token) {
+        Claims c = parse(token);
+        if (c == null || revocationService.isRevoked(c.jti, c.userIdx, c.issuedAtMs)) {
+            rejected.increment();
+            return null;
+        }
+        verified.increment();
+        return new CustomUserDetails(User.builder().userIdx(c.userIdx).role(c.role).build());
+    }
+
+    // 로그아웃: 이 토큰만 만료 시각까지 폐기
+    public void revoke(String token) {
+        Claims c = parse(token);
+        if (c != null) revocationService.revokeToken(c.jti, c.expiresAtMs);
+    }
+
+    // 요청에서 토큰 꺼내기 (Authorization: Bearer → X-Auth-Token → 쿠키 순)
+    public String resolve(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7).trim();
+        }
+        String tokenHeader = request.getHeader(HEADER_NAME);
+        if (tokenHeader != null && !tokenHeader.isBlank()) {
+            return tokenHeader.trim();
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    public ResponseCookie cookie(String token) {
+        return ResponseCookie.from(COOKIE_NAME, token)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .path("/")
+                .maxAge(ttl())
+                .build();
+    }
+
+    public ResponseCookie clearCookie() {
+        return ResponseCookie.from(COOKIE_NAME, "")
+                .httpOnly(true)
+                .secure(secureCookie)
+                .path("/")
+                .maxAge(0)
+                .build();
+    }
+
+    // 인증 필터 1회 처리 시간 기록
+    void recordFilter(long startNanos) {
+        filterCount.increment();
+        filterNanos.add(System.nanoTime() - startNanos);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        long n = filterCount.sum();
+        out.put("mode", isTokenMode() ? "token" : "session");
+        out.put("filterCount", n);
+        out.put("filterAvgMicros", n == 0 ? 0.0 : filterNanos.sum() / 1000.0 / n);
+        out.put("verified", verified.sum());
+        out.put("rejected", rejected.sum());
+        out.putAll(revocationService.stats());
+        return out;
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+    private record Claims(Integer userIdx, Role role, long issuedAtMs, long expiresAtMs, String jti) {
+    }
+
+    private Claims parse(String token) {
+        if (token == null) return null;
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+
+        String body = token.substring(0, dot);
+        byte[] expected = sign(body).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+
+        try {
+            String[] p = new String(Base64.getUrlDecoder().decode(body), StandardCharsets.UTF_8).split("\\|");
+            if (p.length != 6 || !VERSION.equals(p[0])) return null;
+            Claims c = new Claims(Integer.valueOf(p[1]), Role.valueOf(p[2]),
+                    Long.parseLong(p[3]), Long.parseLong(p[4]), p[5]);
+            return c.expiresAtMs > System.currentTimeMillis() ? c : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String sign(String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(body.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException("토큰 서명 실패", e);
+        }
+    }
+}
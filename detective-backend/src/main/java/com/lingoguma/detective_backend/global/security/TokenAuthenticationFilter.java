@@ -0,0 +1,45 @@
+package com.lingoguma.detective_backend.global.security;
+
+import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 토큰 인증 필터 (auth.mode=token 일 때만 SecurityConfig 에서 등록)
+ * - 토큰이 없거나 무효면 익명으로 통과 → 권한 판단은 authorizeHttpRequests 가 담당
+ * - Bean 으로 등록하지 않음 (서블릿 필터로 자동 등록되는 것 방지)
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final AuthTokenService tokenService;
+
+    public TokenAuthenticationFilter(AuthTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long t0 = System.nanoTime();
+        String token = tokenService.resolve(request);
+        if (token != null) {
+            CustomUserDetails principal = tokenService.verify(token);
+            if (principal != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        tokenService.recordFilter(t0);
+        chain.doFilter(request, response);
+    }
+}
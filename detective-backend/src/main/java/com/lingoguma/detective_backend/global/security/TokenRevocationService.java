@@ -0,0 +1,120 @@
+package com.lingoguma.detective_backend.global.security;
+
+import com.lingoguma.detective_backend.user.entity.TokenRevocation;
+import com.lingoguma.detective_backend.user.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토큰 폐기 목록 (auth_token_revocations)
+ * - 검증 때는 메모리 사본만 확인, 다른 노드의 폐기는 주기적으로 다시 읽어서 반영
+ * - 토큰 만료 시각이 지난 항목은 삭제되므로 목록은 항상 작게 유지
+ * - 세션 모드(auth.mode=session)에서는 아무 것도 기록하지 않음
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String JTI = "jti:";
+    private static final String USER = "user:";
+
+    private final TokenRevocationRepository repository;
+
+    @Value("${auth.mode:session}")
+    private String mode;
+
+    @Value("${auth.token.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    // jti → 만료 ms / userIdx → 이 시각 이전 발급 토큰 무효(ms)
+    private volatile Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Long> userCutoffs = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(TokenRevocationRepository repository) {
+        this.repository = repository;
+    }
+
+    private boolean enabled() {
+        return "token".equalsIgnoreCase(mode);
+    }
+
+    @PostConstruct
+    void load() {
+        if (enabled()) reload(LocalDateTime.now());
+    }
+
+    public boolean isRevoked(String jti, Integer userIdx, long issuedAtMs) {
+        if (revokedTokens.containsKey(jti)) return true;
+        Long cutoff = userCutoffs.get(userIdx);
+        return cutoff != null && issuedAtMs < cutoff;
+    }
+
+    // 로그아웃한 토큰 하나
+    @Transactional
+    public void revokeToken(String jti, long expiresAtMs) {
+        if (!enabled()) return;
+        repository.save(TokenRevocation.builder()
+                .revKey(JTI + jti)
+                .expiresAt(toLocal(expiresAtMs))
+                .build());
+        revokedTokens.put(jti, expiresAtMs);
+    }
+
+    // 유저의 기존 토큰 전부 (권한/비밀번호 변경, 탈퇴) → 다시 로그인해야 새 role 이 반영됨
+    @Transactional
+    public void revokeUser(Integer userIdx) {
+        if (!enabled() || userIdx == null) return;
+        long now = System.currentTimeMillis();
+        repository.save(TokenRevocation.builder()
+                .revKey(USER + userIdx)
+                .notBeforeMs(now)
+                .expiresAt(toLocal(now + ttlMinutes * 60_000L))
+                .build());
+        userCutoffs.merge(userIdx, now, Math::max);
+    }
+
+    // 다른 노드의 폐기 반영 + 만료 항목 정리
+    @Scheduled(fixedDelayString = "${auth.token.revocation-refresh-ms:5000}")
+    @Transactional
+    public void refresh() {
+        if (!enabled()) return;
+        LocalDateTime now = LocalDateTime.now();
+        repository.deleteExpired(now);
+        reload(now);
+    }
+
+    private void reload(LocalDateTime now) {
+        Map<String, Long> tokens = new ConcurrentHashMap<>();
+        Map<Integer, Long> users = new ConcurrentHashMap<>();
+        for (TokenRevocation r : repository.findByExpiresAtAfter(now)) {
+            if (r.getRevKey().startsWith(JTI)) {
+                tokens.put(r.getRevKey().substring(JTI.length()),
+                        r.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            } else if (r.getRevKey().startsWith(USER) && r.getNotBeforeMs() != null) {
+                users.put(Integer.valueOf(r.getRevKey().substring(USER.length())), r.getNotBeforeMs());
+            }
+        }
+        revokedTokens = tokens;
+        userCutoffs = users;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new HashMap<>();
+        out.put("revokedTokens", revokedTokens.size());
+        out.put("revokedUsers", userCutoffs.size());
+        return out;
+    }
+
+    private static LocalDateTime toLocal(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+}
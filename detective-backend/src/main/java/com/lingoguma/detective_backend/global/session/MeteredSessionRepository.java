@@ -0,0 +1,101 @@
+package com.lingoguma.detective_backend.global.session;
+
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 저장소 호출 시간 측정용 래퍼 (jdbc / memory 어느 쪽이든 같은 방식으로 측정)
+ * - 요청 1건당 보통 findById 1회 + save 1회 → 두 평균의 합이 요청당 세션 오버헤드
+ */
+public class MeteredSessionRepository<S extends Session> implements SessionRepository<S> {
+
+    private final SessionRepository<S> delegate;
+    private final String store;
+
+    private final Timer create = new Timer();
+    private final Timer find = new Timer();
+    private final Timer save = new Timer();
+    private final Timer delete = new Timer();
+
+    public MeteredSessionRepository(SessionRepository<S> delegate, String store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public S createSession() {
+        long t0 = System.nanoTime();
+        try {
+            return delegate.createSession();
+        } finally {
+            create.record(t0);
+        }
+    }
+
+    @Override
+    public void save(S session) {
+        long t0 = System.nanoTime();
+        try {
+            delegate.save(session);
+        } finally {
+            save.record(t0);
+        }
+    }
+
+    @Override
+    public S findById(String id) {
+        long t0 = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            find.record(t0);
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        long t0 = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            delete.record(t0);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("store", store);
+        out.put("createSession", create.toMap());
+        out.put("findById", find.toMap());
+        out.put("save", save.toMap());
+        out.put("deleteById", delete.toMap());
+        out.put("perRequestAvgMicros", find.avgMicros() + save.avgMicros());
+        if (delegate instanceof NearCacheJdbcSessionRepository jdbc) {
+            out.put("jdbc", jdbc.stats());
+        }
+        return out;
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long startNanos) {
+            count.increment();
+            nanos.add(System.nanoTime() - startNanos);
+        }
+
+        double avgMicros() {
+            long c = count.sum();
+            return c == 0 ? 0.0 : nanos.sum() / 1000.0 / c;
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of("count", count.sum(), "avgMicros", avgMicros());
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.lingoguma.detective_backend.global.session;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 노드가 공유하는 세션 저장소 (기존 DB 의 http_sessions 테이블)
+ * - near-cache: 읽은 행을 노드 메모리에 짧게(기본 5초) 보관 → 요청마다 DB 를 읽지 않음
+ *   (다른 노드의 로그아웃/속성 변경은 최대 TTL 만큼 늦게 보임)
+ * - 속성이 안 바뀐 요청은 마지막 접근 시각만 모아 두었다가 주기적으로 한 번에 UPDATE
+ * - 만료 세션은 cron 으로 일괄 삭제
+ * - 속성은 Java 직렬화로 한 컬럼에 저장 (SecurityContext 등은 Serializable 이어야 함)
+ * - 테이블은 db/http-sessions.sql 로 미리 만들어 둠 (앱이 DDL 을 실행하지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "jdbc", matchIfMissing = true)
+public class NearCacheJdbcSessionRepository implements SessionRepository<NearCacheJdbcSessionRepository.StoredSession> {
+
+    private static final String TABLE = "http_sessions";
+
+    private final JdbcTemplate jdbc;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+    // 세션 id → 최근 읽거나 쓴 행 (직렬화된 상태로 보관: 요청끼리 속성 객체를 공유하지 않도록)
+    private final Map<String, Cached> nearCache = new ConcurrentHashMap<>();
+    // 세션 id → 아직 DB 에 반영 안 된 마지막 접근 시각(ms)
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder dbReads = new LongAdder();
+    private final LongAdder dbWrites = new LongAdder();
+    private final LongAdder touchesFlushed = new LongAdder();
+    private final LongAdder expiredDeleted = new LongAdder();
+
+    @Value("${session.timeout-seconds:1800}")
+    private int timeoutSeconds;
+
+    @Value("${session.near-cache-ttl-ms:5000}")
+    private long nearCacheTtlMs;
+
+    @Value("${session.near-cache-max-entries:10000}")
+    private int nearCacheMaxEntries;
+
+    @Value("${session.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    public NearCacheJdbcSessionRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // ==============================
+    // SessionRepository
+    // ==============================
+    @Override
+    public StoredSession createSession() {
+        MapSession s = new MapSession();
+        s.setMaxInactiveInterval(Duration.ofSeconds(timeoutSeconds));
+        return new StoredSession(s, true);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        long now = System.currentTimeMillis();
+        if (session.isNew) {
+            Row row = toRow(session);
+            jdbc.update("INSERT INTO " + TABLE
+                            + " (session_id, creation_time, last_access_time, max_inactive_seconds, expiry_time, attributes)"
+                            + " VALUES (?, ?, ?, ?, ?, ?)",
+                    row.id, row.creationTime, row.lastAccessTime, row.maxInactiveSeconds, row.expiryTime(), row.attributes);
+            dbWrites.increment();
+            cache(row, now);
+        } else if (session.changed || !session.getId().equals(session.originalId)) {
+            Row row = toRow(session);
+            jdbc.update("UPDATE " + TABLE + " SET session_id = ?, last_access_time = ?, max_inactive_seconds = ?,"
+                            + " expiry_time = ?, attributes = ? WHERE session_id = ?",
+                    row.id, row.lastAccessTime, row.maxInactiveSeconds, row.expiryTime(), row.attributes,
+                    session.originalId);
+            dbWrites.increment();
+            if (!row.id.equals(session.originalId)) {
+                nearCache.remove(session.originalId);
+                pendingTouches.remove(session.originalId);
+            }
+            pendingTouches.remove(row.id);
+            cache(row, now);
+        } else {
+            // 속성 변경 없음 → 접근 시각만 모아 두었다가 flushTouches 에서 반영
+            long lastAccess = session.getLastAccessedTime().toEpochMilli();
+            pendingTouches.merge(session.getId(), lastAccess, Math::max);
+            nearCache.computeIfPresent(session.getId(), (id, c) -> c.row.lastAccessTime >= lastAccess
+                    ? c : new Cached(c.row.withLastAccess(lastAccess), c.cachedAt));
+        }
+        session.originalId = session.getId();
+        session.isNew = false;
+        session.changed = false;
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        long now = System.currentTimeMillis();
+        Row row = null;
+
+        Cached cached = nearCache.get(id);
+        if (cached != null && now - cached.cachedAt < nearCacheTtlMs) {
+            cacheHits.increment();
+            row = cached.row;
+        } else {
+            cacheMisses.increment();
+            row = load(id);
+            if (row == null) {
+                nearCache.remove(id);
+                return null;
+            }
+            Long touched = pendingTouches.get(id);
+            if (touched != null && touched > row.lastAccessTime) row = row.withLastAccess(touched);
+            cache(row, now);
+        }
+
+        if (row.expiryTime() <= now) {
+            deleteById(id);
+            return null;
+        }
+        return fromRow(row);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        nearCache.remove(id);
+        pendingTouches.remove(id);
+        jdbc.update("DELETE FROM " + TABLE + " WHERE session_id = ?", id);
+        dbWrites.increment();
+    }
+
+    // ==============================
+    // 주기 작업
+    // ==============================
+
+    // 모아 둔 마지막 접근 시각을 batch UPDATE 로 반영
+    @Scheduled(fixedDelayString = "${session.touch-flush-ms:10000}")
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>();
+        for (String id : new ArrayList<>(pendingTouches.keySet())) {
+            Long lastAccess = pendingTouches.remove(id);
+            if (lastAccess != null) batch.add(new Object[]{lastAccess, lastAccess, id, lastAccess});
+        }
+        if (batch.isEmpty()) return;
+
+        // 다른 노드가 더 최근 시각을 이미 써 두었으면 덮어쓰지 않음
+        try {
+            jdbc.batchUpdate("UPDATE " + TABLE + " SET last_access_time = ?,"
+                    + " expiry_time = ? + max_inactive_seconds * 1000"
+                    + " WHERE session_id = ? AND last_access_time < ?", batch);
+        } catch (RuntimeException e) {
+            // 실패하면 다음 flush 때 다시 시도 (그 사이 새로 쌓인 시각이 더 최근이면 그쪽 유지)
+            for (Object[] row : batch) {
+                pendingTouches.merge((String) row[2], (Long) row[0], Math::max);
+            }
+            System.err.println("세션 접근 시각 반영 실패 (" + batch.size() + "건 재시도 예정): " + e.getMessage());
+            return;
+        }
+        touchesFlushed.add(batch.size());
+    }
+
+    // 만료 세션 일괄 삭제 (노드마다 돌아도 서로 같은 행만 지우므로 안전)
+    @Scheduled(cron = "${session.cleanup-cron:0 */5 * * * *}")
+    public void cleanupExpired() {
+        flushTouches();
+        long now = System.currentTimeMillis();
+        int deleted;
+        do {
+            deleted = jdbc.update("DELETE FROM " + TABLE + " WHERE expiry_time < ? LIMIT " + cleanupBatchSize, now);
+            expiredDeleted.add(deleted);
+        } while (deleted >= cleanupBatchSize);
+        nearCache.values().removeIf(c -> c.row.expiryTime() < now);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushTouches();
+    }
+
+    // 관리자 확인용 (near-cache 적중률, DB 접근 수)
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        out.put("nearCacheEntries", nearCache.size());
+        out.put("nearCacheTtlMs", nearCacheTtlMs);
+        out.put("cacheHits", hits);
+        out.put("cacheMisses", misses);
+        out.put("cacheHitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        out.put("dbReads", dbReads.sum());
+        out.put("dbWrites", dbWrites.sum());
+        out.put("pendingTouches", pendingTouches.size());
+        out.put("touchesFlushed", touchesFlushed.sum());
+        out.put("expiredDeleted", expiredDeleted.sum());
+        return out;
+    }
+
+    // ==============================
+    // 내부 처리
+    // ==============================
+    private Row load(String id) {
+        dbReads.increment();
+        List<Row> rows = jdbc.query("SELECT session_id, creation_time, last_access_time, max_inactive_seconds, attributes"
+                        + " FROM " + TABLE + " WHERE session_id = ?",
+                (rs, n) -> new Row(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getBytes(5)),
+                id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void cache(Row row, long now) {
+        if (nearCache.size() >= nearCacheMaxEntries) {
+            nearCache.values().removeIf(c -> now - c.cachedAt >= nearCacheTtlMs);
+            if (nearCache.size() >= nearCacheMaxEntries) nearCache.clear();
+        }
+        nearCache.put(row.id, new Cached(row, now));
+    }
+
+    private Row toRow(StoredSession session) {
+        MapSession s = session.delegate;
+        HashMap<String, Object> attrs = new HashMap<>();
+        for (String name : s.getAttributeNames()) attrs.put(name, s.getAttribute(name));
+        return new Row(
+                s.getId(),
+                s.getCreationTime().toEpochMilli(),
+                s.getLastAccessedTime().toEpochMilli(),
+                (int) s.getMaxInactiveInterval().getSeconds(),
+                serializer.convert(attrs)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private StoredSession fromRow(Row row) {
+        MapSession s = new MapSession(row.id);
+        s.setCreationTime(Instant.ofEpochMilli(row.creationTime));
+        s.setLastAccessedTime(Instant.ofEpochMilli(row.lastAccessTime));
+        s.setMaxInactiveInterval(Duration.ofSeconds(row.maxInactiveSeconds));
+        if (row.attributes != null) {
+            Map<String, Object> attrs = (Map<String, Object>) deserializer.convert(row.attributes);
+            attrs.forEach(s::setAttribute);
+        }
+        return new StoredSession(s, false);
+    }
+
+    private record Row(String id, long creationTime, long lastAccessTime, int maxInactiveSeconds, byte[] attributes) {
+        long expiryTime() {
+            return lastAccessTime + maxInactiveSeconds * 1000L;
+        }
+
+        Row withLastAccess(long t) {
+            return new Row(id, creationTime, t, maxInactiveSeconds, attributes);
+        }
+    }
+
+    private record Cached(Row row, long cachedAt) {
+    }
+
+    /**
+     * 변경 여부를 추적하는 세션 (속성/만료시간이 바뀐 경우에만 전체 행 저장)
+     */
+    public static final class StoredSession implements Session {
+        private final MapSession delegate;
+        private String originalId;
+        private boolean isNew;
+        private boolean changed;
+
+        StoredSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.originalId = delegate.getId();
+            this.isNew = isNew;
+        }
+
+        @Override public String getId() { return delegate.getId(); }
+        @Override public String changeSessionId() { return delegate.changeSessionId(); }
+        @Override public <T> T getAttribute(String name) { return delegate.getAttribute(name); }
+        @Override public Set<String> getAttributeNames() { return delegate.getAttributeNames(); }
+        @Override public Instant getCreationTime() { return delegate.getCreationTime(); }
+        @Override public Instant getLastAccessedTime() { return delegate.getLastAccessedTime(); }
+        @Override public Duration getMaxInactiveInterval() { return delegate.getMaxInactiveInterval(); }
+        @Override public boolean isExpired() { return delegate.isExpired(); }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            delegate.setAttribute(name, value);
+            changed = true;
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            delegate.removeAttribute(name);
+            changed = true;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant time) {
+            delegate.setLastAccessedTime(time);
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+            changed = true;
+        }
+    }
+}
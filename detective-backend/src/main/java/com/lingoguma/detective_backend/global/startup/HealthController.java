@@ -0,0 +1,35 @@
+package com.lingoguma.detective_backend.global.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 로드밸런서/오케스트레이터용 상태 확인 (로그인 불필요)
+ * - ready: 시작 워밍업이 끝나 트래픽을 받을 수 있으면 200, 아니면 503
+ * - live: 프로세스가 정상이면 200
+ */
+@RestController
+@RequestMapping("/api/health")
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final ApplicationAvailability availability;
+
+    @GetMapping("/ready")
+    public ResponseEntity<String> ready() {
+        ReadinessState state = availability.getReadinessState();
+        return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? 200 : 503).body(state.name());
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<String> live() {
+        LivenessState state = availability.getLivenessState();
+        return ResponseEntity.status(state == LivenessState.CORRECT ? 200 : 503).body(state.name());
+    }
+}
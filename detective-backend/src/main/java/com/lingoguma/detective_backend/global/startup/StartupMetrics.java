@@ -0,0 +1,100 @@
+package com.lingoguma.detective_backend.global.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 노드 시작 시간 측정 (기본 모드 vs fast-start 모드 비교용)
+ * - readyMs: JVM 시작부터 ApplicationReadyEvent 까지 (컨텍스트 준비 완료)
+ * - acceptingTrafficMs: JVM 시작부터 readiness 가 ACCEPTING_TRAFFIC 이 될 때까지 (시작 워밍업 포함)
+ * - firstRequestMs: 시작 후 첫 요청 처리 시간 (DispatcherServlet 초기화, 지연 생성 빈, JIT 전 코드 포함)
+ * - aot / cds: AOT 생성 코드 사용 여부, CDS 아카이브 사용 여부
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupMetrics extends OncePerRequestFilter {
+
+    private final AtomicBoolean firstSeen = new AtomicBoolean();
+
+    private volatile long readyMs = -1;
+    private volatile long springReadyMs = -1;
+    private volatile long acceptingTrafficMs = -1;
+    private volatile long firstRequestMs = -1;
+    private volatile long firstRequestAtMs = -1;
+    private volatile String firstRequestPath;
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE) // 시작 워밍업(StartupWarmupService)보다 먼저
+    public void onReady(ApplicationReadyEvent event) {
+        readyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        springReadyMs = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+        System.err.println("[startup] ready in " + readyMs + "ms (spring " + springReadyMs + "ms, aot="
+                + aot() + ", cds=" + cds() + ")");
+    }
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && acceptingTrafficMs < 0) {
+            acceptingTrafficMs = ManagementFactory.getRuntimeMXBean().getUptime();
+            System.err.println("[startup] accepting traffic in " + acceptingTrafficMs + "ms");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (firstSeen.get() || !firstSeen.compareAndSet(false, true)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            firstRequestMs = (System.nanoTime() - started) / 1_000_000;
+            firstRequestAtMs = ManagementFactory.getRuntimeMXBean().getUptime();
+            firstRequestPath = request.getMethod() + " " + request.getRequestURI();
+            System.err.println("[startup] first request " + firstRequestPath + " took " + firstRequestMs + "ms");
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("aot", aot());
+        out.put("cds", cds());
+        out.put("readyMs", readyMs);
+        out.put("springReadyMs", springReadyMs);
+        out.put("acceptingTrafficMs", acceptingTrafficMs);
+        out.put("firstRequestMs", firstRequestMs);
+        out.put("firstRequestAtMs", firstRequestAtMs);
+        out.put("firstRequestPath", firstRequestPath);
+        return out;
+    }
+
+    private static boolean aot() {
+        return AotDetector.useGeneratedArtifacts();
+    }
+
+    private static boolean cds() {
+        List<String> args = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        return args.stream().anyMatch(a -> a.startsWith("-XX:SharedArchiveFile") || a.startsWith("-XX:+AutoCreateSharedArchive"));
+    }
+}
@@ -2,7 +2,10 @@ package com.lingoguma.detective_backend.scenario.controller;
 
 import com.lingoguma.detective_backend.scenario.dto.ScenarioRequest;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSearchResponse;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioStatsResponse;
 import com.lingoguma.detective_backend.scenario.service.ScenarioService;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +23,7 @@ import java.util.List;
 public class ScenarioController {
 
     private final ScenarioService scenarioService;
+    private final ScenarioStatsService statsService;
 
     /**
      * 승인된 시나리오만 조회 (비로그인, 회원, 전문가 전부 공통)
@@ -29,12 +33,36 @@ public class ScenarioController {
         return ResponseEntity.ok(scenarioService.getPublishedScenarios());
     }
 
+    /**
+     * 승인된 시나리오 검색 (제목, 요약, 등장인물 이름/직업, 증거 이름)
+     * - 목록 전체(contentJson 포함)를 내려받아 클라이언트에서 거르지 않도록
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ScenarioSearchResponse> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(scenarioService.search(query, page, size));
+    }
+
     // 모든 시나리오 조회
     // @GetMapping
     // public ResponseEntity<List<ScenarioResponse>> getAll() {
     //     return ResponseEntity.ok(scenarioService.getAllScenarios());
     // }
 
+    // 시나리오별 플레이 통계 (메모리 카운터 조회, DB 접근 없음)
+    @GetMapping("/stats")
+    public ResponseEntity<List<ScenarioStatsResponse>> getAllStats() {
+        return ResponseEntity.ok(statsService.getAll());
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ScenarioStatsResponse> getStats(@PathVariable Integer id) {
+        return ResponseEntity.ok(statsService.get(id));
+    }
+
     // 단일 시나리오 조회
     @GetMapping("/{id}")
     public ResponseEntity<ScenarioResponse> getOne(@PathVariable Integer id) {
@@ -62,7 +90,11 @@ public class ScenarioController {
             return ResponseEntity.status(403).body("전문가 또는 관리자 권한이 필요합니다.");
         }
 
-        ScenarioResponse saved = scenarioService.createScenario(request, userDetails.getUser().getUserIdx());
-        return ResponseEntity.ok(saved);
+        try {
+            ScenarioResponse saved = scenarioService.createScenario(request, userDetails.getUser().getUserIdx());
+            return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
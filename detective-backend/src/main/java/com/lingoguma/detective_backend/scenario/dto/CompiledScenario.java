@@ -0,0 +1,63 @@
+package com.lingoguma.detective_backend.scenario.dto;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioAnswer;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioCharacter;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioEvidence;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioTimeline;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 시나리오 (scenario_characters / evidence / timeline / answer 조회 결과)
+ * - 목록은 contentJson 에 적힌 순서(sortOrder) 그대로
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledScenario {
+
+    private final ScenarioAnswer answer;
+    private final List<ScenarioCharacter> characters;
+    private final List<ScenarioEvidence> evidence;
+    private final List<ScenarioTimeline> timeline;
+
+    // 캐릭터 id → 이름 (id/이름이 비어 있는 캐릭터 제외)
+    public Map<String, String> charIdToName() {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (ScenarioCharacter c : characters) {
+            if (!isBlank(c.getCharKey()) && !isBlank(c.getName())) out.putIfAbsent(c.getCharKey(), c.getName());
+        }
+        return out;
+    }
+
+    // 증거 id → 이름 (id/이름이 비어 있는 증거 제외)
+    public Map<String, String> evIdToName() {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (ScenarioEvidence ev : evidence) {
+            if (!isBlank(ev.getEvKey()) && !isBlank(ev.getName())) out.putIfAbsent(ev.getEvKey(), ev.getName());
+        }
+        return out;
+    }
+
+    // 핵심 증거 id 목록
+    public List<String> keyEvidenceIds() {
+        if (isBlank(answer.getKeyEvidence())) return List.of();
+        return Arrays.asList(answer.getKeyEvidence().split(","));
+    }
+
+    // 핵심 증거를 이름으로 치환한 비교 문자열 (이름이 없으면 id 그대로)
+    public String keyEvidenceText() {
+        Map<String, String> names = evIdToName();
+        return String.join(", ", keyEvidenceIds().stream()
+                .map(id -> names.getOrDefault(id, id))
+                .toList());
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,32 @@
+package com.lingoguma.detective_backend.scenario.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioSearchResponse {
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<Hit> hits;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hit {
+        private Integer scenIdx;
+        private String scenTitle;
+        private String scenSummary;
+        private Integer scenLevel;
+        private String scenAccess;
+        private double score;
+    }
+}
@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.scenario.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioStatsResponse {
+    private Integer scenIdx;
+    private long plays;          // 시작된 세션 수
+    private long finishes;       // 결과 제출 수
+    private long solves;         // 정답 수
+    private double solveRate;    // solves / finishes
+    private double avgTurns;     // turns / plays
+    private long uniquePlayers;  // 회원 기준 추정치 (HyperLogLog)
+}
@@ -1,11 +1,18 @@
 package com.lingoguma.detective_backend.scenario.entity;
 
+import com.lingoguma.detective_backend.global.jpa.CompressedJsonConverter;
+import com.lingoguma.detective_backend.global.jpa.EntityCacheService;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "scenarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheService.SCENARIO_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,11 +40,14 @@ public class Scenario {
     @Column(length = 20)
     private ScenStatus scenStatus;
 
-    @Column(columnDefinition = "JSON")
-    private String contentJson;   // JSON 한 줄 저장
+    @Convert(converter = CompressedJsonConverter.class)
+    @Column(columnDefinition = "LONGBLOB")
+    private String contentJson;   // JSON (압축 저장, db/json-compression.sql 참고)
 
     private Integer createdBy;    // 작성자 (users.user_idx FK)
 
+    private Boolean modelTiering; // 질문 난이도별 모델 분리 (null: 기본 설정, db/model-tiering.sql 참고)
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
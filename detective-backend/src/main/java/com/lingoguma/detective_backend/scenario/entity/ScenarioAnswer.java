@@ -0,0 +1,57 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 정답 (contentJson.answer + 범인 캐릭터를 컴파일해서 저장, 시나리오당 1행)
+ * - contentVersion: 컴파일한 contentJson 의 SHA-256 (다르면 다시 컴파일)
+ * - keyEvidence: 핵심 증거 id 목록 (쉼표 구분)
+ */
+@Entity
+@Table(name = "scenario_answer")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioAnswer {
+
+    @Id
+    @Column(name = "scen_idx")
+    private Integer scenIdx;
+
+    @Column(nullable = false, length = 64)
+    private String contentVersion;
+
+    @Column(length = 225)
+    private String caseTitle;      // contentJson.scenario.title (없으면 시나리오 제목)
+
+    @Column(columnDefinition = "TEXT")
+    private String caseSummary;    // contentJson.scenario.summary (없으면 시나리오 요약)
+
+    @Column(length = 50)
+    private String culpritKey;
+
+    @Column(length = 100)
+    private String culpritName;
+
+    @Column(columnDefinition = "TEXT")
+    private String motive;
+
+    @Column(columnDefinition = "TEXT")
+    private String method;
+
+    @Column(length = 500)
+    private String keyEvidence;
+
+    private LocalDateTime compiledAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onCompile() {
+        this.compiledAt = LocalDateTime.now();
+    }
+}
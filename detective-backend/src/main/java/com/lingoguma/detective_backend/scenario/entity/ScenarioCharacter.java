@@ -0,0 +1,68 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 시나리오 등장인물 (contentJson.characters 를 컴파일해서 저장)
+ */
+@Entity
+@Table(
+        name = "scenario_characters",
+        indexes = @Index(name = "idx_scen_char_scen", columnList = "scen_idx, sort_order")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioCharacter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer characterId;
+
+    @Column(name = "scen_idx", nullable = false)
+    private Integer scenIdx;
+
+    @Column(name = "sort_order", nullable = false)
+    private int sortOrder;
+
+    @Column(length = 50)
+    private String charKey;        // contentJson 의 id (예: c1)
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(length = 20)
+    private String role;           // 범인 / 용의자 ...
+
+    private boolean culprit;       // role == "범인"
+
+    @Column(length = 100)
+    private String job;
+
+    @Column(length = 20)
+    private String age;
+
+    @Column(length = 20)
+    private String gender;
+
+    @Column(columnDefinition = "TEXT")
+    private String personality;
+
+    @Column(columnDefinition = "TEXT")
+    private String speakingStyle;
+
+    @Column(columnDefinition = "TEXT")
+    private String outfit;
+
+    @Column(columnDefinition = "TEXT")
+    private String alibi;
+
+    @Column(columnDefinition = "TEXT")
+    private String mission;
+
+    @Column(columnDefinition = "TEXT")
+    private String sampleLine;
+}
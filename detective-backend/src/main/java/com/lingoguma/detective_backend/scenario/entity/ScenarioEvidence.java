@@ -0,0 +1,41 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 시나리오 증거 (contentJson.evidence 를 컴파일해서 저장)
+ */
+@Entity
+@Table(
+        name = "scenario_evidence",
+        indexes = @Index(name = "idx_scen_evidence_scen", columnList = "scen_idx, sort_order")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioEvidence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer evidenceId;
+
+    @Column(name = "scen_idx", nullable = false)
+    private Integer scenIdx;
+
+    @Column(name = "sort_order", nullable = false)
+    private int sortOrder;
+
+    @Column(length = 50)
+    private String evKey;          // contentJson 의 id (예: e1)
+
+    @Column(length = 225)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private boolean keyEvidence;   // answer.key_evidence 포함 여부
+}
@@ -0,0 +1,44 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오별 플레이 통계 (메모리 카운터를 주기적으로 합산 저장)
+ * - plays: 시작된 세션 수 / finishes: 결과 저장 수 / solves: 정답 수 / turns: 질문 수
+ * - playerSketch: 회원 유저 수 추정용 HyperLogLog 레지스터
+ */
+@Entity
+@Table(name = "scenario_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioStats {
+
+    @Id
+    @Column(name = "scen_idx")
+    private Integer scenIdx;
+
+    private long plays;
+    private long finishes;
+    private long solves;
+    private long turns;
+
+    private long uniquePlayers;   // playerSketch 추정값 (조회 편의용)
+
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] playerSketch;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,36 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 시나리오 타임라인 (contentJson.timeline 을 컴파일해서 저장)
+ */
+@Entity
+@Table(
+        name = "scenario_timeline",
+        indexes = @Index(name = "idx_scen_timeline_scen", columnList = "scen_idx, sort_order")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioTimeline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer timelineId;
+
+    @Column(name = "scen_idx", nullable = false)
+    private Integer scenIdx;
+
+    @Column(name = "sort_order", nullable = false)
+    private int sortOrder;
+
+    @Column(length = 50)
+    private String time;
+
+    @Column(columnDefinition = "TEXT")
+    private String event;
+}
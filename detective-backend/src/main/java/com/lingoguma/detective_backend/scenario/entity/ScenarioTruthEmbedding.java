@@ -0,0 +1,57 @@
+package com.lingoguma.detective_backend.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시나리오 정답(동기/수법/증거) 문장의 임베딩 벡터
+ * - 시나리오 승인 시 한 번 계산해서 저장 → 유사도 비교 때 플레이어 문장만 임베딩
+ * - contentVersion: contentJson 의 SHA-256 (내용이 바뀌면 새 버전으로 다시 계산)
+ * - vector: float32 little-endian 배열
+ */
+@Entity
+@Table(
+        name = "scenario_truth_embeddings",
+        indexes = @Index(name = "idx_truth_emb_scen_version", columnList = "scen_idx, content_version"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_truth_emb_key",
+                columnNames = {"scen_idx", "content_version", "truth_key"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioTruthEmbedding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer embeddingId;
+
+    @Column(name = "scen_idx", nullable = false)
+    private Integer scenIdx;
+
+    @Column(name = "content_version", nullable = false, length = 64)
+    private String contentVersion;
+
+    @Column(nullable = false, length = 100)
+    private String embeddingModel;  // 예: jhgan/ko-sroberta-multitask
+
+    @Column(name = "truth_key", nullable = false, length = 50)
+    private String truthKey;        // motive, method, key_evidence, evidence:e1 ...
+
+    @Column(columnDefinition = "TEXT")
+    private String truthText;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] vector;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioAnswer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ScenarioAnswerRepository extends JpaRepository<ScenarioAnswer, Integer> {
+
+    // 컴파일 여부 확인용 (엔티티를 영속성 컨텍스트에 올리지 않음)
+    @Query("select a.contentVersion from ScenarioAnswer a where a.scenIdx = :scenIdx")
+    Optional<String> findContentVersion(@Param("scenIdx") Integer scenIdx);
+
+    // 같은 시나리오를 동시에 컴파일할 때 정답 행 하나로 순서를 맞추기 위해 (이미 있으면 아무것도 안 함)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scenario_answer (scen_idx, content_version, compiled_at) "
+            + "VALUES (:scenIdx, '', NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("scenIdx") Integer scenIdx);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from ScenarioAnswer a where a.scenIdx = :scenIdx")
+    Optional<ScenarioAnswer> findForUpdate(@Param("scenIdx") Integer scenIdx);
+}
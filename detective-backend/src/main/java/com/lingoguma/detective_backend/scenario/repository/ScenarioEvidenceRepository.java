@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioEvidence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ScenarioEvidenceRepository extends JpaRepository<ScenarioEvidence, Integer> {
+
+    List<ScenarioEvidence> findByScenIdxOrderBySortOrderAsc(Integer scenIdx);
+
+    @Modifying
+    @Query("delete from ScenarioEvidence e where e.scenIdx = :scenIdx")
+    int deleteAllByScenIdx(@Param("scenIdx") Integer scenIdx);
+}
@@ -5,10 +5,18 @@ import com.lingoguma.detective_backend.scenario.entity.Scenario;
 
 import java.util.List;
 
+import com.lingoguma.detective_backend.global.jpa.EntityCacheService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ScenarioRepository extends JpaRepository<Scenario, Integer> {
-    // 상태별 조회
+    // 상태별 조회 (쿼리 캐시: 공개 목록은 모두가 자주 읽고 거의 안 바뀜)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheService.SCENARIO_LIST_REGION)
+    })
     List<Scenario> findByScenStatus(ScenStatus status);
     
 }
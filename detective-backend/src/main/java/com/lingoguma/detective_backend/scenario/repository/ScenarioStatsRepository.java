@@ -0,0 +1,19 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ScenarioStatsRepository extends JpaRepository<ScenarioStats, Integer> {
+
+    // flush 시 다른 노드와 동시에 합산하지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ScenarioStats s where s.scenIdx in :ids")
+    List<ScenarioStats> findAllForUpdate(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,18 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioTimeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ScenarioTimelineRepository extends JpaRepository<ScenarioTimeline, Integer> {
+
+    List<ScenarioTimeline> findByScenIdxOrderBySortOrderAsc(Integer scenIdx);
+
+    @Modifying
+    @Query("delete from ScenarioTimeline e where e.scenIdx = :scenIdx")
+    int deleteAllByScenIdx(@Param("scenIdx") Integer scenIdx);
+}
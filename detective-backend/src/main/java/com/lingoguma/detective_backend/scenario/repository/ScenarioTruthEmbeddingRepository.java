@@ -0,0 +1,37 @@
+package com.lingoguma.detective_backend.scenario.repository;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioTruthEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ScenarioTruthEmbeddingRepository extends JpaRepository<ScenarioTruthEmbedding, Integer> {
+
+    // 시나리오 + 버전별 정답 벡터
+    List<ScenarioTruthEmbedding> findByScenIdxAndContentVersion(Integer scenIdx, String contentVersion);
+
+    // 시나리오의 모든 버전 삭제 (재계산/시나리오 삭제 시)
+    @Modifying
+    @Query("delete from ScenarioTruthEmbedding e where e.scenIdx = :scenIdx")
+    int deleteAllByScenIdx(@Param("scenIdx") Integer scenIdx);
+
+    // 새 버전 저장 시 이전 버전 삭제
+    @Modifying
+    @Query("delete from ScenarioTruthEmbedding e where e.scenIdx = :scenIdx and e.contentVersion <> :version")
+    int deleteOtherVersions(@Param("scenIdx") Integer scenIdx, @Param("version") String version);
+
+    // (scen_idx, content_version, truth_key) 유니크 → 동시에 저장해도 한 행 (나중 값으로 덮어씀)
+    @Modifying
+    @Query(value = "INSERT INTO scenario_truth_embeddings " +
+            "(scen_idx, content_version, embedding_model, truth_key, truth_text, vector, created_at) " +
+            "VALUES (:scenIdx, :version, :model, :truthKey, :truthText, :vector, NOW()) " +
+            "ON DUPLICATE KEY UPDATE embedding_model = VALUES(embedding_model), truth_text = VALUES(truth_text), " +
+            "vector = VALUES(vector), created_at = VALUES(created_at)",
+            nativeQuery = true)
+    int upsert(@Param("scenIdx") Integer scenIdx, @Param("version") String version, @Param("model") String model,
+               @Param("truthKey") String truthKey, @Param("truthText") String truthText,
+               @Param("vector") byte[] vector);
+}
@@ -0,0 +1,74 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+/**
+ * 고유 플레이어 수 추정용 HyperLogLog (p=12, 레지스터 4096개 = 4KB, 오차 약 1.6%)
+ * - 레지스터 배열 그대로 DB에 저장하고, 노드 간/재시작 후 병합은 레지스터별 max
+ */
+public class HyperLogLog {
+
+    static final int P = 12;
+    static final int M = 1 << P;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[M];
+    }
+
+    public HyperLogLog(byte[] registers) {
+        this.registers = (registers != null && registers.length == M) ? registers.clone() : new byte[M];
+    }
+
+    // 값 추가 (레지스터가 바뀌면 true)
+    public synchronized boolean add(long value) {
+        long h = mix64(value);
+        int idx = (int) (h >>> (64 - P));
+        long w = h << P;
+        int rank = (w == 0) ? (64 - P + 1) : Long.numberOfLeadingZeros(w) + 1;
+        if (rank > registers[idx]) {
+            registers[idx] = (byte) rank;
+            return true;
+        }
+        return false;
+    }
+
+    // 다른 스케치와 병합 (레지스터가 바뀌면 true)
+    public synchronized boolean merge(byte[] other) {
+        if (other == null || other.length != M) return false;
+        boolean changed = false;
+        for (int i = 0; i < M; i++) {
+            if (other[i] > registers[i]) {
+                registers[i] = other[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / M);
+        double e = alpha * M * M / sum;
+        if (e <= 2.5 * M && zeros > 0) {
+            e = M * Math.log((double) M / zeros); // 작은 값 보정 (linear counting)
+        }
+        return Math.round(e);
+    }
+
+    public synchronized byte[] toBytes() {
+        return registers.clone();
+    }
+
+    // splitmix64 finalizer (userIdx 같은 연속 정수도 고르게 분산)
+    private static long mix64(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
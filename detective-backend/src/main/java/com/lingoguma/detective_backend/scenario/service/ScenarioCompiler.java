@@ -0,0 +1,370 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.entity.*;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioAnswerRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioCharacterRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioEvidenceRepository;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * 시나리오 contentJson → 정규화 테이블 컴파일
+ * - 작성/승인 시 스키마 검증 후 scenario_characters / evidence / timeline / answer 에 저장
+ * - 게임 쪽(정답 확인, 분석, 유사도)은 load() 로 scen_idx 인덱스 조회만 함
+ * - 검색 색인/시작 워밍업은 loadReadOnly() (다시 컴파일이 필요해도 메모리에서만, 저장/잠금 없음)
+ * - 컴파일 전 시나리오(기존 데이터)나 contentJson 이 바뀐 경우 load() 가 검증 없이 다시 컴파일
+ * - 컬럼 길이를 넘는 값: 작성/승인 때는 검증 오류(400), 검증 없이 다시 컴파일할 때는 잘라서 저장
+ * - 같은 시나리오의 컴파일은 scenario_answer 행 잠금으로 하나씩 (여러 요청/노드가 동시에 컴파일해도 키 충돌 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class ScenarioCompiler {
+
+    static final String CULPRIT_ROLE = "범인";
+
+    // 정규화 테이블 컬럼 길이 (엔티티 @Column length 와 같게)
+    static final int KEY_MAX = 50;
+    static final int CHAR_NAME_MAX = 100;
+    static final int ROLE_MAX = 20;
+    static final int JOB_MAX = 100;
+    static final int AGE_MAX = 20;
+    static final int GENDER_MAX = 20;
+    static final int EV_NAME_MAX = 225;
+    static final int TIME_MAX = 50;
+    static final int TITLE_MAX = 225;
+    static final int KEY_EVIDENCE_MAX = 500;
+
+    private final ScenarioCharacterRepository characterRepository;
+    private final ScenarioEvidenceRepository evidenceRepository;
+    private final ScenarioTimelineRepository timelineRepository;
+    private final ScenarioAnswerRepository answerRepository;
+    private final ObjectMapper mapper;
+
+    // 검증만 (반환: 오류 목록, 비어 있으면 통과) — 트랜잭션 밖에서 먼저 확인할 때
+    public List<String> check(String contentJson) {
+        try {
+            return validate(parse(contentJson));
+        } catch (IllegalArgumentException e) {
+            return List.of(e.getMessage());
+        }
+    }
+
+    // 작성/승인 시: 검증 후 컴파일 (검증 실패 시 IllegalArgumentException)
+    @Transactional
+    public CompiledScenario compile(Scenario scenario) {
+        Map<String, Object> content = parse(scenario.getContentJson());
+        List<String> errors = validate(content);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("시나리오 내용 검증 실패: " + String.join(", ", errors));
+        }
+        return write(scenario, content);
+    }
+
+    // 게임 중 조회: 컴파일 결과가 없거나 contentJson 이 바뀌었으면 다시 컴파일
+    @Transactional
+    public CompiledScenario load(Scenario scenario) {
+        Integer scenIdx = scenario.getScenIdx();
+        String version = contentVersion(scenario.getContentJson());
+        if (!version.equals(answerRepository.findContentVersion(scenIdx).orElse(null))) {
+            // 잠근 뒤 다시 확인: 기다리는 동안 다른 요청이 이미 컴파일했으면 그 결과를 읽음
+            ScenarioAnswer locked = lockAnswer(scenIdx);
+            if (!version.equals(locked.getContentVersion())) {
+                return write(scenario, parse(scenario.getContentJson()), locked);
+            }
+        }
+        return read(scenIdx);
+    }
+
+    /**
+     * 읽기 전용 조회 (검색 색인, 시작 워밍업처럼 쓰기가 필요 없는 곳)
+     * - 저장된 컴파일 결과가 지금 contentJson 과 같으면 그대로 읽음
+     * - 없거나 오래됐으면 메모리에서만 컴파일해서 반환 (DB 에 쓰지 않음, 저장은 게임 중 load() 가 함)
+     */
+    @Transactional(readOnly = true)
+    public CompiledScenario loadReadOnly(Scenario scenario) {
+        Integer scenIdx = scenario.getScenIdx();
+        String version = contentVersion(scenario.getContentJson());
+        if (version.equals(answerRepository.findContentVersion(scenIdx).orElse(null))) {
+            return read(scenIdx);
+        }
+        return build(scenario, parse(scenario.getContentJson()), ScenarioAnswer.builder().scenIdx(scenIdx).build());
+    }
+
+    // 시나리오 삭제 시
+    @Transactional
+    public void delete(Integer scenIdx) {
+        characterRepository.deleteAllByScenIdx(scenIdx);
+        evidenceRepository.deleteAllByScenIdx(scenIdx);
+        timelineRepository.deleteAllByScenIdx(scenIdx);
+        answerRepository.deleteById(scenIdx);
+    }
+
+    // ==============================
+    // 검증
+    // ==============================
+    @SuppressWarnings("unchecked")
+    List<String> validate(Map<String, Object> content) {
+        List<String> errors = new ArrayList<>();
+
+        if (content.get("scenario") instanceof Map<?, ?> meta) {
+            checkLength(errors, "scenario.title", meta.get("title"), TITLE_MAX);
+        }
+
+        List<Map<String, Object>> characters = listOfMaps(content.get("characters"), "characters", errors);
+        List<Map<String, Object>> evidence = listOfMaps(content.get("evidence"), "evidence", errors);
+        listOfMaps(content.get("timeline"), "timeline", errors);
+        Object answerRaw = content.get("answer");
+        if (answerRaw != null && !(answerRaw instanceof Map)) errors.add("answer 는 객체여야 합니다");
+        Map<String, Object> answer = answerRaw instanceof Map ? (Map<String, Object>) answerRaw : Map.of();
+
+        if (characters.isEmpty()) errors.add("characters 가 비어 있습니다");
+
+        Set<String> charIds = new HashSet<>();
+        List<String> culpritIds = new ArrayList<>();
+        for (int i = 0; i < characters.size(); i++) {
+            Map<String, Object> c = characters.get(i);
+            String id = str(c.get("id"));
+            if (str(c.get("name")).isEmpty()) errors.add("characters[" + i + "].name 이 비어 있습니다");
+            if (!id.isEmpty() && !charIds.add(id)) errors.add("캐릭터 id 중복: " + id);
+            if (CULPRIT_ROLE.equals(str(c.get("role")))) culpritIds.add(id);
+            String field = "characters[" + i + "].";
+            checkLength(errors, field + "id", c.get("id"), KEY_MAX);
+            checkLength(errors, field + "name", c.get("name"), CHAR_NAME_MAX);
+            checkLength(errors, field + "role", c.get("role"), ROLE_MAX);
+            checkLength(errors, field + "job", c.get("job"), JOB_MAX);
+            checkLength(errors, field + "age", c.get("age"), AGE_MAX);
+            checkLength(errors, field + "gender", c.get("gender"), GENDER_MAX);
+        }
+        if (culpritIds.size() > 1) errors.add("범인 캐릭터가 여러 명입니다");
+
+        String answerCulprit = str(answer.get("culprit"));
+        if (culpritIds.isEmpty() && answerCulprit.isEmpty()) {
+            errors.add("범인이 지정되지 않았습니다 (role=범인 또는 answer.culprit)");
+        }
+        if (!answerCulprit.isEmpty() && !charIds.contains(answerCulprit)) {
+            errors.add("answer.culprit 가 캐릭터 id 가 아닙니다: " + answerCulprit);
+        }
+        if (!answerCulprit.isEmpty() && culpritIds.size() == 1 && !answerCulprit.equals(culpritIds.get(0))) {
+            errors.add("answer.culprit 와 role=범인 캐릭터가 다릅니다");
+        }
+
+        Set<String> evIds = new HashSet<>();
+        for (int i = 0; i < evidence.size(); i++) {
+            Map<String, Object> ev = evidence.get(i);
+            String id = str(ev.get("id"));
+            if (!id.isEmpty() && !evIds.add(id)) errors.add("증거 id 중복: " + id);
+            checkLength(errors, "evidence[" + i + "].id", ev.get("id"), KEY_MAX);
+            checkLength(errors, "evidence[" + i + "].name", ev.get("name"), EV_NAME_MAX);
+        }
+        List<Map<String, Object>> timeline = listOfMaps(content.get("timeline"), "timeline", new ArrayList<>());
+        for (int i = 0; i < timeline.size(); i++) {
+            checkLength(errors, "timeline[" + i + "].time", timeline.get(i).get("time"), TIME_MAX);
+        }
+        Object keyEv = answer.get("key_evidence");
+        if (keyEv != null && !(keyEv instanceof List)) {
+            errors.add("answer.key_evidence 는 배열이어야 합니다");
+        } else if (keyEv != null) {
+            List<String> keyIds = new ArrayList<>();
+            for (Object id : (List<Object>) keyEv) {
+                if (!evIds.contains(str(id))) errors.add("answer.key_evidence 에 없는 증거 id: " + id);
+                keyIds.add(str(id));
+            }
+            checkLength(errors, "answer.key_evidence", String.join(",", keyIds), KEY_EVIDENCE_MAX);
+        }
+        return errors;
+    }
+
+    // ==============================
+    // 저장
+    // ==============================
+    // 정답 행을 (없으면 빈 값으로 만든 뒤) 잠금 → 같은 시나리오의 컴파일은 여기서 줄을 섬
+    private ScenarioAnswer lockAnswer(Integer scenIdx) {
+        answerRepository.insertIfAbsent(scenIdx);
+        return answerRepository.findForUpdate(scenIdx)
+                .orElseThrow(() -> new IllegalStateException("시나리오 정답 행 생성 실패: " + scenIdx));
+    }
+
+    private CompiledScenario read(Integer scenIdx) {
+        return new CompiledScenario(
+                answerRepository.findById(scenIdx).orElseThrow(),
+                characterRepository.findByScenIdxOrderBySortOrderAsc(scenIdx),
+                evidenceRepository.findByScenIdxOrderBySortOrderAsc(scenIdx),
+                timelineRepository.findByScenIdxOrderBySortOrderAsc(scenIdx)
+        );
+    }
+
+    private CompiledScenario write(Scenario scenario, Map<String, Object> content) {
+        return write(scenario, content, lockAnswer(scenario.getScenIdx()));
+    }
+
+    private CompiledScenario write(Scenario scenario, Map<String, Object> content, ScenarioAnswer answer) {
+        Integer scenIdx = scenario.getScenIdx();
+        characterRepository.deleteAllByScenIdx(scenIdx);
+        evidenceRepository.deleteAllByScenIdx(scenIdx);
+        timelineRepository.deleteAllByScenIdx(scenIdx);
+
+        CompiledScenario built = build(scenario, content, answer);
+        return new CompiledScenario(
+                answerRepository.save(built.getAnswer()),
+                characterRepository.saveAll(built.getCharacters()),
+                evidenceRepository.saveAll(built.getEvidence()),
+                timelineRepository.saveAll(built.getTimeline())
+        );
+    }
+
+    // contentJson → 엔티티 (저장 전), 길이 초과 값은 잘라냄 (작성/승인 때는 validate 에서 이미 거름, 기존 시나리오 재컴파일용)
+    @SuppressWarnings("unchecked")
+    private CompiledScenario build(Scenario scenario, Map<String, Object> content, ScenarioAnswer answer) {
+        Integer scenIdx = scenario.getScenIdx();
+        Map<String, Object> answerMap = content.get("answer") instanceof Map
+                ? (Map<String, Object>) content.get("answer") : Map.of();
+        List<String> keyEvIds = new ArrayList<>();
+        if (answerMap.get("key_evidence") instanceof List<?> ids) {
+            for (Object id : ids) keyEvIds.add(str(id));
+        }
+
+        // 캐릭터
+        List<ScenarioCharacter> characters = new ArrayList<>();
+        int order = 0;
+        for (Map<String, Object> c : listOfMaps(content.get("characters"), "characters", new ArrayList<>())) {
+            String role = str(c.get("role"));
+            characters.add(ScenarioCharacter.builder()
+                    .scenIdx(scenIdx)
+                    .sortOrder(order++)
+                    .charKey(fit(str(c.get("id")), KEY_MAX))
+                    .name(fit(str(c.get("name")), CHAR_NAME_MAX))
+                    .role(fit(role, ROLE_MAX))
+                    .culprit(CULPRIT_ROLE.equals(role))
+                    .job(fit(str(c.get("job")), JOB_MAX))
+                    .age(fit(str(c.get("age")), AGE_MAX))
+                    .gender(fit(str(c.get("gender")), GENDER_MAX))
+                    .personality(str(c.get("personality")))
+                    .speakingStyle(str(c.get("speaking_style")))
+                    .outfit(str(c.get("outfit")))
+                    .alibi(c.get("alibi") == null ? null : String.valueOf(c.get("alibi")))
+                    .mission(str(c.get("mission")))
+                    .sampleLine(str(c.get("sample_line")))
+                    .build());
+        }
+
+        // 증거
+        List<ScenarioEvidence> evidence = new ArrayList<>();
+        order = 0;
+        for (Map<String, Object> ev : listOfMaps(content.get("evidence"), "evidence", new ArrayList<>())) {
+            String id = str(ev.get("id"));
+            evidence.add(ScenarioEvidence.builder()
+                    .scenIdx(scenIdx)
+                    .sortOrder(order++)
+                    .evKey(fit(id, KEY_MAX))
+                    .name(fit(str(ev.get("name")), EV_NAME_MAX))
+                    .description(str(ev.get("desc")))
+                    .keyEvidence(!id.isEmpty() && keyEvIds.contains(id))
+                    .build());
+        }
+
+        // 타임라인
+        List<ScenarioTimeline> timeline = new ArrayList<>();
+        order = 0;
+        for (Map<String, Object> t : listOfMaps(content.get("timeline"), "timeline", new ArrayList<>())) {
+            timeline.add(ScenarioTimeline.builder()
+                    .scenIdx(scenIdx)
+                    .sortOrder(order++)
+                    .time(fit(str(t.get("time")), TIME_MAX))
+                    .event(str(t.get("event")))
+                    .build());
+        }
+
+        // 정답: role=범인 캐릭터 우선, 없으면 answer.culprit
+        ScenarioCharacter culprit = characters.stream().filter(ScenarioCharacter::isCulprit).findFirst().orElse(null);
+        String culpritKey = culprit != null ? culprit.getCharKey() : str(answerMap.get("culprit"));
+        String culpritName = culprit != null ? culprit.getName() : characters.stream()
+                .filter(c -> !culpritKey.isEmpty() && culpritKey.equals(c.getCharKey()))
+                .map(ScenarioCharacter::getName)
+                .findFirst()
+                .orElse(culpritKey);
+
+        Map<String, Object> meta = content.get("scenario") instanceof Map
+                ? (Map<String, Object>) content.get("scenario") : Map.of();
+
+        answer.setContentVersion(contentVersion(scenario.getContentJson()));
+        answer.setCaseTitle(fit(meta.get("title") != null ? str(meta.get("title")) : scenario.getScenTitle(), TITLE_MAX));
+        answer.setCaseSummary(meta.get("summary") != null ? str(meta.get("summary")) : scenario.getScenSummary());
+        answer.setCulpritKey(culpritKey.isEmpty() ? null : fit(culpritKey, KEY_MAX));
+        answer.setCulpritName(culpritName.isEmpty() ? null : fit(culpritName, CHAR_NAME_MAX));
+        answer.setMotive(str(answerMap.get("motive")));
+        answer.setMethod(str(answerMap.get("method")));
+        answer.setKeyEvidence(fit(String.join(",", keyEvIds), KEY_EVIDENCE_MAX));
+
+        return new CompiledScenario(answer, characters, evidence, timeline);
+    }
+
+    // ==============================
+    // util
+    // ==============================
+    private Map<String, Object> parse(String contentJson) {
+        if (contentJson == null || contentJson.isBlank()) {
+            throw new IllegalArgumentException("시나리오 내용이 비어 있습니다");
+        }
+        try {
+            Map<String, Object> content = mapper.readValue(
+                    contentJson, new TypeReference<Map<String, Object>>() {});
+            if (content == null) throw new IllegalArgumentException("시나리오 내용이 비어 있습니다");
+            return content;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("시나리오 JSON 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> listOfMaps(Object raw, String field, List<String> errors) {
+        if (raw == null) return List.of();
+        if (!(raw instanceof List<?> list)) {
+            errors.add(field + " 는 배열이어야 합니다");
+            return List.of();
+        }
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Object o : list) {
+            if (o instanceof Map) {
+                out.add((Map<String, Object>) o);
+            } else {
+                errors.add(field + " 항목은 객체여야 합니다");
+            }
+        }
+        return out;
+    }
+
+    // contentJson 의 SHA-256 (시나리오 버전 키, 정답 임베딩과 공용)
+    public static String contentVersion(String contentJson) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            String json = contentJson == null ? "" : contentJson;
+            return HexFormat.of().formatHex(md.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private static String str(Object o) {
+        return o == null ? "" : String.valueOf(o).trim();
+    }
+
+    private static void checkLength(List<String> errors, String field, Object value, int max) {
+        int length = str(value).length();
+        if (length > max) errors.add(field + " 가 너무 깁니다 (" + length + "/" + max + "자)");
+    }
+
+    private static String fit(String s, int max) {
+        return s == null || s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,287 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSearchResponse;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioCharacter;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioEvidence;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 공개(PUBLISHED) 시나리오 검색용 메모리 역색인
+ * - 색인 대상: 제목, 요약, 등장인물 이름/직업, 증거 이름 (정규화 테이블 기준)
+ * - 토큰: 글자 2-gram (형태소 분석기 없이 한국어 부분 일치, "알리바이" → 알리/리바/바이), 한 글자 단어는 그대로
+ * - 한 글자 검색어("칼", "김")는 그 글자가 들어간 2-gram 전체로 넓혀서 찾음
+ * - 등장인물/증거는 ScenarioCompiler.loadReadOnly 로 읽음 (색인 재구성이 컴파일 결과를 쓰거나 잠그지 않음)
+ * - 점수: 필드 가중치 × idf 합, 질문 토큰의 절반 이상이 맞는 시나리오만
+ * - 생성/승인/반려/삭제 시 해당 시나리오만 갱신, 노드 간 차이는 주기적 전체 재구성으로 맞춤
+ *   한 건 갱신은 트랜잭션 커밋 후에 반영 (롤백된 변경이 색인에 남지 않음)
+ *   재구성 중에 들어온 한 건 갱신은 기록해 두었다가 새 색인에도 다시 적용한 뒤 교체 (교체로 사라지지 않게)
+ */
+@Service
+@RequiredArgsConstructor
+public class ScenarioSearchIndex {
+
+    // 필드 가중치
+    private static final float W_TITLE = 3f;
+    private static final float W_NAME = 2f;
+    private static final float W_SUMMARY = 1f;
+    private static final float W_DETAIL = 1f; // 직업, 증거 이름
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final ScenarioRepository scenarioRepository;
+    private final ScenarioCompiler scenarioCompiler;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index(); // lock 으로 보호
+    private List<Consumer<Index>> duringRebuild; // 재구성 중 반영된 한 건 갱신 (lock 으로 보호, 재구성 중이 아니면 null)
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    // 전체 재구성 (새 색인을 만든 뒤 교체 → 재구성 중에도 검색 가능)
+    @Scheduled(fixedDelayString = "${scenario.search.rebuild-ms:300000}", initialDelayString = "${scenario.search.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            duringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            for (Scenario s : scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED)) {
+                fresh.put(document(s));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                duringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            duringRebuild.forEach(op -> op.accept(fresh));
+            duringRebuild = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 시나리오 한 건 반영 (공개 상태면 색인, 아니면 제거) — 커밋 후
+    public void update(Scenario scenario) {
+        afterCommit(() -> {
+            if (scenario.getScenStatus() != ScenStatus.PUBLISHED) {
+                apply(idx -> idx.remove(scenario.getScenIdx()));
+                return;
+            }
+            Doc doc = document(scenario);
+            apply(idx -> {
+                idx.remove(doc.scenIdx);
+                idx.put(doc);
+            });
+        });
+    }
+
+    public void remove(Integer scenIdx) {
+        afterCommit(() -> apply(idx -> idx.remove(scenIdx)));
+    }
+
+    private void apply(Consumer<Index> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(index);
+            if (duringRebuild != null) duringRebuild.add(op);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 트랜잭션이 없으면 바로 반영
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public ScenarioSearchResponse search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNo = Math.max(0, page);
+        Set<String> terms = new LinkedHashSet<>(tokens(query));
+
+        List<ScenarioSearchResponse.Hit> hits;
+        int total;
+        lock.readLock().lock();
+        try {
+            Map<Integer, double[]> scores = new HashMap<>(); // [점수, 맞은 토큰 수]
+            int n = index.docs.size();
+            for (String t : terms) {
+                Map<Integer, Float> posting = index.posting(t);
+                if (posting.isEmpty()) continue;
+                double idf = Math.log(1.0 + (double) n / posting.size());
+                for (Map.Entry<Integer, Float> e : posting.entrySet()) {
+                    double[] acc = scores.computeIfAbsent(e.getKey(), k -> new double[2]);
+                    acc[0] += e.getValue() * idf;
+                    acc[1]++;
+                }
+            }
+
+            int minMatched = (terms.size() + 1) / 2;
+            List<Map.Entry<Integer, double[]>> ranked = new ArrayList<>();
+            for (Map.Entry<Integer, double[]> e : scores.entrySet()) {
+                if (e.getValue()[1] >= minMatched) ranked.add(e);
+            }
+            ranked.sort((a, b) -> {
+                int c = Double.compare(b.getValue()[0], a.getValue()[0]);
+                return c != 0 ? c : Integer.compare(b.getKey(), a.getKey()); // 같은 점수면 최신 시나리오 먼저
+            });
+
+            total = ranked.size();
+            hits = ranked.stream()
+                    .skip((long) pageNo * pageSize)
+                    .limit(pageSize)
+                    .map(e -> index.docs.get(e.getKey()).hit(e.getValue()[0]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ScenarioSearchResponse.builder()
+                .query(query)
+                .total(total)
+                .page(pageNo)
+                .size(pageSize)
+                .hits(hits)
+                .build();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==============================
+    // 색인 문서 구성
+    // ==============================
+    private Doc document(Scenario s) {
+        CompiledScenario compiled = scenarioCompiler.loadReadOnly(s);
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, s.getScenTitle(), W_TITLE);
+        addField(weights, s.getScenSummary(), W_SUMMARY);
+        for (ScenarioCharacter c : compiled.getCharacters()) {
+            addField(weights, c.getName(), W_NAME);
+            addField(weights, c.getJob(), W_DETAIL);
+        }
+        for (ScenarioEvidence ev : compiled.getEvidence()) {
+            addField(weights, ev.getName(), W_DETAIL);
+        }
+
+        return new Doc(s.getScenIdx(), s.getScenTitle(), s.getScenSummary(), s.getScenLevel(),
+                s.getScenAccess() != null ? s.getScenAccess().name() : null, weights);
+    }
+
+    // 같은 토큰이 여러 필드에 나오면 가장 높은 가중치만 (긴 요약이 제목보다 앞서지 않게)
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String t : tokens(text)) {
+            weights.merge(t, weight, Math::max);
+        }
+    }
+
+    // 소문자/NFC 정규화 후 글자·숫자 단위로 끊고, 단어마다 2-gram
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String norm = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        List<String> out = new ArrayList<>();
+        for (String word : norm.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            if (word.length() == 1) {
+                out.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                out.add(word.substring(i, i + 2));
+            }
+        }
+        return out;
+    }
+
+    private record Doc(Integer scenIdx, String title, String summary, Integer level, String access,
+                       Map<String, Float> weights) {
+        ScenarioSearchResponse.Hit hit(double score) {
+            return ScenarioSearchResponse.Hit.builder()
+                    .scenIdx(scenIdx)
+                    .scenTitle(title)
+                    .scenSummary(summary)
+                    .scenLevel(level)
+                    .scenAccess(access)
+                    .score(score)
+                    .build();
+        }
+    }
+
+    private static final class Index {
+        final Map<Integer, Doc> docs = new HashMap<>();
+        final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+
+        void put(Doc doc) {
+            docs.put(doc.scenIdx, doc);
+            for (Map.Entry<String, Float> e : doc.weights.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(doc.scenIdx, e.getValue());
+            }
+        }
+
+        // 한 글자 검색어는 색인에 2-gram 으로만 있으므로 그 글자를 포함한 토큰을 모두 합침 (문서별 가장 높은 가중치)
+        Map<Integer, Float> posting(String term) {
+            if (term.length() != 1) return postings.getOrDefault(term, Map.of());
+            Map<Integer, Float> merged = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Float>> e : postings.entrySet()) {
+                if (!e.getKey().contains(term)) continue;
+                e.getValue().forEach((doc, w) -> merged.merge(doc, w, Math::max));
+            }
+            return merged;
+        }
+
+        void remove(Integer scenIdx) {
+            Doc old = docs.remove(scenIdx);
+            if (old == null) return;
+            for (String t : old.weights.keySet()) {
+                Map<Integer, Float> posting = postings.get(t);
+                if (posting == null) continue;
+                posting.remove(scenIdx);
+                if (posting.isEmpty()) postings.remove(t);
+            }
+        }
+    }
+}
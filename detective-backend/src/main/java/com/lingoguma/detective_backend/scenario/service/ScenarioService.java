@@ -2,6 +2,7 @@ package com.lingoguma.detective_backend.scenario.service;
 
 import com.lingoguma.detective_backend.scenario.dto.ScenarioRequest;
 import com.lingoguma.detective_backend.scenario.dto.ScenarioResponse;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSearchResponse;
 import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
 import com.lingoguma.detective_backend.scenario.entity.Scenario;
 import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
@@ -17,6 +18,8 @@ import java.util.stream.Collectors;
 public class ScenarioService {
 
     private final ScenarioRepository scenarioRepository;
+    private final ScenarioCompiler scenarioCompiler;
+    private final ScenarioSearchIndex searchIndex;
 
     // 모든 시나리오 조회
     public List<ScenarioResponse> getAllScenarios() {
@@ -39,9 +42,19 @@ public class ScenarioService {
                 .collect(Collectors.toList());
     }
 
-    // 전문가/관리자: 시나리오 작성
+    // 공개 시나리오 검색 (메모리 색인, DB 접근 없음)
+    public ScenarioSearchResponse search(String query, int page, int size) {
+        return searchIndex.search(query, page, size);
+    }
+
+    // 전문가/관리자: 시나리오 작성 (내용 검증 후 정규화 테이블까지 컴파일)
     @Transactional
     public ScenarioResponse createScenario(ScenarioRequest request, Integer userIdx) {
+        List<String> errors = scenarioCompiler.check(request.getContentJson());
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("시나리오 내용 검증 실패: " + String.join(", ", errors));
+        }
+
         Scenario scenario = Scenario.builder()
                 .scenTitle(request.getScenTitle())
                 .scenSummary(request.getScenSummary())
@@ -52,6 +65,9 @@ public class ScenarioService {
                 .createdBy(userIdx.intValue())
                 .build();
 
-        return ScenarioResponse.fromEntity(scenarioRepository.save(scenario));
+        Scenario saved = scenarioRepository.save(scenario);
+        scenarioCompiler.compile(saved);
+        searchIndex.update(saved);
+        return ScenarioResponse.fromEntity(saved);
     }
 }
@@ -0,0 +1,223 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.lingoguma.detective_backend.scenario.dto.ScenarioStatsResponse;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioStats;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioStatsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오별 플레이 통계 (메모리 카운터 + 주기적 flush)
+ * - 세션 시작/질문/결과 저장 시 LongAdder(스레드별 분산 카운터)만 증가 → DB 접근 없음
+ *   트랜잭션 안에서 호출되면 커밋된 뒤에 증가 (롤백된 시작/질문/결과는 세지 않음)
+ * - 조회는 메모리 값 그대로 (마지막 flush 시점의 DB 합계 + 이 노드의 미반영분)
+ * - flush: 미반영분을 batch 단위로 scenario_stats 에 합산, 재시작 시 테이블에서 다시 읽음
+ * - 고유 플레이어는 회원(userIdx) 기준 HyperLogLog 추정치 (게스트는 식별 불가라 제외)
+ */
+@Service
+@RequiredArgsConstructor
+public class ScenarioStatsService {
+
+    private final ScenarioStatsRepository repo;
+    private final ScenarioStatsWriter writer;
+
+    @Value("${stats.flush-batch-size:100}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Integer, Counters> counters = new ConcurrentHashMap<>();
+
+    // 재시작 시 flush 된 합계 복원
+    @PostConstruct
+    void load() {
+        for (ScenarioStats row : repo.findAll()) {
+            counters(row.getScenIdx()).rebase(row);
+        }
+    }
+
+    // ==============================
+    // 기록
+    // ==============================
+    public void recordSessionStart(Integer scenIdx, Integer userIdx) {
+        if (scenIdx == null) return;
+        afterCommit(() -> {
+            Counters c = counters(scenIdx);
+            c.plays.local.increment();
+            if (userIdx != null && c.players.add(userIdx)) {
+                c.sketchDirty = true;
+            }
+        });
+    }
+
+    public void recordTurn(Integer scenIdx) {
+        if (scenIdx == null) return;
+        afterCommit(() -> counters(scenIdx).turns.local.increment());
+    }
+
+    public void recordResult(Integer scenIdx, boolean correct) {
+        if (scenIdx == null) return;
+        afterCommit(() -> {
+            Counters c = counters(scenIdx);
+            c.finishes.local.increment();
+            if (correct) c.solves.local.increment();
+        });
+    }
+
+    // 트랜잭션이 없으면(비회원 무상태 플레이 등) 바로 반영
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    // ==============================
+    // 조회 (메모리)
+    // ==============================
+    public ScenarioStatsResponse get(Integer scenIdx) {
+        Counters c = counters.get(scenIdx);
+        return c != null ? c.toResponse() : ScenarioStatsResponse.builder().scenIdx(scenIdx).build();
+    }
+
+    public List<ScenarioStatsResponse> getAll() {
+        List<ScenarioStatsResponse> out = new ArrayList<>();
+        counters.values().forEach(c -> out.add(c.toResponse()));
+        out.sort(Comparator.comparing(ScenarioStatsResponse::getScenIdx));
+        return out;
+    }
+
+    // 시나리오 삭제 시 메모리 카운터 제거 (DB 행은 호출 측에서 삭제)
+    public void forget(Integer scenIdx) {
+        counters.remove(scenIdx);
+    }
+
+    // ==============================
+    // flush
+    // ==============================
+    @Scheduled(fixedDelayString = "${stats.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        List<Counters> dirty = counters.values().stream().filter(Counters::isDirty).toList();
+        for (int from = 0; from < dirty.size(); from += batchSize) {
+            List<Counters> batch = dirty.subList(from, Math.min(from + batchSize, dirty.size()));
+            List<long[]> marks = new ArrayList<>();
+            List<ScenarioStatsWriter.Delta> deltas = new ArrayList<>();
+            for (Counters c : batch) {
+                long[] mark = c.mark();
+                marks.add(mark);
+                c.sketchDirty = false;
+                deltas.add(new ScenarioStatsWriter.Delta(c.scenIdx,
+                        mark[0] - c.plays.flushed, mark[1] - c.finishes.flushed,
+                        mark[2] - c.solves.flushed, mark[3] - c.turns.flushed,
+                        c.players.toBytes()));
+            }
+            try {
+                List<ScenarioStats> saved = writer.apply(deltas);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).commit(marks.get(i), saved.get(i));
+                }
+            } catch (Exception e) {
+                // 미반영분은 그대로 두고 다음 주기에 재시도
+                batch.forEach(c -> c.sketchDirty = true);
+                System.err.println("시나리오 통계 flush 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private Counters counters(Integer scenIdx) {
+        return counters.computeIfAbsent(scenIdx, Counters::new);
+    }
+
+    // 카운터 하나: total = base(DB 합계 - 이미 flush 한 로컬분) + 로컬 누적
+    static final class Metric {
+        final LongAdder local = new LongAdder();
+        volatile long flushed;   // DB 에 반영한 로컬 누적값
+        volatile long base;
+
+        long total() {
+            return base + local.sum();
+        }
+
+        void rebase(long dbValue) {
+            base = dbValue - flushed;
+        }
+    }
+
+    static final class Counters {
+        final Integer scenIdx;
+        final Metric plays = new Metric();
+        final Metric finishes = new Metric();
+        final Metric solves = new Metric();
+        final Metric turns = new Metric();
+        final HyperLogLog players = new HyperLogLog();
+        volatile boolean sketchDirty;
+
+        Counters(Integer scenIdx) {
+            this.scenIdx = scenIdx;
+        }
+
+        boolean isDirty() {
+            return sketchDirty
+                    || plays.local.sum() != plays.flushed
+                    || finishes.local.sum() != finishes.flushed
+                    || solves.local.sum() != solves.flushed
+                    || turns.local.sum() != turns.flushed;
+        }
+
+        long[] mark() {
+            return new long[]{plays.local.sum(), finishes.local.sum(), solves.local.sum(), turns.local.sum()};
+        }
+
+        void commit(long[] mark, ScenarioStats saved) {
+            plays.flushed = mark[0];
+            finishes.flushed = mark[1];
+            solves.flushed = mark[2];
+            turns.flushed = mark[3];
+            rebase(saved);
+        }
+
+        void rebase(ScenarioStats row) {
+            plays.rebase(row.getPlays());
+            finishes.rebase(row.getFinishes());
+            solves.rebase(row.getSolves());
+            turns.rebase(row.getTurns());
+            players.merge(row.getPlayerSketch());
+        }
+
+        ScenarioStatsResponse toResponse() {
+            long p = plays.total();
+            long f = finishes.total();
+            long s = solves.total();
+            return ScenarioStatsResponse.builder()
+                    .scenIdx(scenIdx)
+                    .plays(p)
+                    .finishes(f)
+                    .solves(s)
+                    .solveRate(f > 0 ? (double) s / f : 0.0)
+                    .avgTurns(p > 0 ? (double) turns.total() / p : 0.0)
+                    .uniquePlayers(players.estimate())
+                    .build();
+        }
+    }
+}
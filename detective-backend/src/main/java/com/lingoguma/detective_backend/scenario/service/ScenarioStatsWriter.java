@@ -0,0 +1,63 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.lingoguma.detective_backend.scenario.entity.ScenarioStats;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioStatsRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ScenarioStatsService 의 누적분(delta)을 scenario_stats 에 한 트랜잭션으로 합산
+ * - 행을 잠그고 더하기 때문에 여러 노드가 같은 테이블로 flush 해도 합계가 맞음
+ * - HyperLogLog 는 레지스터별 max 로 병합 (중복 병합해도 결과 동일)
+ */
+@Component
+@RequiredArgsConstructor
+public class ScenarioStatsWriter {
+
+    private final ScenarioStatsRepository repo;
+
+    @Transactional
+    public List<ScenarioStats> apply(List<Delta> deltas) {
+        Map<Integer, ScenarioStats> rows = repo.findAllForUpdate(
+                deltas.stream().map(Delta::getScenIdx).collect(Collectors.toList())
+        ).stream().collect(Collectors.toMap(ScenarioStats::getScenIdx, Function.identity()));
+
+        List<ScenarioStats> out = new ArrayList<>();
+        for (Delta d : deltas) {
+            ScenarioStats row = rows.getOrDefault(d.getScenIdx(),
+                    ScenarioStats.builder().scenIdx(d.getScenIdx()).build());
+            row.setPlays(row.getPlays() + d.getPlays());
+            row.setFinishes(row.getFinishes() + d.getFinishes());
+            row.setSolves(row.getSolves() + d.getSolves());
+            row.setTurns(row.getTurns() + d.getTurns());
+
+            HyperLogLog hll = new HyperLogLog(row.getPlayerSketch());
+            hll.merge(d.getPlayerSketch());
+            row.setPlayerSketch(hll.toBytes());
+            row.setUniquePlayers(hll.estimate());
+            out.add(row);
+        }
+        return repo.saveAll(out);
+    }
+
+    // 시나리오 하나의 flush 단위
+    @Getter
+    @AllArgsConstructor
+    public static class Delta {
+        private Integer scenIdx;
+        private long plays;
+        private long finishes;
+        private long solves;
+        private long turns;
+        private byte[] playerSketch;
+    }
+}
@@ -1,13 +1,16 @@
 package com.lingoguma.detective_backend.user.controller;
 
+import com.lingoguma.detective_backend.global.security.AuthTokenService;
 import com.lingoguma.detective_backend.user.dto.*;
 import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
 import com.lingoguma.detective_backend.user.entity.Role;
 import com.lingoguma.detective_backend.user.entity.User;
 import com.lingoguma.detective_backend.user.repository.UserRepository;
 import com.lingoguma.detective_backend.user.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,6 +24,7 @@ public class UserController {
 
     private final UserService userService;
     private final UserRepository userRepository;
+    private final AuthTokenService authTokenService;
 
     // 회원가입
     @PostMapping("/signup")
@@ -29,10 +33,18 @@ public class UserController {
         return ResponseEntity.ok("회원가입 성공! ID: " + userId);
     }
 
-    // 로그인
+    // 로그인 (세션 모드: 세션에 저장 / 토큰 모드: 쿠키 + X-Auth-Token 헤더로 토큰 발급)
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpSession session) {
-        User user = userService.login(request.getUserId(), request.getPassword(), session);
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        if (authTokenService.isTokenMode()) {
+            User user = userService.authenticate(request.getUserId(), request.getPassword());
+            String token = authTokenService.issue(user);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, authTokenService.cookie(token).toString())
+                    .header(AuthTokenService.HEADER_NAME, token)
+                    .body(UserResponse.from(user));
+        }
+        User user = userService.login(request.getUserId(), request.getPassword(), httpRequest.getSession());
         return ResponseEntity.ok(UserResponse.from(user));
     }
 
@@ -80,8 +92,17 @@ public class UserController {
 
     // 로그아웃
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpSession session) {
-        session.invalidate();
+    public ResponseEntity<?> logout(HttpServletRequest httpRequest) {
+        if (authTokenService.isTokenMode()) {
+            authTokenService.revoke(authTokenService.resolve(httpRequest));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, authTokenService.clearCookie().toString())
+                    .body("로그아웃 되었습니다.");
+        }
+        HttpSession session = httpRequest.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
         return ResponseEntity.ok("로그아웃 되었습니다.");
     }
 
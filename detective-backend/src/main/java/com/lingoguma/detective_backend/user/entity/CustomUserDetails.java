@@ -1,16 +1,22 @@
 package com.lingoguma.detective_backend.user.entity;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.Serial;
 import java.util.Collection;
 import java.util.List;
 
 /**
  * Spring Security가 인식할 수 있도록 User 엔티티를 감싸는 클래스
+ * (세션 저장소에 직렬화되어 저장됨 → User 도 Serializable)
  */
 public class CustomUserDetails implements UserDetails {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final User user;
 
     public CustomUserDetails(User user) {
@@ -24,7 +30,7 @@ public class CustomUserDetails implements UserDetails {
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // 단순히 Role -> ROLE_ 형태로 매핑
-        return List.of(() -> "ROLE_" + user.getRole().name());
+        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 
     @Override
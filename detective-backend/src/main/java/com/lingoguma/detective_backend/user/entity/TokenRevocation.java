@@ -0,0 +1,34 @@
+package com.lingoguma.detective_backend.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 토큰 인증 모드(auth.mode=token)의 폐기 목록
+ * - "jti:<토큰ID>": 로그아웃한 토큰 한 개
+ * - "user:<userIdx>": notBeforeMs 이전에 발급된 그 유저의 모든 토큰 (권한 변경, 비밀번호 변경, 탈퇴)
+ * - expiresAt 이후에는 해당 토큰이 어차피 만료되므로 행 삭제
+ */
+@Entity
+@Table(
+        name = "auth_token_revocations",
+        indexes = @Index(name = "idx_token_revocation_expires", columnList = "expires_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @Column(length = 100)
+    private String revKey;
+
+    private Long notBeforeMs;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
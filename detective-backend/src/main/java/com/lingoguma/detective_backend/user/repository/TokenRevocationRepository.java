@@ -0,0 +1,19 @@
+package com.lingoguma.detective_backend.user.repository;
+
+import com.lingoguma.detective_backend.user.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
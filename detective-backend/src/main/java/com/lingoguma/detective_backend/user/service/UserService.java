@@ -1,5 +1,7 @@
 package com.lingoguma.detective_backend.user.service;
 
+import com.lingoguma.detective_backend.global.jpa.EntityCacheService;
+import com.lingoguma.detective_backend.global.security.TokenRevocationService;
 import com.lingoguma.detective_backend.user.dto.SignUpRequest;
 import com.lingoguma.detective_backend.user.dto.UpdateNicknameRequest;
 import com.lingoguma.detective_backend.user.dto.UpdatePasswordRequest;
@@ -21,6 +23,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
+    private final EntityCacheService entityCacheService;
 
     // 회원가입
     public Integer signUp(SignUpRequest request) {
@@ -43,14 +47,20 @@ public class UserService {
         return userRepository.save(user).getUserIdx();
     }
 
-    // 로그인
-    public User login(String userId, String password, HttpSession session) {
+    // 아이디/비밀번호 확인 (토큰 모드 로그인은 이것만 하고 토큰 발급)
+    public User authenticate(String userId, String password) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("아이디가 존재하지 않습니다."));
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
+        return user;
+    }
+
+    // 로그인 (세션 모드)
+    public User login(String userId, String password, HttpSession session) {
+        User user = authenticate(userId, password);
 
         CustomUserDetails userDetails = new CustomUserDetails(user);
         UsernamePasswordAuthenticationToken authentication =
@@ -63,18 +73,22 @@ public class UserService {
 
     // 닉네임 변경
     public User updateNickname(Integer userIdx, UpdateNicknameRequest request) {
-        User user = userRepository.findByUserIdx(userIdx)
+        User user = userRepository.findById(userIdx) // id 조회 → 2차 캐시 사용
                 .orElseThrow(() -> new IllegalArgumentException("해당 사용자가 존재하지 않습니다."));
         user.setNickname(request.getNickname());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        entityCacheService.evictUser(userIdx);
+        return saved;
     }
 
     // 비밀번호 변경
     public void updatePassword(Integer userIdx, UpdatePasswordRequest request) {
-        User user = userRepository.findByUserIdx(userIdx)
+        User user = userRepository.findById(userIdx)
                 .orElseThrow(() -> new IllegalArgumentException("해당 사용자가 존재하지 않습니다."));
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         userRepository.save(user);
+        entityCacheService.evictUser(userIdx);
+        tokenRevocationService.revokeUser(userIdx); // 토큰 모드: 기존 토큰 무효화
     }
 
     // 전문가 권한 신청
@@ -97,6 +111,8 @@ public class UserService {
         user.setRole(Role.EXPERT);
         user.setExpertRequested(false);
         userRepository.save(user);
+        entityCacheService.evictUser(userIdx);
+        tokenRevocationService.revokeUser(userIdx); // 토큰 모드: 이전 role 토큰 무효화 (재로그인 필요)
     }
 }
 
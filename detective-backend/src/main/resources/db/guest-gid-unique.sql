@@ -0,0 +1,20 @@
+-- =====================================================================
+-- game_sessions.guest_gid : 비회원 무상태 플레이의 게임 id (유니크)
+--
+-- - game.guest.stateless=true 일 때 결과 저장 시 만든 세션 행에만 값이 있음 (그 외 NULL)
+-- - 같은 기록 토큰으로 결과를 다시 요청하면(다른 노드, 토큰 만료 전 언제든) 같은 세션 → 같은 resultId
+--   (노드 안 IdempotencyService 는 보관 시간이 짧아 토큰 유효 시간을 덮지 못함)
+-- - 동시에 저장하면 한쪽은 유니크 충돌 → GameController 가 먼저 저장된 세션을 사용
+-- - NULL 은 유니크 검사에서 제외되므로 기존 행은 그대로
+-- =====================================================================
+
+-- 확인
+SELECT COUNT(*) FROM information_schema.columns
+WHERE table_schema = DATABASE() AND table_name = 'game_sessions' AND column_name = 'guest_gid';
+
+ALTER TABLE game_sessions
+    ADD COLUMN guest_gid VARCHAR(32) NULL,
+    ADD CONSTRAINT uk_game_sessions_guest_gid UNIQUE (guest_gid);
+
+-- 되돌리기
+-- ALTER TABLE game_sessions DROP INDEX uk_game_sessions_guest_gid, DROP COLUMN guest_gid;
@@ -0,0 +1,22 @@
+-- =====================================================================
+-- http_sessions : 노드 공유 세션 저장소 (NearCacheJdbcSessionRepository)
+--
+-- - 예전에는 앱 시작 때 CREATE TABLE IF NOT EXISTS 를 실행했지만 DDL 은 배포 전에 한 번만 적용
+-- - expiry_time 인덱스: 만료 세션 일괄 삭제 (cleanupExpired)
+-- =====================================================================
+
+-- 확인 (이미 있으면 아래 CREATE 는 아무것도 하지 않음)
+SHOW TABLES LIKE 'http_sessions';
+
+CREATE TABLE IF NOT EXISTS http_sessions (
+    session_id           VARCHAR(64) NOT NULL PRIMARY KEY,
+    creation_time        BIGINT      NOT NULL,
+    last_access_time     BIGINT      NOT NULL,
+    max_inactive_seconds INT         NOT NULL,
+    expiry_time          BIGINT      NOT NULL,
+    attributes           MEDIUMBLOB,
+    INDEX idx_http_sessions_expiry (expiry_time)
+);
+
+-- 되돌리기
+-- DROP TABLE http_sessions;
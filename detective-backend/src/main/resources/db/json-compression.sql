@@ -0,0 +1,21 @@
+-- =====================================================================
+-- game_sessions.log_json / scenarios.content_json : JSON → LONGBLOB
+-- (CompressedJsonConverter 적용)
+--
+-- - 타입만 바꾸면 기존 값은 UTF-8 JSON 원문 그대로 BLOB 에 들어가고,
+--   컨버터가 원문/압축 형식을 첫 바이트로 구분해서 읽으므로 바로 서비스 가능
+-- - 이후 저장(질문 추가, 시나리오 수정)되는 행부터 압축 형식으로 바뀜
+-- - 오래된 종료 세션은 GameSessionArchiveJob 이 gzip 으로 보관하므로 따로 재압축하지 않음
+-- - 적용 전/후 크기 비교: GET /api/admin/storage/json-compression
+-- =====================================================================
+
+-- 적용 전 크기 확인
+SELECT COUNT(*) AS sessions, SUM(LENGTH(log_json)) AS log_bytes FROM game_sessions;
+SELECT COUNT(*) AS scenarios, SUM(LENGTH(content_json)) AS content_bytes FROM scenarios;
+
+ALTER TABLE game_sessions MODIFY log_json LONGBLOB NULL;
+ALTER TABLE scenarios     MODIFY content_json LONGBLOB NULL;
+
+-- 되돌리기 (압축된 행이 있으면 먼저 애플리케이션에서 원문으로 다시 저장해야 함)
+-- ALTER TABLE game_sessions MODIFY log_json JSON NULL;
+-- ALTER TABLE scenarios     MODIFY content_json JSON NULL;
@@ -0,0 +1,13 @@
+-- =====================================================================
+-- scenarios.model_tiering : 질문 난이도별 모델 분리 사용 여부 (시나리오별)
+--
+-- - NULL  : 기본값(game.tier.enabled, 기본 false) 따름
+-- - 1 / 0 : 관리자가 켜거나 끈 시나리오
+-- - 변경: PUT /api/admin/scenarios/{id}/model-tiering?enabled=true|false|default
+-- - 계층별 호출 수/응답 시간/토큰: GET /api/admin/gpt/stats 의 tiers
+-- =====================================================================
+
+ALTER TABLE scenarios ADD COLUMN model_tiering TINYINT(1) NULL;
+
+-- 되돌리기
+-- ALTER TABLE scenarios DROP COLUMN model_tiering;
@@ -0,0 +1,21 @@
+-- =====================================================================
+-- game_results.session_id : 세션당 결과 1건 (유니크)
+--
+-- - 결과 요청 중복 방지(IdempotencyService)는 노드 안에서만 동작하므로
+--   다른 노드로 간 재시도도 막기 위해 DB 에 유니크 키를 둠
+-- - 충돌 시 GameController 가 먼저 저장된 결과의 resultId 를 그대로 반환
+-- - 적용 전 이미 중복된 세션이 있으면 가장 최근 결과만 남김
+--   (GameResultService.findResultId 가 돌려주던 행과 같음)
+-- =====================================================================
+
+-- 중복 확인
+SELECT session_id, COUNT(*) AS results FROM game_results
+WHERE session_id IS NOT NULL GROUP BY session_id HAVING COUNT(*) > 1;
+
+DELETE g FROM game_results g
+JOIN game_results newer ON newer.session_id = g.session_id AND newer.result_id > g.result_id;
+
+ALTER TABLE game_results ADD CONSTRAINT uk_game_results_session UNIQUE (session_id);
+
+-- 되돌리기
+-- ALTER TABLE game_results DROP INDEX uk_game_results_session;
@@ -0,0 +1,22 @@
+-- =====================================================================
+-- scenario_truth_embeddings (scen_idx, content_version, truth_key) : 유니크
+--
+-- - 정답 벡터가 오래된 시나리오에 결과 요청이 동시에 오면 양쪽이 다시 계산해서 저장
+--   → 유니크 키 + INSERT ... ON DUPLICATE KEY UPDATE 로 행 하나만 남김 (TruthEmbeddingService.save)
+-- - 적용 전 이미 중복된 행이 있으면 가장 최근 행만 남김
+-- =====================================================================
+
+-- 중복 확인
+SELECT scen_idx, content_version, truth_key, COUNT(*) AS rows_per_key FROM scenario_truth_embeddings
+GROUP BY scen_idx, content_version, truth_key HAVING COUNT(*) > 1;
+
+DELETE e FROM scenario_truth_embeddings e
+JOIN scenario_truth_embeddings newer
+  ON newer.scen_idx = e.scen_idx AND newer.content_version = e.content_version
+ AND newer.truth_key = e.truth_key AND newer.embedding_id > e.embedding_id;
+
+ALTER TABLE scenario_truth_embeddings
+    ADD CONSTRAINT uk_truth_emb_key UNIQUE (scen_idx, content_version, truth_key);
+
+-- 되돌리기
+-- ALTER TABLE scenario_truth_embeddings DROP INDEX uk_truth_emb_key;
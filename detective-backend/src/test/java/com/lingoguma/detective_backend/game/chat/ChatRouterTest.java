@@ -0,0 +1,80 @@
+package com.lingoguma.detective_backend.game.chat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatRouterTest {
+
+    private final List<String> called = new ArrayList<>();
+
+    // 재생 중에는 기록이 없어도 다른(유료) 공급자로 넘어가지 않고 실패
+    @Test
+    void replayRunNeverFallsBackToOtherProviders() {
+        ChatRouter router = router("replay", "stubs.ndjson",
+                provider("openai", false), provider("replay", true));
+
+        assertThatThrownBy(() -> router.chat(List.of(), null, ChatOptions.of(ChatTier.PRIMARY), null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(called).containsExactly("replay");
+    }
+
+    // 순서에 없는 공급자는 실패 시 우회 대상도 아님
+    @Test
+    void providersMissingFromOrderAreNotUsed() {
+        ChatRouter router = router("local", "",
+                provider("openai", false), provider("local", true));
+
+        assertThatThrownBy(() -> router.chat(List.of(), null, ChatOptions.of(ChatTier.PRIMARY), null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(called).containsExactly("local");
+        assertThat(router.stats()).containsOnlyKeys("local", "scenarioOverrides");
+    }
+
+    @Test
+    void listedProvidersAreTriedInOrder() {
+        ChatRouter router = router("local,openai", "",
+                provider("openai", false), provider("local", true));
+
+        ChatResult result = router.chat(List.of(), null, ChatOptions.of(ChatTier.PRIMARY), null);
+
+        assertThat(result.provider()).isEqualTo("openai");
+        assertThat(called).containsExactly("local", "openai");
+    }
+
+    private ChatRouter router(String order, String replayStubFile, ChatProvider... providers) {
+        ChatRouter router = new ChatRouter(List.of(providers));
+        ReflectionTestUtils.setField(router, "order", order);
+        ReflectionTestUtils.setField(router, "replayStubFile", replayStubFile);
+        ReflectionTestUtils.setField(router, "scenarioOverrides", "");
+        ReflectionTestUtils.setField(router, "maxP95Ms", 15000L);
+        ReflectionTestUtils.setField(router, "maxErrorRate", 0.3);
+        ReflectionTestUtils.setField(router, "minSamples", 10);
+        ReflectionTestUtils.setField(router, "windowMs", 60000L);
+        ReflectionTestUtils.setField(router, "maxAttempts", 2);
+        router.init();
+        return router;
+    }
+
+    private ChatProvider provider(String name, boolean fails) {
+        return new ChatProvider() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public ChatResult chat(List<Map<String, String>> messages, ChatOptions options) {
+                called.add(name);
+                if (fails) throw new IllegalStateException(name + " 실패");
+                return new ChatResult("답변", name, 0, 0, 0);
+            }
+        };
+    }
+}
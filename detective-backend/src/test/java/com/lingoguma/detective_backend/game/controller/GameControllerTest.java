@@ -0,0 +1,223 @@
+package com.lingoguma.detective_backend.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.dto.GameFinishRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAskRequest;
+import com.lingoguma.detective_backend.game.dto.NlpAskResponse;
+import com.lingoguma.detective_backend.game.service.*;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioAnswer;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * /ask, /result 경로 (세션별 순차 실행, 상태 코드, 결과 중복 저장)
+ * - 세션 로그는 메모리 목록으로 흉내, GPT/프롬프트/DB 는 mock
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GameControllerTest {
+
+    @Mock GptClient gptClient;
+    @Mock GameSessionService sessionService;
+    @Spy ObjectMapper mapper = new ObjectMapper();
+    @Mock GameResultService resultService;
+    @Mock GameNlpClient nlpClient;
+    @Mock TruthEmbeddingService truthEmbeddingService;
+    @Spy SessionTurnSequencer turnSequencer = new SessionTurnSequencer();
+    @Mock ScenarioCompiler scenarioCompiler;
+    @Spy IdempotencyService idempotencyService = new IdempotencyService();
+    @Mock SessionWarmupService warmupService;
+    @Mock SuspectPromptBuilder promptBuilder;
+    @Mock SuspectBroadcastService broadcastService;
+    @Mock QuestionTierClassifier tierClassifier;
+    @Mock DegradationController degradation;
+    @Mock GuestTranscriptService guestTranscripts;
+
+    @InjectMocks GameController controller;
+
+    private final List<Map<String, Object>> storedLogs = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> historySeenByGpt = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(turnSequencer, "waitMs", 5_000L);
+        ReflectionTestUtils.setField(idempotencyService, "ttlMs", 600_000L);
+        ReflectionTestUtils.setField(idempotencyService, "maxKeyLength", 128);
+
+        when(warmupService.preparedPrompt(anyInt(), anyString()))
+                .thenReturn(new SuspectPromptBuilder.SuspectPrompt(1, "scenario", "suspect", "all"));
+        when(sessionService.getLogJson(anyInt())).thenAnswer(inv -> {
+            synchronized (storedLogs) {
+                return mapper.writeValueAsString(Map.of("logs", new ArrayList<>(storedLogs)));
+            }
+        });
+        doAnswer(inv -> {
+            int turn = storedLogs.size() / 2 + 1;
+            storedLogs.add(Map.of("turn", turn, "speaker", "PLAYER", "message", inv.getArgument(2)));
+            storedLogs.add(Map.of("turn", turn, "speaker", "AI", "suspect", inv.getArgument(1),
+                    "message", inv.getArgument(3)));
+            return null;
+        }).when(sessionService).appendLog(anyInt(), anyString(), anyString(), anyString());
+        when(promptBuilder.messages(any(), anyList(), anyString(), anyString())).thenAnswer(inv -> {
+            historySeenByGpt.add(((List<?>) inv.getArgument(1)).size());
+            return List.of(Map.of("role", "user", "content", inv.getArgument(3)));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static NlpAskRequest ask(String text) {
+        NlpAskRequest req = new NlpAskRequest();
+        req.setSessionId(10);
+        req.setSuspectName("김민수");
+        req.setUserText(text);
+        return req;
+    }
+
+    // 첫 질문의 GPT 응답이 늦어도 두 번째 질문은 첫 턴이 저장된 로그로 처리됨
+    @Test
+    void twoAsksOnSameSessionAreAppliedInOrder() throws Exception {
+        CountDownLatch firstInGpt = new CountDownLatch(1);
+        CountDownLatch releaseGpt = new CountDownLatch(1);
+        when(gptClient.chat(anyList(), any(), any())).thenAnswer(inv -> {
+            List<Map<String, String>> messages = inv.getArgument(0);
+            String question = messages.get(0).get("content");
+            if (question.startsWith("첫")) {
+                firstInGpt.countDown();
+                releaseGpt.await(5, TimeUnit.SECONDS);
+            }
+            return "답: " + question;
+        });
+
+        Future<ResponseEntity<NlpAskResponse>> first = pool.submit(() -> controller.ask(ask("첫 질문"), null));
+        assertThat(firstInGpt.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<ResponseEntity<NlpAskResponse>> second = pool.submit(() -> controller.ask(ask("두 번째 질문"), null));
+
+        Thread.sleep(200);
+        assertThat(second.isDone()).isFalse();
+
+        releaseGpt.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+        assertThat(second.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+
+        assertThat(historySeenByGpt).containsExactly(0, 2);
+        assertThat(storedLogs).extracting(l -> l.get("message"))
+                .containsExactly("첫 질문", "답: 첫 질문", "두 번째 질문", "답: 두 번째 질문");
+    }
+
+    // 앞 질문이 turn-wait-ms 보다 오래 걸리면 뒤 질문은 429, 로그에는 앞 질문만 남음
+    @Test
+    void askWaitingTooLongForPreviousTurnGets429() throws Exception {
+        ReflectionTestUtils.setField(turnSequencer, "waitMs", 100L);
+        CountDownLatch firstInGpt = new CountDownLatch(1);
+        CountDownLatch releaseGpt = new CountDownLatch(1);
+        when(gptClient.chat(anyList(), any(), any())).thenAnswer(inv -> {
+            firstInGpt.countDown();
+            releaseGpt.await(5, TimeUnit.SECONDS);
+            return "늦은 답";
+        });
+
+        Future<ResponseEntity<NlpAskResponse>> first = pool.submit(() -> controller.ask(ask("첫 질문"), null));
+        assertThat(firstInGpt.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ResponseEntity<NlpAskResponse> busy = controller.ask(ask("두 번째 질문"), null);
+        assertThat(busy.getStatusCode().value()).isEqualTo(429);
+
+        releaseGpt.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+        assertThat(storedLogs).hasSize(2);
+        assertThat(turnSequencer.activeSessions()).isZero();
+    }
+
+    // Idempotency-Key 가 max-key-length 보다 길면 500 이 아니라 400
+    @Test
+    void tooLongIdempotencyKeyGets400() {
+        ResponseEntity<NlpAskResponse> resp = controller.ask(ask("질문"), "k".repeat(129));
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(gptClient);
+    }
+
+    // 다른 노드가 같은 세션 결과를 먼저 저장 (session_id 유니크 충돌) → 먼저 저장된 resultId
+    @Test
+    void resultSavedConcurrentlyElsewhereReturnsExistingResult() {
+        when(resultService.findResultId(10)).thenReturn(Optional.empty());
+        when(scenarioCompiler.load(any())).thenReturn(
+                new CompiledScenario(new ScenarioAnswer(), List.of(), List.of(), List.of()));
+        when(resultService.saveResult(any(), anyString(), anyBoolean()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry '10' for key 'uk_game_results_session'"));
+        when(resultService.findSavedResultId(10)).thenReturn(Optional.of(99));
+
+        GameFinishRequest req = new GameFinishRequest();
+        req.setSessionId(10);
+        req.setAnswerJson(Map.of("culprit", "c1"));
+        ResponseEntity<Map<String, Integer>> resp = controller.finish(req);
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(200);
+        assertThat(resp.getBody()).containsEntry("resultId", 99);
+        verify(sessionService, never()).finishSession(anyInt());
+    }
+
+    // 같은 비회원 게임(gid)을 다른 노드가 먼저 저장 (guest_gid 유니크 충돌) → 그 세션의 기존 결과
+    @Test
+    void guestResultForSameGidOnAnotherNodeReturnsExistingResult() {
+        GuestTranscriptService.Transcript t = new GuestTranscriptService.Transcript(
+                "gid-1", 3, 0L, Long.MAX_VALUE, List.of());
+        when(guestTranscripts.enabled()).thenReturn(true);
+        when(guestTranscripts.open("g1.token")).thenReturn(t);
+        when(guestTranscripts.logJson(t)).thenReturn("{\"logs\":[]}");
+        when(sessionService.saveGuestSession(eq(3), eq("gid-1"), anyString()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'gid-1' for key 'uk_game_sessions_guest_gid'"));
+        when(sessionService.findGuestSessionId("gid-1")).thenReturn(Optional.of(42));
+        when(resultService.findResultId(42)).thenReturn(Optional.of(77));
+
+        GameFinishRequest req = new GameFinishRequest();
+        req.setTranscript("g1.token");
+        ResponseEntity<Map<String, Integer>> resp = controller.finish(req);
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(200);
+        assertThat(resp.getBody()).containsEntry("resultId", 77);
+        verify(resultService, never()).saveResult(any(), anyString(), anyBoolean());
+    }
+
+    // 게임(gid)당 질문 수를 넘으면 GPT 를 부르지 않고 429
+    @Test
+    void guestAskOverPerGameLimitGets429() {
+        GuestTranscriptService.Transcript t = new GuestTranscriptService.Transcript(
+                "gid-1", 3, 0L, Long.MAX_VALUE, List.of());
+        when(guestTranscripts.enabled()).thenReturn(true);
+        when(guestTranscripts.open("g1.token")).thenReturn(t);
+        doThrow(new GuestTranscriptService.AskLimitException("limit")).when(guestTranscripts).reserveAsk(t);
+
+        NlpAskRequest req = ask("질문");
+        req.setTranscript("g1.token");
+        ResponseEntity<NlpAskResponse> resp = controller.ask(req, null);
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(429);
+        verifyNoInteractions(gptClient);
+    }
+}
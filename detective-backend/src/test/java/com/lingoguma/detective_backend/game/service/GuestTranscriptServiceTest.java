@@ -0,0 +1,134 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.scenario.service.ScenarioStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class GuestTranscriptServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private GuestTranscriptService guests;
+
+    @BeforeEach
+    void setUp() {
+        guests = service(SECRET, 180);
+    }
+
+    private static GuestTranscriptService service(String secret, long ttlMinutes) {
+        GuestTranscriptService s = new GuestTranscriptService(new ObjectMapper(), mock(ScenarioStatsService.class));
+        ReflectionTestUtils.setField(s, "enabled", true);
+        ReflectionTestUtils.setField(s, "secret", secret);
+        ReflectionTestUtils.setField(s, "ttlMinutes", ttlMinutes);
+        ReflectionTestUtils.setField(s, "maxTokenChars", 65536);
+        ReflectionTestUtils.setField(s, "maxTurns", 3);
+        ReflectionTestUtils.setField(s, "maxQuestionChars", 20);
+        ReflectionTestUtils.setField(s, "maxAsks", 5);
+        s.init();
+        return s;
+    }
+
+    @Test
+    void startThenAppendKeepsTurnsInOrder() {
+        String token = guests.start(3);
+        GuestTranscriptService.Transcript empty = guests.open(token);
+        assertThat(empty.scenIdx()).isEqualTo(3);
+        assertThat(empty.turns()).isZero();
+
+        String next = guests.append(empty, "김민수", "어디 계셨어요?", "집에 있었어요.");
+        GuestTranscriptService.Transcript one = guests.open(next);
+        assertThat(one.gid()).isEqualTo(empty.gid());
+        assertThat(one.turns()).isEqualTo(1);
+        assertThat(one.logs()).extracting(l -> l.get("message")).containsExactly("어디 계셨어요?", "집에 있었어요.");
+        assertThat(guests.logJson(one)).contains("\"suspect\":\"김민수\"");
+    }
+
+    // 같은 secret 이면 다른 노드(인스턴스)에서도 열림, 다르면 거부
+    @Test
+    void tokenOpensOnAnotherNodeWithSameSecretOnly() {
+        String token = guests.start(3);
+        assertThat(service(SECRET, 180).open(token).scenIdx()).isEqualTo(3);
+        assertThatThrownBy(() -> service(SECRET + "x", 180).open(token))
+                .isInstanceOf(GuestTranscriptService.InvalidTranscriptException.class);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = guests.start(3);
+        byte[] packed = Base64.getUrlDecoder().decode(token.substring(3));
+        packed[packed.length - 1] ^= 1;
+        String tampered = "g1." + Base64.getUrlEncoder().withoutPadding().encodeToString(packed);
+
+        assertThatThrownBy(() -> guests.open(tampered)).isInstanceOf(GuestTranscriptService.InvalidTranscriptException.class);
+        assertThatThrownBy(() -> guests.open("x1.abc")).isInstanceOf(GuestTranscriptService.InvalidTranscriptException.class);
+        assertThatThrownBy(() -> guests.open(null)).isInstanceOf(GuestTranscriptService.InvalidTranscriptException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        ReflectionTestUtils.setField(guests, "ttlMinutes", -1L); // 발급 시점에 이미 만료
+        String token = guests.start(3);
+        assertThatThrownBy(() -> guests.open(token))
+                .isInstanceOf(GuestTranscriptService.InvalidTranscriptException.class)
+                .hasMessageContaining("만료");
+    }
+
+    @Test
+    void sizeLimits() {
+        GuestTranscriptService.Transcript fresh = guests.open(guests.start(3));
+        assertThatThrownBy(() -> guests.checkCanAsk(fresh, "가".repeat(21)))
+                .isInstanceOf(GuestTranscriptService.TranscriptTooLargeException.class);
+
+        GuestTranscriptService.Transcript t = fresh;
+        for (int i = 0; i < 3; i++) {
+            t = guests.open(guests.append(t, "김민수", "질문" + i, "답변" + i));
+        }
+        GuestTranscriptService.Transcript full = t;
+        assertThatThrownBy(() -> guests.checkCanAsk(full, "질문"))
+                .isInstanceOf(GuestTranscriptService.TranscriptTooLargeException.class);
+
+        String token = guests.start(3);
+        ReflectionTestUtils.setField(guests, "maxTokenChars", token.length() - 1);
+        assertThatThrownBy(() -> guests.open(token))
+                .isInstanceOf(GuestTranscriptService.TranscriptTooLargeException.class);
+    }
+
+    // 빈 토큰을 계속 다시 보내도 게임(gid)당 max-asks 번까지만
+    @Test
+    void resendingStartTokenCannotAskForever() {
+        String start = guests.start(3);
+        for (int i = 0; i < 5; i++) {
+            GuestTranscriptService.Transcript t = guests.open(start);
+            guests.checkCanAsk(t, "질문");
+            guests.reserveAsk(t);
+        }
+        GuestTranscriptService.Transcript again = guests.open(start);
+        assertThatThrownBy(() -> guests.reserveAsk(again)).isInstanceOf(GuestTranscriptService.AskLimitException.class);
+
+        // 다른 게임은 따로 셈
+        guests.reserveAsk(guests.open(guests.start(3)));
+        assertThat(guests.stats()).containsEntry("askLimited", 1L);
+    }
+
+    // 무상태 모드인데 secret 이 없거나 짧으면 시작 실패, 꺼져 있으면 임시 키
+    @Test
+    void missingOrShortSecretFailsStartupWhenEnabled() {
+        assertThatThrownBy(() -> service("", 180)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service("short", 180)).isInstanceOf(IllegalStateException.class);
+
+        GuestTranscriptService disabled = new GuestTranscriptService(new ObjectMapper(), mock(ScenarioStatsService.class));
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        ReflectionTestUtils.setField(disabled, "secret", "");
+        ReflectionTestUtils.setField(disabled, "ttlMinutes", 180L);
+        disabled.init();
+        assertThat(disabled.enabled()).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.chat.ChatTier;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionTierClassifierTest {
+
+    @ParameterizedTest(name = "[{index}] \"{0}\" → {1}")
+    @CsvSource(delimiter = '|', value = {
+            // 인사/자기소개
+            "안녕하세요                       | SIMPLE",
+            "자기소개 해주세요                  | SIMPLE",
+            // 되묻기
+            "다시 말해 주세요                   | SIMPLE",
+            "뭐라고요?                        | SIMPLE",
+            // 문장 전체가 맞장구/짧은 대답
+            "네                              | SIMPLE",
+            "정말요?                         | SIMPLE",
+            "알겠습니다.                      | SIMPLE",
+            "그렇군요                        | SIMPLE",
+            // 확인만 구하는 꼬리 질문
+            "피해자랑 친구였던 거 맞죠?          | SIMPLE",
+            "그 사람 아닌가요?                 | SIMPLE",
+            // 어미만 짧은 보통 질문 → PRIMARY
+            "누구 만났어요?                    | PRIMARY",
+            "그날 밤 누구 만났어?               | PRIMARY",
+            "뭘 봤죠?                        | PRIMARY",
+            "무슨 일을 하세요?                 | PRIMARY",
+            "그 사람이랑 친했지?                | PRIMARY",
+            "집에 누가 있었니?                 | PRIMARY",
+            "정말 혼자 계셨어요?                | PRIMARY",
+            "진짜 그 사람 몰라요?               | PRIMARY",
+            "무기 같은 거 있어?                | PRIMARY",
+            // 어려운 질문 특징
+            "알리바이를 말해 주세요              | PRIMARY",
+            "10시에 뭐 했어요?                 | PRIMARY",
+            "왜요?                          | PRIMARY",
+            "누구요? 언제요?                  | PRIMARY",
+            "당신이 말한 내용과 다른 사람이 말한 내용이 서로 달라서 확인하고 싶은데 맞나요? | PRIMARY",
+            "'   '                           | PRIMARY",
+    })
+    void classifiesByQuestionText(String text, ChatTier expected) {
+        assertThat(QuestionTierClassifier.classify(text)).isEqualTo(expected);
+    }
+
+    @Test
+    void nullIsPrimary() {
+        assertThat(QuestionTierClassifier.classify((String) null)).isEqualTo(ChatTier.PRIMARY);
+    }
+
+    // 설정이 없으면 꺼짐, 시나리오별 설정이 우선
+    @Test
+    void tieringIsOffByDefaultAndScenarioFlagWins() {
+        ScenarioRepository repo = mock(ScenarioRepository.class);
+        when(repo.findById(1)).thenReturn(Optional.of(Scenario.builder().scenIdx(1).build()));
+        when(repo.findById(2)).thenReturn(Optional.of(Scenario.builder().scenIdx(2).modelTiering(true).build()));
+        QuestionTierClassifier classifier = new QuestionTierClassifier(repo);
+        ReflectionTestUtils.setField(classifier, "enabledByDefault", false);
+
+        assertThat(classifier.classify(1, "네")).isEqualTo(ChatTier.PRIMARY);
+        assertThat(classifier.classify(null, "네")).isEqualTo(ChatTier.PRIMARY);
+        assertThat(classifier.classify(2, "네")).isEqualTo(ChatTier.SIMPLE);
+    }
+}
@@ -0,0 +1,130 @@
+package com.lingoguma.detective_backend.game.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionTurnSequencerTest {
+
+    private SessionTurnSequencer sequencer;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new SessionTurnSequencer();
+        ReflectionTestUtils.setField(sequencer, "waitMs", 5_000L);
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // 두 번째 질문은 첫 질문이 로그를 쓴 뒤에 시작하고, 그 로그를 본다
+    @Test
+    void secondTurnOfSameSessionWaitsAndSeesFirstTurn() throws Exception {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        Future<?> first = pool.submit(() -> sequencer.inOrder(1, () -> {
+            firstStarted.countDown();
+            await(releaseFirst);
+            log.add("A");
+            return null;
+        }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> second = pool.submit(() -> sequencer.inOrder(1, () -> {
+            int seen = log.size();
+            log.add("B");
+            return seen;
+        }));
+
+        Thread.sleep(200);
+        assertThat(second.isDone()).isFalse();
+        assertThat(log).isEmpty();
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(log).containsExactly("A", "B");
+        assertThat(sequencer.activeSessions()).isZero();
+    }
+
+    // 동시에 몰린 같은 세션 질문: 읽고-쓰기 사이에 끼어드는 일이 없어 턴이 유실되지 않음
+    @Test
+    void concurrentTurnsOfSameSessionDoNotLoseUpdates() throws Exception {
+        int[] turns = {0};
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            futures.add(pool.submit(() -> sequencer.inOrder(7, () -> {
+                int read = turns[0];
+                Thread.yield();
+                turns[0] = read + 1;
+                return null;
+            })));
+        }
+        for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+
+        assertThat(turns[0]).isEqualTo(400);
+        assertThat(sequencer.activeSessions()).isZero();
+    }
+
+    @Test
+    void differentSessionsDoNotWaitForEachOther() throws Exception {
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        Future<?> blocked = pool.submit(() -> sequencer.inOrder(1, () -> {
+            await(releaseFirst);
+            return null;
+        }));
+
+        Future<String> other = pool.submit(() -> sequencer.inOrder(2, () -> "done"));
+        assertThat(other.get(2, TimeUnit.SECONDS)).isEqualTo("done");
+
+        releaseFirst.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    // turn-wait-ms 안에 차례가 오지 않으면 TurnBusyException (컨트롤러에서 429)
+    @Test
+    void waitingLongerThanTurnWaitThrowsTurnBusy() throws Exception {
+        ReflectionTestUtils.setField(sequencer, "waitMs", 100L);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        Future<?> first = pool.submit(() -> sequencer.inOrder(3, () -> {
+            firstStarted.countDown();
+            await(releaseFirst);
+            return null;
+        }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> sequencer.inOrder(3, () -> "late"))
+                .isInstanceOf(SessionTurnSequencer.TurnBusyException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(100);
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(sequencer.activeSessions()).isZero();
+        assertThat(sequencer.inOrder(3, () -> "next")).isEqualTo("next");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lingoguma.detective_backend.game.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SessionWarmupServiceTest {
+
+    private SessionWarmupService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @ParameterizedTest(name = "[{index}] \"{0}\" → {1}")
+    @CsvSource(delimiter = '|', value = {
+            "안녕하세요                       | true",
+            "안녕하세요, 자기소개 부탁드려요.     | true",
+            "처음 뵙겠습니다                   | true",
+            "자기소개 해주세요                  | true",
+            "누구세요?                        | true",
+            "반갑습니다                       | true",
+            "그날 밤 누구 만났어?               | false",
+            "누가 피해자를 마지막으로 봤나요?      | false",
+            "안녕하세요, 그때 어디 계셨어요?       | false",
+            "피해자를 소개해 준 사람은 누구죠?     | false",
+            "범인이 누구야?                    | false",
+            "그 시간에 뭐 하고 있었어요?          | false",
+            "안녕하세요. 저는 이번 사건을 맡은 탐정입니다. 몇 가지 여쭤봐도 될까요? | false",
+            "'   '                           | false",
+    })
+    void introQuestionMatchesOnlyGreetingsAndSelfIntroductionRequests(String text, boolean intro) {
+        assertThat(SessionWarmupService.isIntroQuestion(text)).isEqualTo(intro);
+    }
+
+    @Test
+    void nullIsNotIntro() {
+        assertThat(SessionWarmupService.isIntroQuestion(null)).isFalse();
+    }
+
+    // 세션 시작 요청 스레드는 DB 조회/GPT 연결을 기다리지 않음
+    @Test
+    void warmUpReturnsWithoutWaitingForScenarioLookup() throws Exception {
+        GameSessionService sessions = mock(GameSessionService.class);
+        GptClient gpt = mock(GptClient.class);
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+        when(sessions.findScenario(anyInt())).thenAnswer(inv -> {
+            lookupStarted.countDown();
+            releaseLookup.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("시나리오 없음");
+        });
+
+        service = new SessionWarmupService(sessions, mock(SuspectPromptBuilder.class), gpt);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(service, "queueSize", 10);
+        service.init();
+
+        long started = System.nanoTime();
+        service.warmUp(1, 3);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(200);
+
+        assertThat(lookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(gpt, never()).warmUp(anyInt());
+        releaseLookup.countDown();
+    }
+}
@@ -0,0 +1,123 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lingoguma.detective_backend.game.chat.ChatProvider;
+import com.lingoguma.detective_backend.game.dto.GameFinishRequest;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StartupWarmupServiceTest {
+
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final ScenarioRepository scenarioRepository = mock(ScenarioRepository.class);
+    private final ScenarioCompiler scenarioCompiler = mock(ScenarioCompiler.class);
+    private final SuspectPromptBuilder promptBuilder = mock(SuspectPromptBuilder.class);
+    private final GptClient gptClient = mock(GptClient.class);
+    private final GameSessionService sessionService = mock(GameSessionService.class);
+    private final GameResultService resultService = mock(GameResultService.class);
+
+    private final List<TransactionStatus> statuses = new ArrayList<>();
+    private final List<Boolean> inFakeProvider = new ArrayList<>();
+    private StartupWarmupService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Scenario scenario = Scenario.builder().scenIdx(7).scenStatus(ScenStatus.PUBLISHED).build();
+        when(scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED)).thenReturn(List.of(scenario));
+        Map<String, Object> content = Map.of("characters", List.of(Map.of("name", "김철수"), Map.of("name", "이영희")));
+        when(promptBuilder.parseContent(scenario)).thenReturn(content);
+        when(promptBuilder.characters(content)).thenReturn((List<Map<String, Object>>) content.get("characters"));
+
+        when(txManager.getTransaction(any())).thenAnswer(inv -> {
+            SimpleTransactionStatus st = new SimpleTransactionStatus();
+            statuses.add(st);
+            return st;
+        });
+        // 가짜 공급자가 걸린 상태에서만 body 실행
+        when(gptClient.withProvider(any(ChatProvider.class), any())).thenAnswer(inv -> {
+            inFakeProvider.add(true);
+            try {
+                return ((Supplier<?>) inv.getArgument(1)).get();
+            } finally {
+                inFakeProvider.add(false);
+            }
+        });
+        when(gptClient.chat(anyList(), eq(7), any())).thenAnswer(inv -> {
+            assertThat(inFakeProvider.get(inFakeProvider.size() - 1)).isTrue();
+            return "모르겠습니다.";
+        });
+        when(sessionService.startSession(eq(7), isNull())).thenReturn(100, 101, 102);
+        when(sessionService.getScenario(anyInt())).thenReturn(scenario);
+        when(sessionService.getLogJson(anyInt())).thenReturn("{\"logs\":[]}");
+
+        service = new StartupWarmupService(mock(DataSource.class), txManager, scenarioRepository, scenarioCompiler,
+                promptBuilder, mock(QuestionTierClassifier.class), gptClient, sessionService, resultService,
+                new ObjectMapper());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "maxScenarios", 10);
+        ReflectionTestUtils.setField(service, "dbConnections", 0);
+        ReflectionTestUtils.setField(service, "outbound", false);
+        ReflectionTestUtils.setField(service, "iterations", 45);
+        ReflectionTestUtils.setField(service, "finishGames", 1);
+    }
+
+    // 게임 서비스로 질문/종료, 게임마다 트랜잭션 하나씩 롤백
+    @Test
+    void syntheticGamesGoThroughGameServicesAndRollBack() {
+        service.onReady(mock(ApplicationReadyEvent.class));
+
+        assertThat(service.stats()).containsEntry("state", "done").containsEntry("syntheticTurns", 45);
+        verify(sessionService, times(3)).startSession(7, null);
+        verify(gptClient, times(45)).chat(anyList(), eq(7), any());
+        verify(sessionService, times(45)).appendLog(anyInt(), anyString(), anyString(), eq("모르겠습니다."));
+        verify(resultService, times(1)).saveResult(argThat((GameFinishRequest r) -> r.getSessionId() == 100),
+                anyString(), eq(false));
+        verify(sessionService, times(1)).finishSession(100);
+
+        // rollback-only 로 표시된 트랜잭션은 commit 요청이 와도 트랜잭션 관리자가 롤백
+        assertThat(statuses).hasSize(3).allMatch(TransactionStatus::isRollbackOnly);
+    }
+
+    // 시작 워밍업은 컴파일 결과를 쓰는 load() 를 쓰지 않음
+    @Test
+    void scenariosAreLoadedReadOnly() {
+        service.onReady(mock(ApplicationReadyEvent.class));
+
+        verify(scenarioCompiler).loadReadOnly(any());
+        verify(scenarioCompiler, never()).load(any());
+        verify(scenarioCompiler, never()).compile(any());
+    }
+
+    // 종료를 끄면 결과 저장/세션 종료 없이 질문만
+    @Test
+    void finishIsSkippedWhenDisabled() {
+        ReflectionTestUtils.setField(service, "finishGames", 0);
+
+        service.onReady(mock(ApplicationReadyEvent.class));
+
+        verify(gptClient, times(45)).chat(anyList(), eq(7), any());
+        verifyNoInteractions(resultService);
+        verify(sessionService, never()).finishSession(anyInt());
+    }
+}
@@ -0,0 +1,93 @@
+package com.lingoguma.detective_backend.game.service;
+
+import com.lingoguma.detective_backend.game.dto.NlpEmbedResponse;
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioAnswer;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioTruthEmbeddingRepository;
+import com.lingoguma.detective_backend.scenario.service.ScenarioCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TruthEmbeddingServiceTest {
+
+    private final ScenarioTruthEmbeddingRepository repo = mock(ScenarioTruthEmbeddingRepository.class);
+    private final GameNlpClient nlpClient = mock(GameNlpClient.class);
+    private final ScenarioCompiler compiler = mock(ScenarioCompiler.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    // 트랜잭션 시작~종료 사이에 일어난 일 기록
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private TruthEmbeddingService service;
+    private final Scenario scenario = Scenario.builder().scenIdx(5).contentJson("{}").build();
+
+    @BeforeEach
+    void setUp() {
+        when(txManager.getTransaction(any())).thenAnswer(inv -> {
+            events.add("begin");
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(inv -> events.add("commit")).when(txManager).commit(any());
+        when(nlpClient.embed(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            events.add("embed");
+            NlpEmbedResponse r = new NlpEmbedResponse();
+            r.setModel("m1");
+            List<List<Float>> vecs = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) vecs.add(List.of(1f, 0f));
+            r.setVectors(vecs);
+            return r;
+        });
+        when(repo.upsert(anyInt(), anyString(), anyString(), anyString(), anyString(), any())).thenAnswer(inv -> {
+            events.add("upsert");
+            return 1;
+        });
+        ScenarioAnswer answer = ScenarioAnswer.builder().scenIdx(5).motive("돈").method("독").build();
+        when(compiler.load(scenario)).thenReturn(new CompiledScenario(answer, List.of(), List.of(), List.of()));
+
+        service = new TruthEmbeddingService(repo, nlpClient, compiler, txManager);
+    }
+
+    // NLP 호출은 트랜잭션 밖, 저장(이전 버전 삭제 + upsert)만 짧은 트랜잭션 하나
+    @Test
+    void staleTruthIsEmbeddedOutsideTransactionAndUpserted() {
+        when(repo.findByScenIdxAndContentVersion(eq(5), anyString())).thenReturn(List.of());
+
+        Map<String, Object> sim = service.similarity(scenario, "돈 때문에", "독을 탔다", "");
+
+        assertThat(events).containsExactly("embed", "embed", "begin", "upsert", "upsert", "commit");
+        verify(repo).deleteOtherVersions(eq(5), anyString());
+        verify(repo, never()).saveAll(any());
+        assertThat((Double) sim.get("sim_motive")).isCloseTo(1.0, within(1e-6));
+    }
+
+    @Test
+    void precomputeEmbedsBeforeOpeningTransaction() {
+        service.precompute(scenario);
+
+        assertThat(events).containsExactly("embed", "begin", "upsert", "upsert", "commit");
+    }
+
+    // 승인 직후: 이미 컴파일한 결과를 쓰므로 load()(scenario_answer 잠금)를 부르지 않음
+    @Test
+    void precomputeWithCompiledScenarioSkipsCompilerLoad() {
+        ScenarioAnswer answer = ScenarioAnswer.builder().scenIdx(5).motive("원한").build();
+
+        service.precompute(scenario, new CompiledScenario(answer, List.of(), List.of(), List.of()));
+
+        verify(compiler, never()).load(any());
+        assertThat(events).containsExactly("embed", "begin", "upsert", "commit");
+    }
+}
@@ -0,0 +1,221 @@
+package com.lingoguma.detective_backend.global.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long RYW_MS = 5000;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // 복제 지연 lagSeconds 인 복제본 하나 (빈 결과면 복제 상태 없음)
+    private static DataSource replica(Long lagSeconds) throws SQLException {
+        DataSource ds = mock(DataSource.class);
+        Connection c = mock(Connection.class);
+        Statement st = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(ds.getConnection()).thenReturn(c);
+        when(c.createStatement()).thenReturn(st);
+        when(st.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+        when(rs.next()).thenReturn(lagSeconds != null);
+        when(rs.getLong("Seconds_Behind_Source")).thenReturn(lagSeconds == null ? 0 : lagSeconds);
+        return ds;
+    }
+
+    private static ReplicaRoutingDataSource routing(DataSource replica, boolean allowStandalone) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        ReplicaRoutingDataSource r = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, 5, RYW_MS, allowStandalone);
+        r.checkLag();
+        return r;
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            s.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static MockHttpServletResponse request(MockHttpServletRequest req) {
+        MockHttpServletResponse resp = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(req, resp));
+        return resp;
+    }
+
+    @Test
+    void readOnlyGoesToHealthyReplicaAndWritesToPrimary() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(1L), false);
+        request(new MockHttpServletRequest());
+
+        inTransaction(true);
+        assertThat(r.route()).isEqualTo("replica-1");
+        inTransaction(false);
+        assertThat(r.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(30L), false);
+        inTransaction(true);
+        assertThat(r.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    // SHOW REPLICA STATUS 가 비어 있으면(복제 설정 없음) 기본은 제외, allow-standalone 이면 사용
+    @Test
+    void emptyReplicaStatusIsUnhealthyUnlessStandaloneAllowed() throws Exception {
+        inTransaction(true);
+        assertThat(routing(replica(null), false).route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing(replica(null), true).route()).isEqualTo("replica-1");
+    }
+
+    // 커밋 전에는 표시하지 않고, 커밋 후 쿠키로 내려가서 다음 요청(다른 노드 포함)의 읽기가 기본 DB 로
+    @Test
+    void committedWriteSendsCookieAndNextRequestReadsPrimaryOnAnyNode() throws Exception {
+        ReplicaRoutingDataSource node1 = routing(replica(0L), false);
+        ReplicaRoutingDataSource node2 = routing(replica(0L), false);
+
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse firstResp = request(first);
+        inTransaction(false);
+        node1.route();
+        node1.route(); // 같은 트랜잭션에서 여러 번 빌려도 표시는 한 번
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        assertThat(firstResp.getCookie(ReplicaRoutingDataSource.WRITE_COOKIE)).isNull();
+        commit();
+
+        Cookie cookie = firstResp.getCookie(ReplicaRoutingDataSource.WRITE_COOKIE);
+        assertThat(cookie).isNotNull();
+        // 같은 요청 안의 이후 읽기
+        inTransaction(true);
+        assertThat(node1.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        // 다음 요청은 다른 노드로 (쿠키만 가지고 감)
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(cookie);
+        request(next);
+        inTransaction(true);
+        assertThat(node2.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(node2.stats()).containsEntry("readYourWrites", 1L);
+
+        // 쿠키 없는 다른 클라이언트는 (같은 IP 여도) 복제본
+        request(new MockHttpServletRequest());
+        inTransaction(true);
+        assertThat(node2.route()).isEqualTo("replica-1");
+    }
+
+    // 쿠키를 보낼 수 있으면 세션은 건드리지 않음 (세션 속성 변경 = http_sessions UPDATE)
+    @Test
+    void committedWriteDoesNotTouchSessionWhenCookieIsSent() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(0L), false);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.getSession(true);
+        MockHttpServletResponse resp = request(first);
+        inTransaction(false);
+        r.route();
+        commit();
+
+        assertThat(resp.getCookie(ReplicaRoutingDataSource.WRITE_COOKIE)).isNotNull();
+        assertThat(first.getSession().getAttribute(ReplicaRoutingDataSource.WRITE_ATTR)).isNull();
+    }
+
+    // 응답이 이미 나가 쿠키를 못 쓰면 세션에 기록, 저장된 값이 아직 충분히 최근이면 다시 쓰지 않음
+    @Test
+    void committedWriteAfterResponseIsRecordedInSessionOnlyWhenStale() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(0L), false);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.getSession(true);
+        request(first).setCommitted(true);
+        inTransaction(false);
+        r.route();
+        commit();
+
+        Object stored = first.getSession().getAttribute(ReplicaRoutingDataSource.WRITE_ATTR);
+        assertThat(stored).isInstanceOf(Long.class);
+
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setSession(first.getSession());
+        request(next).setCommitted(true);
+        inTransaction(true);
+        assertThat(r.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        // 같은 세션의 다음 쓰기: 저장된 값이 아직 최근이므로 세션 속성 그대로
+        inTransaction(false);
+        r.route();
+        commit();
+        assertThat(next.getSession().getAttribute(ReplicaRoutingDataSource.WRITE_ATTR)).isSameAs(stored);
+    }
+
+    // 롤백된 쓰기 트랜잭션은 표시하지 않음
+    @Test
+    void rolledBackWriteDoesNotPinReads() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(0L), false);
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        MockHttpServletResponse resp = request(req);
+        inTransaction(false);
+        r.route();
+        TransactionSynchronizationManager.clearSynchronization(); // afterCommit 없이 종료
+
+        assertThat(resp.getCookie(ReplicaRoutingDataSource.WRITE_COOKIE)).isNull();
+        inTransaction(true);
+        assertThat(r.route()).isEqualTo("replica-1");
+    }
+
+    // 오래된(또는 멀리 미래의) 쿠키 값은 무시
+    @Test
+    void expiredOrForgedCookieIsIgnored() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(0L), false);
+        long now = System.currentTimeMillis();
+        for (String value : new String[]{String.valueOf(now - RYW_MS - 1000), String.valueOf(now + 3_600_000), "abc"}) {
+            MockHttpServletRequest req = new MockHttpServletRequest();
+            req.setCookies(new Cookie(ReplicaRoutingDataSource.WRITE_COOKIE, value));
+            request(req);
+            inTransaction(true);
+            assertThat(r.route()).as(value).isEqualTo("replica-1");
+        }
+    }
+
+    // 요청 밖(스케줄 작업)의 쓰기는 표시할 곳이 없음
+    @Test
+    void writeOutsideRequestRegistersNothing() throws Exception {
+        ReplicaRoutingDataSource r = routing(replica(0L), false);
+        inTransaction(false);
+        assertThat(r.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.lingoguma.detective_backend.global.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedJsonConverterTest {
+
+    private final CompressedJsonConverter converter = new CompressedJsonConverter();
+
+    // 세션 로그와 같은 형식의 n턴 대화
+    private static String logJson(int turns) {
+        StringBuilder sb = new StringBuilder("{\"logs\":[");
+        for (int t = 1; t <= turns; t++) {
+            if (t > 1) sb.append(',');
+            sb.append("{\"turn\":").append(t).append(",\"speaker\":\"PLAYER\",\"message\":\"그날 밤 ")
+                    .append(t).append("시에 어디에 있었나요?\"},");
+            sb.append("{\"turn\":").append(t).append(",\"speaker\":\"AI\",\"suspect\":\"김민수\",\"message\":\"")
+                    .append("저는 그때 집에 있었습니다. 피해자와는 ").append(t).append("년 전부터 알던 사이예요.\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void shortValueIsStoredAsPlainJson() {
+        String json = "{\"logs\":[]}";
+        byte[] stored = converter.convertToDatabaseColumn(json);
+
+        assertThat(stored).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(json);
+    }
+
+    @Test
+    void longLogRoundTripsThroughCompressedFormat() {
+        String json = logJson(30);
+        byte[] stored = converter.convertToDatabaseColumn(json);
+
+        assertThat(stored[0]).isEqualTo(CompressedJsonConverter.CODEC_DEFLATE_DICT_V1);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(json);
+    }
+
+    // 저장(=디스크/네트워크 I/O) 바이트가 원문의 절반 이하
+    @Test
+    void compressedLogIsLessThanHalfOfRawBytes() {
+        for (int turns : new int[]{5, 20, 60}) {
+            String json = logJson(turns);
+            int raw = json.getBytes(StandardCharsets.UTF_8).length;
+            int packed = CompressedJsonConverter.encode(json).length;
+
+            assertThat(packed).as("%d턴: %d → %d bytes", turns, raw, packed).isLessThan(raw / 2);
+        }
+    }
+
+    // 마이그레이션 전 JSON 컬럼 값은 원문 그대로 읽힘
+    @Test
+    void legacyPlainJsonIsReadAsIs() {
+        String json = logJson(10);
+        assertThat(CompressedJsonConverter.decode(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(json);
+        assertThat(CompressedJsonConverter.decode(new byte[0])).isEmpty();
+    }
+
+    // 압축해도 작아지지 않으면 원문 저장
+    @Test
+    void incompressibleValueIsStoredRaw() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            sb.append((char) ('!' + random.nextInt(90)));
+        }
+        String value = sb.append(']').toString();
+        byte[] stored = CompressedJsonConverter.encode(value);
+
+        assertThat(stored[0]).isNotEqualTo(CompressedJsonConverter.CODEC_DEFLATE_DICT_V1);
+        assertThat(CompressedJsonConverter.decode(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void truncatedCompressedValueFails() {
+        byte[] stored = CompressedJsonConverter.encode(logJson(30));
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThatThrownBy(() -> CompressedJsonConverter.decode(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
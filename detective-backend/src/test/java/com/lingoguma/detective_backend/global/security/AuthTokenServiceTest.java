@@ -0,0 +1,140 @@
+package com.lingoguma.detective_backend.global.security;
+
+import com.lingoguma.detective_backend.user.entity.CustomUserDetails;
+import com.lingoguma.detective_backend.user.entity.Role;
+import com.lingoguma.detective_backend.user.entity.User;
+import com.lingoguma.detective_backend.user.repository.TokenRevocationRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private TokenRevocationService revocations;
+    private AuthTokenService tokens;
+    private final User user = User.builder().userIdx(7).role(Role.MEMBER).build();
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        revocations = new TokenRevocationService(repository);
+        ReflectionTestUtils.setField(revocations, "mode", "token");
+        ReflectionTestUtils.setField(revocations, "ttlMinutes", 720L);
+        tokens = service(SECRET, 720);
+    }
+
+    private AuthTokenService service(String secret, long ttlMinutes) {
+        AuthTokenService s = new AuthTokenService(revocations);
+        ReflectionTestUtils.setField(s, "mode", "token");
+        ReflectionTestUtils.setField(s, "secret", secret);
+        ReflectionTestUtils.setField(s, "ttlMinutes", ttlMinutes);
+        s.init();
+        return s;
+    }
+
+    @Test
+    void issuedTokenVerifiesToSameUserAndRole() {
+        CustomUserDetails principal = tokens.verify(tokens.issue(user));
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUser().getUserIdx()).isEqualTo(7);
+        assertThat(principal.getUser().getRole()).isEqualTo(Role.MEMBER);
+    }
+
+    // 같은 secret 을 쓰는 다른 노드(재시작 후 포함)에서도 검증됨
+    @Test
+    void tokenVerifiesOnAnotherNodeWithSameSecret() {
+        assertThat(service(SECRET, 720).verify(tokens.issue(user))).isNotNull();
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String token = tokens.issue(user);
+        String body = token.substring(0, token.indexOf('.'));
+        String sig = token.substring(token.indexOf('.') + 1);
+        String adminBody = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(body)).replace("|MEMBER|", "|ADMIN|").getBytes());
+
+        assertThat(tokens.verify(adminBody + "." + sig)).isNull();
+        assertThat(tokens.verify(body + "." + sig.substring(1) + "A")).isNull();
+        assertThat(tokens.verify("garbage")).isNull();
+        assertThat(tokens.verify(null)).isNull();
+        assertThat(service("another-secret-another-secret-xx", 720).verify(token)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        AuthTokenService shortLived = service(SECRET, 0);
+        assertThat(shortLived.verify(shortLived.issue(user))).isNull();
+    }
+
+    @Test
+    void revokedTokenIsRejectedButOthersStayValid() {
+        String loggedOut = tokens.issue(user);
+        String other = tokens.issue(user);
+
+        tokens.revoke(loggedOut);
+
+        assertThat(tokens.verify(loggedOut)).isNull();
+        assertThat(tokens.verify(other)).isNotNull();
+    }
+
+    // 권한/비밀번호 변경: 그 전에 발급된 토큰 전부 무효, 이후 발급은 유효
+    @Test
+    void revokingUserInvalidatesEarlierTokens() throws Exception {
+        String before = tokens.issue(user);
+        Thread.sleep(5);
+        revocations.revokeUser(7);
+        Thread.sleep(5);
+        String after = tokens.issue(user);
+
+        assertThat(tokens.verify(before)).isNull();
+        assertThat(tokens.verify(after)).isNotNull();
+    }
+
+    @Test
+    void tokenIsResolvedFromBearerHeaderXAuthTokenOrCookie() {
+        MockHttpServletRequest bearer = new MockHttpServletRequest();
+        bearer.addHeader("Authorization", "Bearer abc.def");
+        MockHttpServletRequest header = new MockHttpServletRequest();
+        header.addHeader(AuthTokenService.HEADER_NAME, "ghi.jkl");
+        MockHttpServletRequest cookie = new MockHttpServletRequest();
+        cookie.setCookies(new Cookie(AuthTokenService.COOKIE_NAME, "mno.pqr"));
+
+        assertThat(tokens.resolve(bearer)).isEqualTo("abc.def");
+        assertThat(tokens.resolve(header)).isEqualTo("ghi.jkl");
+        assertThat(tokens.resolve(cookie)).isEqualTo("mno.pqr");
+        assertThat(tokens.resolve(new MockHttpServletRequest())).isNull();
+    }
+
+    // 토큰 모드에서 secret 이 없거나 짧으면 시작 실패 (노드마다 다른 임시 키 방지)
+    @Test
+    void tokenModeRequiresSharedSecretOfAtLeast32Bytes() {
+        assertThatThrownBy(() -> service("", 720)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service(null, 720)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service("short-secret", 720)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void sessionModeStartsWithoutSecret() {
+        AuthTokenService s = new AuthTokenService(revocations);
+        ReflectionTestUtils.setField(s, "mode", "session");
+        ReflectionTestUtils.setField(s, "secret", "");
+        s.init();
+        assertThat(s.isTokenMode()).isFalse();
+    }
+}
@@ -0,0 +1,252 @@
+package com.lingoguma.detective_backend.global.session;
+
+import com.lingoguma.detective_backend.global.session.NearCacheJdbcSessionRepository.StoredSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * near-cache + 접근 시각 모아 쓰기 동작 (http_sessions 테이블은 메모리 가짜로 대체)
+ * - 같은 가짜 테이블을 쓰는 저장소 두 개 = 노드 두 개
+ * - DB 왕복 횟수를 세어 요청당 세션 오버헤드를 확인
+ */
+class NearCacheJdbcSessionRepositoryTest {
+
+    private static final long TTL_MS = 100;
+
+    private FakeJdbc db;
+    private NearCacheJdbcSessionRepository nodeA;
+    private NearCacheJdbcSessionRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        db = new FakeJdbc();
+        nodeA = node(db);
+        nodeB = node(db);
+    }
+
+    private static NearCacheJdbcSessionRepository node(FakeJdbc db) {
+        NearCacheJdbcSessionRepository repo = new NearCacheJdbcSessionRepository(db);
+        ReflectionTestUtils.setField(repo, "timeoutSeconds", 1800);
+        ReflectionTestUtils.setField(repo, "nearCacheTtlMs", TTL_MS);
+        ReflectionTestUtils.setField(repo, "nearCacheMaxEntries", 10_000);
+        ReflectionTestUtils.setField(repo, "cleanupBatchSize", 1000);
+        return repo;
+    }
+
+    private String login(NearCacheJdbcSessionRepository repo, String user) {
+        StoredSession s = repo.createSession();
+        s.setAttribute("user", user);
+        repo.save(s);
+        return s.getId();
+    }
+
+    // 로그인 후 TTL 안의 요청 100건: DB 읽기/쓰기 0회, flush 때 batch UPDATE 1회
+    @Test
+    void requestsWithinTtlDoNotTouchTheDatabase() {
+        String id = login(nodeA, "kim");
+        assertThat(db.inserts).isEqualTo(1);
+
+        for (int i = 0; i < 100; i++) {
+            StoredSession s = nodeA.findById(id);
+            assertThat((String) s.getAttribute("user")).isEqualTo("kim");
+            s.setLastAccessedTime(Instant.now());
+            nodeA.save(s);
+        }
+        assertThat(db.selects).isZero();
+        assertThat(db.updates).isZero();
+
+        nodeA.flushTouches();
+        assertThat(db.batchUpdates).isEqualTo(1);
+        assertThat(nodeA.stats().get("cacheHits")).isEqualTo(100L);
+    }
+
+    // 여러 세션의 접근 시각은 한 번의 batch 로 반영
+    @Test
+    void touchesOfManySessionsAreFlushedInOneBatch() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) ids.add(login(nodeA, "user" + i));
+
+        long later = System.currentTimeMillis() + 60_000;
+        for (String id : ids) {
+            StoredSession s = nodeA.findById(id);
+            s.setLastAccessedTime(Instant.ofEpochMilli(later));
+            nodeA.save(s);
+        }
+        nodeA.flushTouches();
+
+        assertThat(db.batchUpdates).isEqualTo(1);
+        assertThat(db.batchRows).isEqualTo(50);
+        assertThat(ids).allSatisfy(id -> assertThat(db.rows.get(id).lastAccess).isEqualTo(later));
+    }
+
+    // 다른 노드의 속성 변경은 near-cache TTL 이 지난 뒤에 보임
+    @Test
+    void otherNodesAttributeChangeIsVisibleAfterTtl() throws Exception {
+        String id = login(nodeA, "kim");
+        assertThat((String) nodeB.findById(id).getAttribute("user")).isEqualTo("kim");
+
+        StoredSession s = nodeA.findById(id);
+        s.setAttribute("user", "lee");
+        nodeA.save(s);
+        assertThat(db.updates).isEqualTo(1);
+
+        assertThat((String) nodeB.findById(id).getAttribute("user")).isEqualTo("kim");
+        Thread.sleep(TTL_MS + 20);
+        assertThat((String) nodeB.findById(id).getAttribute("user")).isEqualTo("lee");
+    }
+
+    // 다른 노드에서 로그아웃 → TTL 이 지나면 이 노드에서도 세션 없음
+    @Test
+    void logoutOnOtherNodeIsVisibleAfterTtl() throws Exception {
+        String id = login(nodeA, "kim");
+        assertThat(nodeB.findById(id)).isNotNull();
+
+        nodeA.deleteById(id);
+        assertThat(nodeA.findById(id)).isNull();
+
+        Thread.sleep(TTL_MS + 20);
+        assertThat(nodeB.findById(id)).isNull();
+    }
+
+    // 다른 노드가 더 최근에 쓴 접근 시각은 덮어쓰지 않음
+    @Test
+    void olderTouchDoesNotOverwriteNewerAccess() {
+        String id = login(nodeA, "kim");
+        long now = System.currentTimeMillis();
+
+        StoredSession onB = nodeB.findById(id);
+        onB.setLastAccessedTime(Instant.ofEpochMilli(now + 20_000));
+        nodeB.save(onB);
+        nodeB.flushTouches();
+
+        StoredSession onA = nodeA.findById(id);
+        onA.setLastAccessedTime(Instant.ofEpochMilli(now + 10_000));
+        nodeA.save(onA);
+        nodeA.flushTouches();
+
+        assertThat(db.rows.get(id).lastAccess).isEqualTo(now + 20_000);
+    }
+
+    @Test
+    void expiredSessionIsNotReturnedAndIsDeleted() throws Exception {
+        StoredSession s = nodeA.createSession();
+        s.setAttribute("user", "kim");
+        s.setLastAccessedTime(Instant.now().minusSeconds(3600));
+        nodeA.save(s);
+
+        Thread.sleep(TTL_MS + 20);
+        assertThat(nodeA.findById(s.getId())).isNull();
+        assertThat(db.rows).doesNotContainKey(s.getId());
+    }
+
+    // batch UPDATE 가 실패해도 접근 시각을 잃지 않고 다음 flush 때 반영 (그 사이 더 최근 시각이 있으면 그쪽)
+    @Test
+    void failedFlushRequeuesTouchesKeepingTheNewest() {
+        String id = login(nodeA, "kim");
+        long now = System.currentTimeMillis();
+
+        StoredSession s = nodeA.findById(id);
+        s.setLastAccessedTime(Instant.ofEpochMilli(now + 10_000));
+        nodeA.save(s);
+        db.failNextBatch = true;
+        nodeA.flushTouches();
+        assertThat(db.rows.get(id).lastAccess).isLessThan(now + 10_000);
+
+        s = nodeA.findById(id);
+        s.setLastAccessedTime(Instant.ofEpochMilli(now + 20_000));
+        nodeA.save(s);
+        nodeA.flushTouches();
+
+        assertThat(db.batchRows).isEqualTo(1);
+        assertThat(db.rows.get(id).lastAccess).isEqualTo(now + 20_000);
+    }
+
+    // http_sessions 를 흉내 내는 JdbcTemplate (저장소가 쓰는 SQL 만 처리)
+    static final class FakeJdbc extends JdbcTemplate {
+
+        static final class Row {
+            long creation;
+            long lastAccess;
+            int maxInactive;
+            byte[] attributes;
+        }
+
+        final Map<String, Row> rows = new HashMap<>();
+        int selects, inserts, updates, batchUpdates, batchRows;
+        boolean failNextBatch;
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("INSERT")) {
+                Row r = new Row();
+                r.creation = (Long) args[1];
+                r.lastAccess = (Long) args[2];
+                r.maxInactive = (Integer) args[3];
+                r.attributes = (byte[]) args[5];
+                rows.put((String) args[0], r);
+                inserts++;
+                return 1;
+            }
+            if (sql.startsWith("UPDATE")) {
+                Row r = rows.remove((String) args[5]);
+                if (r == null) return 0;
+                r.lastAccess = (Long) args[1];
+                r.maxInactive = (Integer) args[2];
+                r.attributes = (byte[]) args[4];
+                rows.put((String) args[0], r);
+                updates++;
+                return 1;
+            }
+            if (sql.startsWith("DELETE") && sql.contains("session_id = ?")) {
+                return rows.remove((String) args[0]) == null ? 0 : 1;
+            }
+            return 0;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> mapper, Object... args) {
+            selects++;
+            Row r = rows.get((String) args[0]);
+            if (r == null) return List.of();
+            try {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn((String) args[0]);
+                when(rs.getLong(2)).thenReturn(r.creation);
+                when(rs.getLong(3)).thenReturn(r.lastAccess);
+                when(rs.getInt(4)).thenReturn(r.maxInactive);
+                when(rs.getBytes(5)).thenReturn(r.attributes);
+                return List.of(mapper.mapRow(rs, 0));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failNextBatch) {
+                failNextBatch = false;
+                throw new QueryTimeoutException("lock wait timeout");
+            }
+            batchUpdates++;
+            batchRows += batchArgs.size();
+            for (Object[] a : batchArgs) {
+                Row r = rows.get((String) a[2]);
+                if (r != null && r.lastAccess < (Long) a[3]) r.lastAccess = (Long) a[0];
+            }
+            return new int[batchArgs.size()];
+        }
+    }
+}
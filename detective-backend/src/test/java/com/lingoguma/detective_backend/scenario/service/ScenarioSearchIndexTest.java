@@ -0,0 +1,132 @@
+package com.lingoguma.detective_backend.scenario.service;
+
+import com.lingoguma.detective_backend.scenario.dto.CompiledScenario;
+import com.lingoguma.detective_backend.scenario.dto.ScenarioSearchResponse;
+import com.lingoguma.detective_backend.scenario.entity.ScenStatus;
+import com.lingoguma.detective_backend.scenario.entity.Scenario;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioAnswer;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioCharacter;
+import com.lingoguma.detective_backend.scenario.entity.ScenarioEvidence;
+import com.lingoguma.detective_backend.scenario.repository.ScenarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ScenarioSearchIndexTest {
+
+    private final ScenarioRepository scenarioRepository = mock(ScenarioRepository.class);
+    private final ScenarioCompiler scenarioCompiler = mock(ScenarioCompiler.class);
+    private ScenarioSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Scenario s1 = scenario(1, "저택의 밤", "비 오는 밤 저택에서 사건이 일어났다");
+        Scenario s2 = scenario(2, "열차 살인", "달리는 열차 안의 알리바이");
+        when(scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED)).thenReturn(List.of(s1, s2));
+        when(scenarioCompiler.loadReadOnly(s1)).thenReturn(compiled(1, "김철수", "정원사", "피 묻은 칼"));
+        when(scenarioCompiler.loadReadOnly(s2)).thenReturn(compiled(2, "이영희", "승무원", "기차표"));
+
+        index = new ScenarioSearchIndex(scenarioRepository, scenarioCompiler);
+        index.rebuild();
+    }
+
+    // 재구성은 읽기 전용 조회만 사용 (컴파일 결과 쓰기/잠금 경로를 타지 않음)
+    @Test
+    void rebuildUsesReadOnlyCompiledModel() {
+        assertThat(index.size()).isEqualTo(2);
+        verify(scenarioCompiler, never()).load(any());
+        verify(scenarioCompiler, never()).compile(any());
+    }
+
+    @Test
+    void multiCharacterQueryMatchesByBigrams() {
+        assertThat(ids(index.search("알리바이", 0, 10))).containsExactly(2);
+        assertThat(ids(index.search("정원사", 0, 10))).containsExactly(1);
+    }
+
+    // 한 글자 검색어도 그 글자가 들어간 단어를 찾음
+    @Test
+    void singleCharacterQueryMatches() {
+        assertThat(ids(index.search("칼", 0, 10))).containsExactly(1);
+        assertThat(ids(index.search("김", 0, 10))).containsExactly(1);
+        assertThat(ids(index.search("차", 0, 10))).containsExactly(2);
+        assertThat(ids(index.search("밤", 0, 10))).containsExactly(1);
+    }
+
+    @Test
+    void unknownQueryReturnsNothing() {
+        assertThat(index.search("우주선", 0, 10).getTotal()).isZero();
+        assertThat(index.search("", 0, 10).getTotal()).isZero();
+    }
+
+    // 트랜잭션 안의 갱신은 커밋 후에만 반영, 롤백되면 색인에 남지 않음
+    @Test
+    void updateInsideTransactionIsAppliedOnlyAfterCommit() {
+        Scenario s3 = scenario(3, "유령선", "안개 속 유령선");
+        when(scenarioCompiler.loadReadOnly(s3)).thenReturn(compiled(3, "박선장", "선장", "항해일지"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.update(s3);
+            assertThat(index.search("유령선", 0, 10).getTotal()).isZero();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(ids(index.search("유령선", 0, 10))).containsExactly(3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.remove(3); // 롤백: afterCommit 없이 종료
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(ids(index.search("유령선", 0, 10))).containsExactly(3);
+    }
+
+    // 재구성이 DB 를 읽는 동안 들어온 갱신은 새 색인으로 교체된 뒤에도 남음
+    @Test
+    void updateDuringRebuildSurvivesTheSwap() {
+        Scenario s1 = scenario(1, "저택의 밤", "비 오는 밤 저택에서 사건이 일어났다");
+        Scenario s2 = scenario(2, "열차 살인", "달리는 열차 안의 알리바이");
+        Scenario s3 = scenario(3, "유령선", "안개 속 유령선");
+        when(scenarioCompiler.loadReadOnly(s1)).thenReturn(compiled(1, "김철수", "정원사", "피 묻은 칼"));
+        when(scenarioCompiler.loadReadOnly(s2)).thenReturn(compiled(2, "이영희", "승무원", "기차표"));
+        when(scenarioCompiler.loadReadOnly(s3)).thenReturn(compiled(3, "박선장", "선장", "항해일지"));
+        when(scenarioRepository.findByScenStatus(ScenStatus.PUBLISHED)).thenAnswer(inv -> {
+            index.update(s3);   // 재구성이 읽은 목록에는 아직 없음
+            index.remove(2);
+            return List.of(s1, s2);
+        });
+
+        index.rebuild();
+
+        assertThat(ids(index.search("유령선", 0, 10))).containsExactly(3);
+        assertThat(index.search("알리바이", 0, 10).getTotal()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static List<Integer> ids(ScenarioSearchResponse res) {
+        return res.getHits().stream().map(ScenarioSearchResponse.Hit::getScenIdx).toList();
+    }
+
+    private static Scenario scenario(int idx, String title, String summary) {
+        return Scenario.builder().scenIdx(idx).scenTitle(title).scenSummary(summary)
+                .scenStatus(ScenStatus.PUBLISHED).build();
+    }
+
+    private static CompiledScenario compiled(int idx, String name, String job, String evidence) {
+        return new CompiledScenario(
+                ScenarioAnswer.builder().scenIdx(idx).build(),
+                List.of(ScenarioCharacter.builder().scenIdx(idx).name(name).job(job).build()),
+                List.of(ScenarioEvidence.builder().scenIdx(idx).name(evidence).build()),
+                List.of());
+    }
+}
@@ -53,6 +53,17 @@ class SimilarityRes(BaseModel):
     sim_evidence:  float = 0.0
     sim_time:      float = 0.0
 
+# ========================
+# (ADD) 임베딩 스키마 (백엔드가 정답 벡터를 저장해두고 코사인 직접 계산)
+# ========================
+class EmbedReq(BaseModel):
+    texts: List[str] = []
+
+class EmbedRes(BaseModel):
+    model: str
+    dim: int
+    vectors: List[List[float]]
+
 # ========================
 # 유틸 함수
 # ========================
@@ -324,4 +335,22 @@ def nlp_calc_similarity(
         sim_method=float(s_method),
         sim_evidence=float(s_evidence),
         sim_time=float(s_time),
-    )
\ No newline at end of file
+    )
+
+# ========================
+# (ADD) 임베딩 엔드포인트
+# ========================
+@app.post("/nlp/embed", response_model=EmbedRes)
+def nlp_embed(req: EmbedReq):
+    """
+    /nlp/similarity 와 같은 모델로 정규화 임베딩만 반환.
+    - 백엔드는 정답(동기/수법/증거) 벡터를 시나리오별로 저장해두고
+      플레이어 문장만 임베딩해서 코사인을 직접 계산한다.
+    """
+    texts = [_safe_text(t) for t in req.texts]
+    dim = _sim_model.get_sentence_embedding_dimension()
+    if not texts:
+        return EmbedRes(model=_SIM_MODEL_NAME, dim=dim, vectors=[])
+    with torch.inference_mode():
+        vecs = _sim_model.encode(texts, convert_to_numpy=True, normalize_embeddings=True)
+    return EmbedRes(model=_SIM_MODEL_NAME, dim=dim, vectors=vecs.astype(np.float32).tolist())